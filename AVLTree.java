@@ -5,29 +5,84 @@
 // ============
 // The self-balancing binary search tree.
 
-class Node<AnyType extends Comparable<AnyType>>
-{
-	public AnyType data;
-	public Node<AnyType> left, right;
-	public int height;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NavigableSet;
 
-	public Node(AnyType data)
+public class AVLTree<AnyType extends Comparable<AnyType>> extends AbstractNavigableSet<AnyType>
+{
+	// Not final: a subclass can keep more in its nodes (see newNode()).
+	static class Node<AnyType extends Comparable<AnyType>> implements TreeNode<AnyType>
 	{
-		this.data = data;
-		this.left = this.right = null;
-		this.height = 0;
+		public AnyType data;
+		public Node<AnyType> left, right;
+		public int height;
+		public int size; // Number of nodes in the subtree rooted here.
+
+		public Node(AnyType data)
+		{
+			this.data = data;
+			this.left = this.right = null;
+			this.height = 0;
+			this.size = 1;
+		}
+
+		public AnyType data()
+		{
+			return this.data;
+		}
+
+		public Node<AnyType> left()
+		{
+			return this.left;
+		}
+
+		public Node<AnyType> right()
+		{
+			return this.right;
+		}
 	}
-}
 
-public class AVLTree<AnyType extends Comparable<AnyType>>
-{
+	// An AVL tree with n nodes is at most ~1.44 log(n) tall, so 64 levels is
+	// more than an int-sized tree can ever reach.
+	private static final int MAX_DEPTH = 64;
+
 	private Node<AnyType> root;
 	private int size;
 
+	// Scratch space for add() and remove(), reused so that neither has to
+	// recurse or allocate anything beyond the node being inserted.
+	private Node<AnyType>[] path;
+	private boolean[] wentLeft;
+
+	private TreeStats stats; // Null unless instrumentation was asked for.
+
 	public AVLTree()
 	{
+		this(null);
+	}
+
+	// Orders the elements with comparator instead of their compareTo().
+	@SuppressWarnings("unchecked")
+	public AVLTree(Comparator<? super AnyType> comparator)
+	{
+		super(comparator);
 		this.root = null;
 		this.size = 0;
+		this.path = (Node<AnyType>[]) new Node[MAX_DEPTH];
+		this.wentLeft = new boolean[MAX_DEPTH];
+	}
+
+	// Starts (or, given null, stops) reporting this tree's activity to stats.
+	public void setStats(TreeStats stats)
+	{
+		this.stats = stats;
+	}
+
+	public TreeStats getStats()
+	{
+		return this.stats;
 	}
 
 	public int getHeight()
@@ -40,11 +95,32 @@ public class AVLTree<AnyType extends Comparable<AnyType>>
 		return (root == null) ? -1 : root.height;
 	}
 
+	private int getSize(Node<AnyType> root)
+	{
+		return (root == null) ? 0 : root.size;
+	}
+
 	private int balanceFactor(Node<AnyType> root)
 	{
 		return getHeight(root.left) - getHeight(root.right);
 	}
 
+	// Hooks for trees that keep a summary of each subtree in their nodes, like
+	// IntervalTree's largest endpoint. newNode() makes every node the tree
+	// links in. augment() brings node's summary up to date from its own data
+	// and its children's summaries, whenever the rotations and retracing below
+	// move things around, and returns whether it changed. AVLTree keeps no
+	// summary, so its augment() does nothing.
+	Node<AnyType> newNode(AnyType data)
+	{
+		return new Node<>(data);
+	}
+
+	boolean augment(Node<AnyType> node)
+	{
+		return false;
+	}
+
 	private Node<AnyType> rotateLeft(Node<AnyType> root)
 	{
 		// root's right child is going to become the new root
@@ -57,9 +133,15 @@ public class AVLTree<AnyType extends Comparable<AnyType>>
 		// Right child now moves up to take the place of the root.
 		temp.left = root;
 
-		// Update tree heights.
+		// Update tree heights and subtree sizes.
 		root.height = 1 + Math.max(getHeight(root.left), getHeight(root.right));
 		temp.height = 1 + Math.max(getHeight(temp.left), getHeight(temp.right));
+		root.size = 1 + getSize(root.left) + getSize(root.right);
+		temp.size = 1 + getSize(temp.left) + getSize(temp.right);
+
+		// root is now temp's child, so it has to be brought up to date first.
+		augment(root);
+		augment(temp);
 
 		return temp;
 	}
@@ -72,6 +154,12 @@ public class AVLTree<AnyType extends Comparable<AnyType>>
 
 		root.height = 1 + Math.max(getHeight(root.left), getHeight(root.right));
 		temp.height = 1 + Math.max(getHeight(temp.left), getHeight(temp.right));
+		root.size = 1 + getSize(root.left) + getSize(root.right);
+		temp.size = 1 + getSize(temp.left) + getSize(temp.right);
+
+		// root is now temp's child, so it has to be brought up to date first.
+		augment(root);
+		augment(temp);
 
 		return temp;
 	}
@@ -82,138 +170,552 @@ public class AVLTree<AnyType extends Comparable<AnyType>>
 
 		if (bf == -2)
 		{
-			if (balanceFactor(root.right) > 0)
+			boolean twice = balanceFactor(root.right) > 0;
+
+			if (twice)
 				root.right = rotateRight(root.right);
 			
 			root = rotateLeft(root);
+			countRotation(twice);
 		}
 		else if (bf == 2)
 		{
-			if (balanceFactor(root.left) < 0)
+			boolean twice = balanceFactor(root.left) < 0;
+
+			if (twice)
 				root.left = rotateLeft(root.left);
 			
 			root = rotateRight(root);
+			countRotation(twice);
 		}
 
 		return root;
 	}
 
-	public void add(AnyType data)
+	private void countRotation(boolean twice)
 	{
-		this.root = add(this.root, data);
-		this.size++;
+		if (this.stats == null)
+			return;
+
+		if (twice)
+			this.stats.doubleRotation();
+		else
+			this.stats.rotation();
 	}
 
-	private Node<AnyType> add(Node<AnyType> root, AnyType data)
+	// Links child into the spot below path[depth - 1] that the descent went
+	// through, or makes it the root when depth is zero.
+	private void link(int depth, Node<AnyType> child)
 	{
-		if (root == null) return new Node<>(data);
+		if (depth == 0)
+			this.root = child;
+		else if (this.wentLeft[depth - 1])
+			this.path[depth - 1].left = child;
+		else
+			this.path[depth - 1].right = child;
+	}
 
-		int comparisonValue = data.compareTo(root.data);
+	// Walks back up the recorded path updating heights and rotating where
+	// needed. Once a subtree comes out with the same height (and summary) it
+	// had before, none of its ancestors can have changed, so we stop there;
+	// but never below path[dirty], whose data remove() may have replaced.
+	// Every node on the path gains (or loses) one descendant though, so sizes
+	// are fixed first.
+	private void retrace(int depth, int delta, int dirty)
+	{
+		for (int i = 0; i < depth; i++)
+			this.path[i].size += delta;
 
-		if (comparisonValue < 0)
-			root.left = add(root.left, data);
-		else if (comparisonValue > 0)
-			root.right = add(root.right, data);
-		else
-			return root; // Disallows the insertion of duplicate values.
-		
-		root.height = 1 + Math.max(getHeight(root.left), getHeight(root.right));
+		for (int i = depth - 1; i >= 0; i--)
+		{
+			Node<AnyType> node = this.path[i];
+			int oldHeight = node.height;
 
-		root = balanceAVLTree(root);
+			node.height = 1 + Math.max(getHeight(node.left), getHeight(node.right));
 
-		return root;
+			// A rotation keeps the subtree's contents, and so its summary.
+			boolean changed = augment(node);
+			Node<AnyType> balanced = balanceAVLTree(node);
+
+			if (balanced != node)
+				link(i, balanced);
+
+			if (i <= dirty && balanced.height == oldHeight && !changed)
+				break;
+		}
+
+		// Don't hang on to nodes that might be removed later.
+		for (int j = 0; j < depth; j++)
+			this.path[j] = null;
 	}
 
-	public void remove(AnyType data)
+	// Returns true if the tree changed (i.e. data was not already in the tree).
+	public boolean add(AnyType data)
 	{
-		this.root = remove(this.root, data);
+		TreeStats stats = this.stats;
+		long start = (stats == null) ? 0 : System.nanoTime();
+
+		Node<AnyType> node = this.root;
+		int depth = 0;
+
+		while (node != null)
+		{
+			int comparisonValue = compare(data, node.data);
+
+			if (comparisonValue == 0)
+			{
+				if (stats != null)
+					stats.operation("AVLTree", "add", start, depth + 1, depth);
+
+				return false; // Disallows the insertion of duplicate values.
+			}
+
+			this.path[depth] = node;
+			this.wentLeft[depth++] = comparisonValue < 0;
+			node = (comparisonValue < 0) ? node.left : node.right;
+		}
+
+		link(depth, newNode(data));
+		this.size++;
+
+		retrace(depth, 1, depth);
+
+		if (stats != null)
+		{
+			stats.allocation();
+			stats.operation("AVLTree", "add", start, depth, depth);
+		}
+
+		return true;
+	}
+
+	// Returns true if the tree changed (i.e. data was found and removed).
+	@SuppressWarnings("unchecked")
+	public boolean remove(Object o)
+	{
+		AnyType data = (AnyType)o;
+		TreeStats stats = this.stats;
+		long start = (stats == null) ? 0 : System.nanoTime();
+
+		Node<AnyType> node = this.root;
+		int depth = 0;
+
+		while (node != null)
+		{
+			int comparisonValue = compare(data, node.data);
+
+			if (comparisonValue == 0)
+				break;
+
+			this.path[depth] = node;
+			this.wentLeft[depth++] = comparisonValue < 0;
+			node = (comparisonValue < 0) ? node.left : node.right;
+		}
+
+		if (node == null)
+		{
+			for (int j = 0; j < depth; j++)
+				this.path[j] = null;
+
+			if (stats != null)
+				stats.operation("AVLTree", "remove", start, depth, depth);
+
+			return false;
+		}
+
+		int found = depth;
+
+		if (node.left != null && node.right != null)
+		{
+			// Move max data from the left subtree up here, and remove that node
+			// instead. It has no right child, so it is easy to unlink.
+			Node<AnyType> target = node;
+
+			this.path[depth] = node;
+			this.wentLeft[depth++] = true;
+			node = node.left;
+
+			while (node.right != null)
+			{
+				this.path[depth] = node;
+				this.wentLeft[depth++] = false;
+				node = node.right;
+			}
+
+			target.data = node.data;
+		}
+
+		// At most one child is left, so it moves up to take the node's place.
+		link(depth, (node.left != null) ? node.left : node.right);
 		this.size--;
+
+		retrace(depth, -1, found);
+
+		if (stats != null)
+			stats.operation("AVLTree", "remove", start, found + 1, found);
+
+		return true;
+	}
+
+	@SuppressWarnings("unchecked")
+	public boolean contains(Object o)
+	{
+		AnyType data = (AnyType)o;
+		TreeStats stats = this.stats;
+		long start = (stats == null) ? 0 : System.nanoTime();
+
+		Node<AnyType> node = this.root;
+		int depth = 0;
+
+		while (node != null)
+		{
+			int comparisonValue = compare(data, node.data);
+
+			if (comparisonValue == 0)
+				break;
+
+			node = (comparisonValue < 0) ? node.left : node.right;
+			depth++;
+		}
+
+		if (stats != null)
+			stats.operation("AVLTree", "contains", start, (node == null) ? depth : depth + 1, depth);
+
+		return node != null;
 	}
 
-	private Node<AnyType> remove(Node<AnyType> root, AnyType data)
+	public int getSize()
 	{
-		Node<AnyType> temp = null;
+		return this.size;
+	}
 
-		if (root == null) return null;
+	public int size()
+	{
+		return this.size;
+	}
 
-		int comparisonValue = data.compareTo(root.data);
+	public void clear()
+	{
+		this.root = null;
+		this.size = 0;
+	}
 
-		if (comparisonValue == 0)
+	AnyType below(AnyType data, boolean inclusive)
+	{
+		Node<AnyType> node = this.root;
+		AnyType best = null;
+
+		while (node != null)
 		{
-			// if no children, get rid of node
-			if (root.left == null && root.right == null)
+			int comparisonValue = compare(data, node.data);
+
+			if (comparisonValue == 0 && inclusive)
+				return node.data;
+
+			if (comparisonValue > 0)
 			{
-				return null;
+				best = node.data; // Below data; anything closer is to the right.
+				node = node.right;
 			}
-			// if only right child exists, move that child up
-			else if (root.left == null)
+			else
 			{
-				return root.right;
+				node = node.left;
 			}
-			// if only left child exists, move that child up
-			else if (root.right == null)
+		}
+
+		return best;
+	}
+
+	AnyType above(AnyType data, boolean inclusive)
+	{
+		Node<AnyType> node = this.root;
+		AnyType best = null;
+
+		while (node != null)
+		{
+			int comparisonValue = compare(data, node.data);
+
+			if (comparisonValue == 0 && inclusive)
+				return node.data;
+
+			if (comparisonValue < 0)
 			{
-				return root.left;
+				best = node.data;
+				node = node.left;
 			}
 			else
 			{
-				// move max data from left subtree up here
-				root.data = findMax(root.left);
+				node = node.right;
+			}
+		}
+
+		return best;
+	}
+
+	AnyType smallest()
+	{
+		Node<AnyType> node = this.root;
+
+		if (node == null)
+			return null;
+
+		while (node.left != null)
+			node = node.left;
+
+		return node.data;
+	}
+
+	AnyType largest()
+	{
+		Node<AnyType> node = this.root;
+
+		if (node == null)
+			return null;
+
+		while (node.right != null)
+			node = node.right;
+
+		return node.data;
+	}
+
+	Node<AnyType> root()
+	{
+		return this.root;
+	}
+
+	// Builds a perfectly balanced tree from data that is already sorted, in O(n)
+	// time. Duplicate values are dropped, just like add() would.
+	public static <AnyType extends Comparable<AnyType>> AVLTree<AnyType> fromSorted(AnyType[] data)
+	{
+		ArrayList<AnyType> list = new ArrayList<>(data.length);
 
-				// now delete that node from the left subtree
-				root.left = remove(root.left, root.data);
+		for (AnyType item : data)
+			list.add(item);
+
+		return fromSorted(list.iterator());
+	}
+
+	public static <AnyType extends Comparable<AnyType>> AVLTree<AnyType> fromSorted(Iterator<AnyType> data)
+	{
+		ArrayList<Node<AnyType>> nodes = new ArrayList<>();
+		AnyType prev = null;
+
+		while (data.hasNext())
+		{
+			AnyType item = data.next();
+
+			if (prev != null)
+			{
+				int comparisonValue = item.compareTo(prev);
+
+				if (comparisonValue < 0)
+					throw new IllegalArgumentException("input is not sorted: " + item + " after " + prev);
+				if (comparisonValue == 0)
+					continue;
 			}
+
+			nodes.add(new Node<>(item));
+			prev = item;
 		}
-		// delete from left subtree if data < root->data
-		else if (comparisonValue < 0)
+
+		AVLTree<AnyType> tree = new AVLTree<>();
+		tree.root = tree.buildBalanced(nodes, 0, nodes.size());
+		tree.size = nodes.size();
+
+		return tree;
+	}
+
+	// Inserts a sorted batch of values, returning how many were actually added.
+	// Small batches go through add() one at a time. Larger ones are merged with
+	// the tree's in-order sequence and the whole tree is rebuilt balanced in
+	// O(n + m), reusing the existing nodes, instead of rebalancing m times.
+	public int addAll(AnyType[] sortedBatch)
+	{
+		int m = sortedBatch.length;
+		int n = this.size;
+		int added = 0;
+
+		for (int i = 1; i < m; i++)
+			if (compare(sortedBatch[i], sortedBatch[i - 1]) < 0)
+				throw new IllegalArgumentException("batch is not sorted: " + sortedBatch[i] + " after " + sortedBatch[i - 1]);
+
+		// m log(n) vs. n + m, using the height as a stand-in for log(n).
+		if ((long)m * (getHeight() + 2) < (long)n + m)
 		{
-			root.left = remove(root.left, data);
+			for (AnyType item : sortedBatch)
+				if (add(item))
+					added++;
+
+			return added;
 		}
-		// delete from right subtree if data > root->data
-		else
+
+		ArrayList<Node<AnyType>> existing = new ArrayList<>(n);
+		collect(this.root, existing);
+
+		ArrayList<Node<AnyType>> merged = new ArrayList<>(n + m);
+		int i = 0, j = 0;
+
+		while (i < n || j < m)
 		{
-			root.right = remove(root.right, data);
+			if (j == m)
+			{
+				merged.add(existing.get(i++));
+				continue;
+			}
+
+			// Skip values repeated inside the batch itself.
+			if (j > 0 && compare(sortedBatch[j], sortedBatch[j - 1]) == 0)
+			{
+				j++;
+				continue;
+			}
+
+			int comparisonValue = (i == n) ? 1 : compare(existing.get(i).data, sortedBatch[j]);
+
+			if (comparisonValue < 0)
+			{
+				merged.add(existing.get(i++));
+			}
+			else if (comparisonValue > 0)
+			{
+				merged.add(newNode(sortedBatch[j++]));
+				added++;
+
+				if (this.stats != null)
+					this.stats.allocation();
+			}
+			else
+			{
+				merged.add(existing.get(i++)); // Already in the tree.
+				j++;
+			}
 		}
 
-		// update height of the subtree rooted here
-		root.height = 1 + Math.max(getHeight(root.left), getHeight(root.right));
+		this.root = buildBalanced(merged, 0, merged.size());
+		this.size = merged.size();
 
-		// restore the balance if necessary
-		root = balanceAVLTree(root);
+		return added;
+	}
+
+	// Appends the nodes of the subtree to out in sorted order.
+	private void collect(Node<AnyType> root, ArrayList<Node<AnyType>> out)
+	{
+		if (root == null) return;
+
+		collect(root.left, out);
+		out.add(root);
+		collect(root.right, out);
+	}
+
+	// Links nodes[lo, hi) into a perfectly balanced subtree and returns its root.
+	// Both halves differ in size by at most one, so the result is a valid AVL tree.
+	private Node<AnyType> buildBalanced(ArrayList<Node<AnyType>> nodes, int lo, int hi)
+	{
+		if (lo >= hi) return null;
+
+		int mid = (lo + hi) >>> 1;
+		Node<AnyType> root = nodes.get(mid);
+
+		root.left = buildBalanced(nodes, lo, mid);
+		root.right = buildBalanced(nodes, mid + 1, hi);
+		root.height = 1 + Math.max(getHeight(root.left), getHeight(root.right));
+		root.size = hi - lo;
+		augment(root);
 
 		return root;
 	}
 
-	private AnyType findMax(Node<AnyType> root)
+	// Returns the k-th smallest element (0-indexed), or null if k is out of range.
+	public AnyType select(int k)
 	{
-		if (root.right == null)
-			return root.data;
-		else
-			return findMax(root.right);
+		if (k < 0 || k >= this.size)
+			return null;
+
+		Node<AnyType> node = this.root;
+
+		while (node != null)
+		{
+			int leftSize = getSize(node.left);
+
+			if (k < leftSize)
+			{
+				node = node.left;
+			}
+			else if (k > leftSize)
+			{
+				k -= leftSize + 1; // Skip the left subtree and this node.
+				node = node.right;
+			}
+			else
+			{
+				return node.data;
+			}
+		}
+
+		return null;
 	}
 
-	public boolean contains(AnyType data)
+	// Returns the number of elements strictly less than data. If data is in
+	// the tree, this is also its index in sorted order.
+	public int rank(AnyType data)
 	{
-		return contains(this.root, data);
+		return countLess(data, false);
 	}
 
-	private boolean contains(Node<AnyType> root, AnyType data)
+	// Returns the number of elements x such that lo <= x <= hi.
+	public int countInRange(AnyType lo, AnyType hi)
 	{
-		if (root == null) return false;
+		if (compare(lo, hi) > 0)
+			return 0;
 
-		int comparisonValue = data.compareTo(root.data);
+		return countLess(hi, true) - countLess(lo, false);
+	}
 
-		if (comparisonValue < 0)
-			return contains(root.left, data);
-		else if (comparisonValue > 0)
-			return contains(root.right, data);
-		else
-			return true;
+	// Subtree sizes make this O(log n), rather than a walk over the range.
+	int count(AnyType lo, boolean loInclusive, AnyType hi, boolean hiInclusive)
+	{
+		int count = (hi == null) ? this.size : countLess(hi, hiInclusive);
+
+		if (lo != null)
+			count -= countLess(lo, !loInclusive);
+
+		return Math.max(count, 0);
 	}
 
-	public int getSize()
+	// Counts elements less than data (or less than or equal to it, if inclusive).
+	private int countLess(AnyType data, boolean inclusive)
 	{
-		return this.size;
+		Node<AnyType> node = this.root;
+		int count = 0;
+
+		while (node != null)
+		{
+			int comparisonValue = compare(data, node.data);
+
+			if (comparisonValue < 0)
+			{
+				node = node.left;
+			}
+			else if (comparisonValue > 0)
+			{
+				// Everything in the left subtree, plus this node, is counted.
+				count += getSize(node.left) + 1;
+				node = node.right;
+			}
+			else
+			{
+				return count + getSize(node.left) + (inclusive ? 1 : 0);
+			}
+		}
+
+		return count;
+	}
+
+	// Returns an immutable, array-packed copy of the tree for fast read-only
+	// lookups. Later changes to the tree are not reflected in it.
+	public EytzingerSet<AnyType> freeze()
+	{
+		return new EytzingerSet<>(this, this.comparator);
 	}
 
 	public void inorder()
@@ -295,5 +797,49 @@ public class AVLTree<AnyType extends Comparable<AnyType>>
 		System.out.println("contains 7: " + t.contains(7));
 		System.out.println("contains 1: " + t.contains(1));
 		System.out.println("contains 2: " + t.contains(2));
+
+		System.out.println("select 0: " + t.select(0));
+		System.out.println("select 4: " + t.select(4));
+		System.out.println("rank 7: " + t.rank(7));
+		System.out.println("count in [2, 6]: " + t.countInRange(2, 6));
+
+		AVLTree<Integer> bulk = AVLTree.fromSorted(new Integer[] { 1, 2, 3, 5, 8, 13, 21 });
+		System.out.println("bulk size: " + bulk.getSize());
+		System.out.println("bulk height: " + bulk.getHeight());
+		bulk.inorder();
+
+		System.out.println("added: " + bulk.addAll(new Integer[] { 0, 2, 4, 4, 6, 7, 9, 10, 11 }));
+		System.out.println("bulk size: " + bulk.getSize());
+		System.out.println("bulk height: " + bulk.getHeight());
+		bulk.inorder();
+
+		System.out.print("Values in [4, 10]:");
+		for (Iterator<Integer> it = bulk.range(4, 10); it.hasNext(); )
+			System.out.print(" " + it.next());
+		System.out.println();
+
+		System.out.println("Sum (parallel stream): " + bulk.stream().parallel().mapToInt(Integer::intValue).sum());
+
+		for (Iterator<Integer> it = bulk.iterator(); it.hasNext(); )
+			if (it.next() % 3 == 0)
+				it.remove();
+		System.out.println("Without multiples of 3: " + bulk);
+
+		System.out.println("floor 12: " + bulk.floor(12) + ", ceiling 12: " + bulk.ceiling(12));
+		System.out.println("headSet(5): " + bulk.headSet(5) + ", tailSet(9, false): " + bulk.tailSet(9, false));
+
+		// A NavigableSet like any other, so it can stand in for a TreeSet.
+		NavigableSet<Integer> reversed = new AVLTree<Integer>(Comparator.reverseOrder());
+		reversed.addAll(bulk);
+		System.out.println("reversed: " + reversed);
+		System.out.println("pollFirst: " + reversed.pollFirst() + ", then first: " + reversed.first());
+
+		AVLTree<Integer> watched = new AVLTree<>();
+		watched.setStats(new TreeStats(1, Long.MAX_VALUE));
+		for (int i = 0; i < 1000; i++)
+			watched.add(i);
+		for (int i = 0; i < 1000; i++)
+			watched.contains(i);
+		System.out.println("Stats after sorted inserts: " + watched.getStats().snapshot());
 	}
 }
\ No newline at end of file
@@ -0,0 +1,878 @@
+// JP Valdespino
+// October 2026
+
+// AbstractNavigableSet.java
+// =========================
+// The parts of java.util.NavigableSet that BST, AVLTree and Treap have in
+// common. Each tree supplies what has to walk its own nodes: add(), remove(),
+// contains(), size(), clear(), its root, and the nearest element below or
+// above a value. Everything else (first/last, pollFirst/pollLast, the in-order
+// cursor, the descending set and the subSet/headSet/tailSet views) is built on
+// those here, so any of the three can stand in for the others, or for a
+// TreeSet.
+//
+// Elements are ordered by their compareTo() unless the tree was given a
+// Comparator, in which case that is used for every comparison instead.
+//
+// Views are live: they hold no elements of their own, and each operation on
+// one goes straight to the tree, clamped to the view's range.
+//
+// +-----------------------------------------------------+
+// | Navigable Set                                       |
+// |-----------------------------------------------------|
+// | Time Complexity: | Best Case | Worst Case | Average |
+// |------------------+-----------+------------+---------|
+// | Lower/Floor/etc: |   O(1)    |    O(n)    |  O(h)   |
+// | First/Last/Poll: |   O(1)    |    O(n)    |  O(h)   |
+// | View Creation:   |   O(1)    |    O(1)    |  O(1)   |
+// | View Size:       |   O(1)    |    O(n)    |  O(h)*  |
+// | Iterator Step:   |   O(1)    |    O(n)    |  O(1)** |
+// +-----------------------------------------------------+
+// *Where h is the height of the Tree, theoretically O(log n).
+// *Where n is the number of elements in the Tree.
+// *View sizes take O(h) in trees that count their subtrees (AVLTree and
+//  Treap), and O(k) for a view of k elements otherwise (BST).
+// **Amortized, going up. Going down, each step is a fresh O(h) search for
+//  the next element below, since the cursor only walks forward.
+
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.SortedSet;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public abstract class AbstractNavigableSet<AnyType extends Comparable<AnyType>> extends AbstractSet<AnyType> implements NavigableSet<AnyType>
+{
+	// What the cursor needs from a tree's nodes, whatever else they hold.
+	interface TreeNode<AnyType>
+	{
+		AnyType data();
+		TreeNode<AnyType> left();
+		TreeNode<AnyType> right();
+	}
+
+	protected final Comparator<? super AnyType> comparator; // Null for natural ordering.
+
+	protected AbstractNavigableSet(Comparator<? super AnyType> comparator)
+	{
+		this.comparator = comparator;
+	}
+
+	final int compare(AnyType a, AnyType b)
+	{
+		return (this.comparator == null) ? a.compareTo(b) : this.comparator.compare(a, b);
+	}
+
+	// Returns the greatest element less than data (or equal to it, if
+	// inclusive), or null if there isn't one.
+	abstract AnyType below(AnyType data, boolean inclusive);
+
+	// Returns the least element greater than data (or equal to it, if
+	// inclusive), or null if there isn't one.
+	abstract AnyType above(AnyType data, boolean inclusive);
+
+	// The least and greatest elements, or null if the set is empty.
+	abstract AnyType smallest();
+	abstract AnyType largest();
+
+	// The root of the tree, or null if it's empty.
+	abstract TreeNode<AnyType> root();
+
+	public Iterator<AnyType> iterator()
+	{
+		return new Cursor<>(this, null, root(), null, null, size());
+	}
+
+	// Iterates over every element >= lo, in order.
+	public Iterator<AnyType> from(AnyType lo)
+	{
+		return new Cursor<>(this, null, root(), lo, null, size());
+	}
+
+	// Iterates over every element x such that lo <= x <= hi, in order.
+	public Iterator<AnyType> range(AnyType lo, AnyType hi)
+	{
+		return new Cursor<>(this, null, root(), lo, hi, size());
+	}
+
+	public Spliterator<AnyType> spliterator()
+	{
+		return new Cursor<>(this, null, root(), null, null, size());
+	}
+
+	public Stream<AnyType> stream()
+	{
+		return StreamSupport.stream(spliterator(), false);
+	}
+
+	// Counts the elements between lo and hi (null meaning unbounded). This one
+	// walks them; trees that know their subtree sizes can do better.
+	int count(AnyType lo, boolean loInclusive, AnyType hi, boolean hiInclusive)
+	{
+		int count = 0;
+
+		for (Iterator<AnyType> it = new RangeIterator<>(this, lo, loInclusive, hi, hiInclusive); it.hasNext(); it.next())
+			count++;
+
+		return count;
+	}
+
+	public Comparator<? super AnyType> comparator()
+	{
+		return this.comparator;
+	}
+
+	public AnyType first()
+	{
+		return orThrow(smallest());
+	}
+
+	public AnyType last()
+	{
+		return orThrow(largest());
+	}
+
+	public AnyType lower(AnyType data)
+	{
+		return below(Objects.requireNonNull(data), false);
+	}
+
+	public AnyType floor(AnyType data)
+	{
+		return below(Objects.requireNonNull(data), true);
+	}
+
+	public AnyType ceiling(AnyType data)
+	{
+		return above(Objects.requireNonNull(data), true);
+	}
+
+	public AnyType higher(AnyType data)
+	{
+		return above(Objects.requireNonNull(data), false);
+	}
+
+	public AnyType pollFirst()
+	{
+		AnyType data = smallest();
+
+		if (data != null)
+			remove(data);
+
+		return data;
+	}
+
+	public AnyType pollLast()
+	{
+		AnyType data = largest();
+
+		if (data != null)
+			remove(data);
+
+		return data;
+	}
+
+	public Iterator<AnyType> descendingIterator()
+	{
+		return new DescendingIterator<>(this, largest(), null, false);
+	}
+
+	public NavigableSet<AnyType> descendingSet()
+	{
+		return new DescendingSet<>(this);
+	}
+
+	public NavigableSet<AnyType> subSet(AnyType fromElement, boolean fromInclusive, AnyType toElement, boolean toInclusive)
+	{
+		if (compare(Objects.requireNonNull(fromElement), Objects.requireNonNull(toElement)) > 0)
+			throw new IllegalArgumentException("fromElement > toElement");
+
+		return new SubSet<>(this, fromElement, fromInclusive, toElement, toInclusive);
+	}
+
+	public NavigableSet<AnyType> headSet(AnyType toElement, boolean inclusive)
+	{
+		return new SubSet<>(this, null, false, Objects.requireNonNull(toElement), inclusive);
+	}
+
+	public NavigableSet<AnyType> tailSet(AnyType fromElement, boolean inclusive)
+	{
+		return new SubSet<>(this, Objects.requireNonNull(fromElement), inclusive, null, false);
+	}
+
+	public SortedSet<AnyType> subSet(AnyType fromElement, AnyType toElement)
+	{
+		return subSet(fromElement, true, toElement, false);
+	}
+
+	public SortedSet<AnyType> headSet(AnyType toElement)
+	{
+		return headSet(toElement, false);
+	}
+
+	public SortedSet<AnyType> tailSet(AnyType fromElement)
+	{
+		return tailSet(fromElement, true);
+	}
+
+	// Each remove() through an iterator starts its cursor afresh, so the bulk
+	// removals AbstractCollection would build on it find their victims first
+	// instead.
+	public boolean removeIf(Predicate<? super AnyType> filter)
+	{
+		ArrayList<AnyType> doomed = new ArrayList<>();
+
+		for (AnyType data : this)
+			if (filter.test(data))
+				doomed.add(data);
+
+		for (AnyType data : doomed)
+			remove(data);
+
+		return !doomed.isEmpty();
+	}
+
+	public boolean removeAll(Collection<?> c)
+	{
+		boolean changed = false;
+
+		for (Object o : c)
+			changed |= remove(o);
+
+		return changed;
+	}
+
+	public boolean retainAll(Collection<?> c)
+	{
+		return removeIf(data -> !c.contains(data));
+	}
+
+	private static <AnyType> AnyType orThrow(AnyType data)
+	{
+		if (data == null)
+			throw new NoSuchElementException();
+
+		return data;
+	}
+
+	// =========================================================================
+	// Views
+	// =========================================================================
+
+	// The elements of tree between lo and hi, either of which may be null for
+	// no bound at all.
+	private static final class SubSet<AnyType extends Comparable<AnyType>> extends AbstractSet<AnyType> implements NavigableSet<AnyType>
+	{
+		private final AbstractNavigableSet<AnyType> tree;
+		private final AnyType lo, hi;
+		private final boolean loInclusive, hiInclusive;
+
+		SubSet(AbstractNavigableSet<AnyType> tree, AnyType lo, boolean loInclusive, AnyType hi, boolean hiInclusive)
+		{
+			this.tree = tree;
+			this.lo = lo;
+			this.loInclusive = loInclusive;
+			this.hi = hi;
+			this.hiInclusive = hiInclusive;
+		}
+
+		private boolean tooLow(AnyType data)
+		{
+			if (this.lo == null)
+				return false;
+
+			int comparisonValue = this.tree.compare(data, this.lo);
+			return comparisonValue < 0 || (comparisonValue == 0 && !this.loInclusive);
+		}
+
+		private boolean tooHigh(AnyType data)
+		{
+			if (this.hi == null)
+				return false;
+
+			int comparisonValue = this.tree.compare(data, this.hi);
+			return comparisonValue > 0 || (comparisonValue == 0 && !this.hiInclusive);
+		}
+
+		private boolean inRange(AnyType data)
+		{
+			return !tooLow(data) && !tooHigh(data);
+		}
+
+		// A bound for a view of this view has to lie inside it, except that an
+		// exclusive bound may sit right on an excluded endpoint of ours.
+		private AnyType checkBound(AnyType data, boolean inclusive)
+		{
+			Objects.requireNonNull(data);
+
+			boolean outside = inclusive ? !inRange(data)
+				: (this.lo != null && this.tree.compare(data, this.lo) < 0)
+				|| (this.hi != null && this.tree.compare(data, this.hi) > 0);
+
+			if (outside)
+				throw new IllegalArgumentException("bound out of range: " + data);
+
+			return data;
+		}
+
+		private AnyType below(AnyType data, boolean inclusive)
+		{
+			if (tooHigh(data))
+				return largest();
+
+			AnyType result = this.tree.below(data, inclusive);
+			return (result == null || tooLow(result)) ? null : result;
+		}
+
+		private AnyType above(AnyType data, boolean inclusive)
+		{
+			if (tooLow(data))
+				return smallest();
+
+			AnyType result = this.tree.above(data, inclusive);
+			return (result == null || tooHigh(result)) ? null : result;
+		}
+
+		private AnyType smallest()
+		{
+			AnyType result = (this.lo == null) ? this.tree.smallest() : this.tree.above(this.lo, this.loInclusive);
+			return (result == null || tooHigh(result)) ? null : result;
+		}
+
+		private AnyType largest()
+		{
+			AnyType result = (this.hi == null) ? this.tree.largest() : this.tree.below(this.hi, this.hiInclusive);
+			return (result == null || tooLow(result)) ? null : result;
+		}
+
+		public int size()
+		{
+			return this.tree.count(this.lo, this.loInclusive, this.hi, this.hiInclusive);
+		}
+
+		public boolean isEmpty()
+		{
+			return smallest() == null;
+		}
+
+		@SuppressWarnings("unchecked")
+		public boolean contains(Object o)
+		{
+			return inRange((AnyType)o) && this.tree.contains(o);
+		}
+
+		public boolean add(AnyType data)
+		{
+			if (!inRange(data))
+				throw new IllegalArgumentException("element out of range: " + data);
+
+			return this.tree.add(data);
+		}
+
+		@SuppressWarnings("unchecked")
+		public boolean remove(Object o)
+		{
+			return inRange((AnyType)o) && this.tree.remove(o);
+		}
+
+		public Iterator<AnyType> iterator()
+		{
+			return new RangeIterator<>(this.tree, this.lo, this.loInclusive, this.hi, this.hiInclusive);
+		}
+
+		public Iterator<AnyType> descendingIterator()
+		{
+			return new DescendingIterator<>(this.tree, largest(), this.lo, this.loInclusive);
+		}
+
+		public Comparator<? super AnyType> comparator()
+		{
+			return this.tree.comparator;
+		}
+
+		public AnyType first()
+		{
+			return orThrow(smallest());
+		}
+
+		public AnyType last()
+		{
+			return orThrow(largest());
+		}
+
+		public AnyType lower(AnyType data)
+		{
+			return below(Objects.requireNonNull(data), false);
+		}
+
+		public AnyType floor(AnyType data)
+		{
+			return below(Objects.requireNonNull(data), true);
+		}
+
+		public AnyType ceiling(AnyType data)
+		{
+			return above(Objects.requireNonNull(data), true);
+		}
+
+		public AnyType higher(AnyType data)
+		{
+			return above(Objects.requireNonNull(data), false);
+		}
+
+		public AnyType pollFirst()
+		{
+			AnyType data = smallest();
+
+			if (data != null)
+				this.tree.remove(data);
+
+			return data;
+		}
+
+		public AnyType pollLast()
+		{
+			AnyType data = largest();
+
+			if (data != null)
+				this.tree.remove(data);
+
+			return data;
+		}
+
+		public NavigableSet<AnyType> descendingSet()
+		{
+			return new DescendingSet<>(this);
+		}
+
+		public NavigableSet<AnyType> subSet(AnyType fromElement, boolean fromInclusive, AnyType toElement, boolean toInclusive)
+		{
+			checkBound(fromElement, fromInclusive);
+			checkBound(toElement, toInclusive);
+
+			if (this.tree.compare(fromElement, toElement) > 0)
+				throw new IllegalArgumentException("fromElement > toElement");
+
+			return new SubSet<>(this.tree, fromElement, fromInclusive, toElement, toInclusive);
+		}
+
+		public NavigableSet<AnyType> headSet(AnyType toElement, boolean inclusive)
+		{
+			return new SubSet<>(this.tree, this.lo, this.loInclusive, checkBound(toElement, inclusive), inclusive);
+		}
+
+		public NavigableSet<AnyType> tailSet(AnyType fromElement, boolean inclusive)
+		{
+			return new SubSet<>(this.tree, checkBound(fromElement, inclusive), inclusive, this.hi, this.hiInclusive);
+		}
+
+		public SortedSet<AnyType> subSet(AnyType fromElement, AnyType toElement)
+		{
+			return subSet(fromElement, true, toElement, false);
+		}
+
+		public SortedSet<AnyType> headSet(AnyType toElement)
+		{
+			return headSet(toElement, false);
+		}
+
+		public SortedSet<AnyType> tailSet(AnyType fromElement)
+		{
+			return tailSet(fromElement, true);
+		}
+	}
+
+	// Any navigable set, backwards.
+	private static final class DescendingSet<AnyType> extends AbstractSet<AnyType> implements NavigableSet<AnyType>
+	{
+		private final NavigableSet<AnyType> set;
+
+		DescendingSet(NavigableSet<AnyType> set)
+		{
+			this.set = set;
+		}
+
+		public int size() { return this.set.size(); }
+		public boolean isEmpty() { return this.set.isEmpty(); }
+		public boolean contains(Object o) { return this.set.contains(o); }
+		public boolean add(AnyType data) { return this.set.add(data); }
+		public boolean remove(Object o) { return this.set.remove(o); }
+		public void clear() { this.set.clear(); }
+
+		public Iterator<AnyType> iterator() { return this.set.descendingIterator(); }
+		public Iterator<AnyType> descendingIterator() { return this.set.iterator(); }
+
+		public Comparator<? super AnyType> comparator()
+		{
+			return Collections.reverseOrder(this.set.comparator());
+		}
+
+		public AnyType first() { return this.set.last(); }
+		public AnyType last() { return this.set.first(); }
+		public AnyType lower(AnyType data) { return this.set.higher(data); }
+		public AnyType floor(AnyType data) { return this.set.ceiling(data); }
+		public AnyType ceiling(AnyType data) { return this.set.floor(data); }
+		public AnyType higher(AnyType data) { return this.set.lower(data); }
+		public AnyType pollFirst() { return this.set.pollLast(); }
+		public AnyType pollLast() { return this.set.pollFirst(); }
+
+		public NavigableSet<AnyType> descendingSet()
+		{
+			return this.set;
+		}
+
+		public NavigableSet<AnyType> subSet(AnyType fromElement, boolean fromInclusive, AnyType toElement, boolean toInclusive)
+		{
+			return this.set.subSet(toElement, toInclusive, fromElement, fromInclusive).descendingSet();
+		}
+
+		public NavigableSet<AnyType> headSet(AnyType toElement, boolean inclusive)
+		{
+			return this.set.tailSet(toElement, inclusive).descendingSet();
+		}
+
+		public NavigableSet<AnyType> tailSet(AnyType fromElement, boolean inclusive)
+		{
+			return this.set.headSet(fromElement, inclusive).descendingSet();
+		}
+
+		public SortedSet<AnyType> subSet(AnyType fromElement, AnyType toElement)
+		{
+			return subSet(fromElement, true, toElement, false);
+		}
+
+		public SortedSet<AnyType> headSet(AnyType toElement)
+		{
+			return headSet(toElement, false);
+		}
+
+		public SortedSet<AnyType> tailSet(AnyType fromElement)
+		{
+			return tailSet(fromElement, true);
+		}
+	}
+
+	// =========================================================================
+	// Cursor
+	// =========================================================================
+
+	// Lazy in-order walk over the elements between lo and hi (inclusive, null
+	// meaning unbounded). The cursor emits head (if any), then every node in
+	// subtree, then each stack entry: a node followed by its right subtree.
+	// Advancing only pushes and pops that stack, so it never allocates. It can
+	// also split itself in two at a subtree boundary, for parallel streams.
+	//
+	// remove() may restructure the tree under the stack, so afterwards the
+	// cursor starts over from the root, with the removed element as its new
+	// lower bound: everything left that is >= it is also > it.
+	private static final class Cursor<AnyType extends Comparable<AnyType>> implements Iterator<AnyType>, Spliterator<AnyType>
+	{
+		private final AbstractNavigableSet<AnyType> tree;
+		private final AnyType hi;
+		private AnyType lo;
+		private AnyType last; // Returned by next() and not yet removed, else null.
+		private TreeNode<AnyType> head;
+		private TreeNode<AnyType> subtree;
+		private ArrayDeque<TreeNode<AnyType>> stack;
+		private long estimate;
+
+		Cursor(AbstractNavigableSet<AnyType> tree, TreeNode<AnyType> head, TreeNode<AnyType> subtree, AnyType lo, AnyType hi, long estimate)
+		{
+			this.tree = tree;
+			this.head = head;
+			this.subtree = subtree;
+			this.lo = lo;
+			this.hi = hi;
+			this.stack = new ArrayDeque<>();
+			this.estimate = estimate;
+		}
+
+		// Pushes the path down to the smallest node >= lo in this subtree.
+		private void pushLeft(TreeNode<AnyType> node)
+		{
+			while (node != null)
+			{
+				if (this.lo != null && this.tree.compare(node.data(), this.lo) < 0)
+				{
+					node = node.right(); // node and its left subtree are below the range.
+				}
+				else
+				{
+					this.stack.push(node);
+					node = node.left();
+				}
+			}
+		}
+
+		// Skips past parts of the pending subtree that lie outside [lo, hi].
+		private void pruneSubtree()
+		{
+			while (this.subtree != null)
+			{
+				if (this.lo != null && this.tree.compare(this.subtree.data(), this.lo) < 0)
+					this.subtree = this.subtree.right();
+				else if (this.hi != null && this.tree.compare(this.subtree.data(), this.hi) > 0)
+					this.subtree = this.subtree.left();
+				else
+					break;
+			}
+		}
+
+		private TreeNode<AnyType> peek()
+		{
+			if (this.head == null && this.subtree != null)
+			{
+				pushLeft(this.subtree);
+				this.subtree = null;
+			}
+
+			TreeNode<AnyType> node = (this.head != null) ? this.head : this.stack.peek();
+
+			if (node != null && this.hi != null && this.tree.compare(node.data(), this.hi) > 0)
+			{
+				// Everything after this is even bigger, so we're done.
+				this.head = this.subtree = null;
+				this.stack.clear();
+				return null;
+			}
+
+			return node;
+		}
+
+		public boolean hasNext()
+		{
+			return peek() != null;
+		}
+
+		public AnyType next()
+		{
+			TreeNode<AnyType> node = peek();
+
+			if (node == null)
+				throw new NoSuchElementException();
+
+			if (node == this.head)
+			{
+				this.head = null;
+			}
+			else
+			{
+				this.stack.pop();
+				pushLeft(node.right());
+			}
+
+			return this.last = node.data();
+		}
+
+		public void remove()
+		{
+			if (this.last == null)
+				throw new IllegalStateException();
+
+			this.tree.remove(this.last);
+
+			this.lo = this.last;
+			this.last = null;
+			this.head = null;
+			this.subtree = this.tree.root();
+			this.stack.clear();
+		}
+
+		public boolean tryAdvance(Consumer<? super AnyType> action)
+		{
+			if (!hasNext())
+				return false;
+
+			action.accept(next());
+			return true;
+		}
+
+		public void forEachRemaining(Consumer<? super AnyType> action)
+		{
+			while (hasNext())
+				action.accept(next());
+		}
+
+		// Hands everything before some node to a new cursor and keeps the rest.
+		public Spliterator<AnyType> trySplit()
+		{
+			pruneSubtree();
+
+			if (this.subtree != null)
+			{
+				// Split at the subtree's root: the prefix gets head plus the left
+				// subtree, and we keep the root (as our new head) and right subtree.
+				TreeNode<AnyType> node = this.subtree;
+				Cursor<AnyType> prefix = new Cursor<>(this.tree, this.head, node.left(), this.lo, this.hi, this.estimate >>>= 1);
+
+				this.head = node;
+				this.subtree = node.right();
+
+				return prefix;
+			}
+
+			if (this.stack.size() < 2)
+				return null;
+
+			// Already walking: the prefix gets every stack entry but the bottom
+			// one (the shallowest node, and so the last to come out), which we
+			// keep as a head plus its right subtree.
+			TreeNode<AnyType> last = this.stack.pollLast();
+			Cursor<AnyType> prefix = new Cursor<>(this.tree, this.head, null, this.lo, this.hi, this.estimate >>>= 1);
+			prefix.stack = this.stack;
+			this.stack = new ArrayDeque<>();
+
+			this.head = last;
+			this.subtree = last.right();
+
+			return prefix;
+		}
+
+		public long estimateSize()
+		{
+			return this.estimate;
+		}
+
+		public int characteristics()
+		{
+			return Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL;
+		}
+
+		public Comparator<? super AnyType> getComparator()
+		{
+			return this.tree.comparator; // Null for natural ordering.
+		}
+	}
+
+	// Walks a range of the tree in order using the cursor, one element ahead,
+	// for bounds the cursor can't express (exclusive ones). On remove() the
+	// cursor is started afresh from the element already read ahead.
+	private static final class RangeIterator<AnyType extends Comparable<AnyType>> implements Iterator<AnyType>
+	{
+		private final AbstractNavigableSet<AnyType> tree;
+		private final AnyType hi;
+		private final boolean hiInclusive;
+		private Iterator<AnyType> cursor;
+		private AnyType next, last;
+
+		RangeIterator(AbstractNavigableSet<AnyType> tree, AnyType lo, boolean loInclusive, AnyType hi, boolean hiInclusive)
+		{
+			this.tree = tree;
+			this.hi = hi;
+			this.hiInclusive = hiInclusive;
+			this.cursor = (lo == null) ? tree.iterator() : tree.from(lo);
+
+			advance();
+
+			if (lo != null && !loInclusive && this.next != null && tree.compare(this.next, lo) == 0)
+				advance();
+		}
+
+		private void advance()
+		{
+			this.next = this.cursor.hasNext() ? this.cursor.next() : null;
+
+			if (this.next != null && this.hi != null)
+			{
+				int comparisonValue = this.tree.compare(this.next, this.hi);
+
+				if (comparisonValue > 0 || (comparisonValue == 0 && !this.hiInclusive))
+					this.next = null;
+			}
+		}
+
+		public boolean hasNext()
+		{
+			return this.next != null;
+		}
+
+		public AnyType next()
+		{
+			if (this.next == null)
+				throw new NoSuchElementException();
+
+			this.last = this.next;
+			advance();
+
+			return this.last;
+		}
+
+		public void remove()
+		{
+			if (this.last == null)
+				throw new IllegalStateException();
+
+			this.tree.remove(this.last);
+			this.last = null;
+
+			if (this.next != null)
+			{
+				this.cursor = this.tree.from(this.next);
+				this.cursor.next(); // That's this.next, which we already have.
+			}
+		}
+	}
+
+	// Walks down from start to lo (null for no bound), finding each element
+	// with a search for the one below the last. Since it holds on to values
+	// rather than nodes, removing elements along the way is safe.
+	private static final class DescendingIterator<AnyType extends Comparable<AnyType>> implements Iterator<AnyType>
+	{
+		private final AbstractNavigableSet<AnyType> tree;
+		private final AnyType lo;
+		private final boolean loInclusive;
+		private AnyType next, last;
+
+		DescendingIterator(AbstractNavigableSet<AnyType> tree, AnyType start, AnyType lo, boolean loInclusive)
+		{
+			this.tree = tree;
+			this.lo = lo;
+			this.loInclusive = loInclusive;
+			this.next = start;
+		}
+
+		public boolean hasNext()
+		{
+			return this.next != null;
+		}
+
+		public AnyType next()
+		{
+			if (this.next == null)
+				throw new NoSuchElementException();
+
+			this.last = this.next;
+			this.next = this.tree.below(this.last, false);
+
+			if (this.next != null && this.lo != null)
+			{
+				int comparisonValue = this.tree.compare(this.next, this.lo);
+
+				if (comparisonValue < 0 || (comparisonValue == 0 && !this.loInclusive))
+					this.next = null;
+			}
+
+			return this.last;
+		}
+
+		public void remove()
+		{
+			if (this.last == null)
+				throw new IllegalStateException();
+
+			this.tree.remove(this.last);
+			this.last = null;
+		}
+	}
+}
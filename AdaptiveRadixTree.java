@@ -0,0 +1,856 @@
+// JP Valdespino
+// October 2026
+
+// AdaptiveRadixTree.java
+// ======================
+// A trie over arbitrary bytes, after Leis et al.'s Adaptive Radix Tree
+// (ART). Strings go in as UTF-8, so unlike Trie nothing is lowercased or
+// dropped: "quid-pro-quo", "quidproquo", accented or CJK words and any URL
+// are all distinct keys. As in Trie, each key counts how many times it was
+// inserted.
+//
+// Inner nodes come in four sizes and change between them as they fill up
+// and empty out:
+//
+//	Node4   up to 4 children    sorted key bytes, searched in a loop
+//	Node16  up to 16 children   sorted key bytes, binary searched
+//	Node48  up to 48 children   a 256-byte index into 48 child slots
+//	Node256 up to 256 children  indexed directly by the byte
+//
+// So a sparse node costs a few dozen bytes instead of Trie's Node[26], and
+// a dense one still finds its child in O(1). Chains of single-child nodes
+// are collapsed into a prefix stored on the node below them, and a key gets
+// a leaf (holding the whole key) as soon as no other key shares its path,
+// so nodes only exist where keys actually part ways. A key that ends where
+// others carry on sits in the leaf slot of the inner node it ends at.
+
+// +-----------------------------------------------------+
+// | Adaptive Radix Tree                                 |
+// |-----------------------------------------------------|
+// | Time Complexity: | Best Case | Worst Case | Average |
+// |------------------+-----------+------------+---------|
+// | Insertion:       |   O(k)    |    O(k)    |  O(k)   |
+// | Deletion:        |   O(k)    |    O(k)    |  O(k)   |
+// | Search:          |   O(k)    |    O(k)    |  O(k)   |
+// +-----------------------------------------------------+
+// *Where k is the length of the key in bytes.
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.Consumer;
+
+public class AdaptiveRadixTree
+{
+	abstract static class Node
+	{
+	}
+
+	static final class Leaf extends Node
+	{
+		final byte[] key;
+		int count;
+
+		Leaf(byte[] key)
+		{
+			this.key = key;
+			this.count = 1;
+		}
+	}
+
+	abstract static class Inner extends Node
+	{
+		byte[] prefix; // Bytes every key below here shares after the parent's.
+		Leaf leaf; // The key that ends right after the prefix, if any.
+		int size; // Number of children, not counting leaf.
+
+		Inner(byte[] prefix)
+		{
+			this.prefix = prefix;
+		}
+
+		// The child for byte b (0 to 255), or null.
+		abstract Node find(int b);
+
+		// Points the existing slot for b at child.
+		abstract void set(int b, Node child);
+
+		// Adds a child for b (which must not have one yet), returning either
+		// this node or, if it was full, a bigger one that replaces it.
+		abstract Inner add(int b, Node child);
+
+		// Removes the child for b, returning either this node or, if few enough
+		// children are left, a smaller one that replaces it.
+		abstract Inner remove(int b);
+
+		// Visits the children in order of their bytes.
+		abstract void forEachChild(Consumer<Node> action);
+
+		// The only child, for a node that has exactly one.
+		abstract int onlyByte();
+
+		// Hands the leaf over to a node taking this one's place (which got the
+		// prefix from its constructor).
+		<T extends Inner> T copyHeader(T node)
+		{
+			node.leaf = this.leaf;
+			return node;
+		}
+	}
+
+	static final class Node4 extends Inner
+	{
+		final byte[] keys = new byte[4];
+		final Node[] children = new Node[4];
+
+		Node4(byte[] prefix)
+		{
+			super(prefix);
+		}
+
+		private int indexOf(int b)
+		{
+			for (int i = 0; i < this.size; i++)
+				if ((this.keys[i] & 0xFF) == b)
+					return i;
+
+			return -1;
+		}
+
+		Node find(int b)
+		{
+			int i = indexOf(b);
+			return (i < 0) ? null : this.children[i];
+		}
+
+		void set(int b, Node child)
+		{
+			this.children[indexOf(b)] = child;
+		}
+
+		Inner add(int b, Node child)
+		{
+			if (this.size == 4)
+			{
+				Node16 bigger = copyHeader(new Node16(this.prefix));
+				System.arraycopy(this.keys, 0, bigger.keys, 0, 4);
+				System.arraycopy(this.children, 0, bigger.children, 0, 4);
+				bigger.size = 4;
+				return bigger.add(b, child);
+			}
+
+			int i = this.size;
+
+			while (i > 0 && (this.keys[i - 1] & 0xFF) > b)
+			{
+				this.keys[i] = this.keys[i - 1];
+				this.children[i] = this.children[i - 1];
+				i--;
+			}
+
+			this.keys[i] = (byte)b;
+			this.children[i] = child;
+			this.size++;
+
+			return this;
+		}
+
+		Inner remove(int b)
+		{
+			int i = indexOf(b);
+
+			System.arraycopy(this.keys, i + 1, this.keys, i, this.size - i - 1);
+			System.arraycopy(this.children, i + 1, this.children, i, this.size - i - 1);
+			this.children[--this.size] = null;
+
+			return this;
+		}
+
+		void forEachChild(Consumer<Node> action)
+		{
+			for (int i = 0; i < this.size; i++)
+				action.accept(this.children[i]);
+		}
+
+		int onlyByte()
+		{
+			return this.keys[0] & 0xFF;
+		}
+	}
+
+	static final class Node16 extends Inner
+	{
+		final byte[] keys = new byte[16];
+		final Node[] children = new Node[16];
+
+		Node16(byte[] prefix)
+		{
+			super(prefix);
+		}
+
+		// Binary search over the sorted key bytes: the index of b if it's there,
+		// else -(where it would go) - 1.
+		private int indexOf(int b)
+		{
+			int lo = 0, hi = this.size - 1;
+
+			while (lo <= hi)
+			{
+				int mid = (lo + hi) >>> 1;
+				int key = this.keys[mid] & 0xFF;
+
+				if (key < b)
+					lo = mid + 1;
+				else if (key > b)
+					hi = mid - 1;
+				else
+					return mid;
+			}
+
+			return -lo - 1;
+		}
+
+		Node find(int b)
+		{
+			int i = indexOf(b);
+			return (i < 0) ? null : this.children[i];
+		}
+
+		void set(int b, Node child)
+		{
+			this.children[indexOf(b)] = child;
+		}
+
+		Inner add(int b, Node child)
+		{
+			if (this.size == 16)
+			{
+				Node48 bigger = copyHeader(new Node48(this.prefix));
+
+				for (int i = 0; i < 16; i++)
+					bigger.add(this.keys[i] & 0xFF, this.children[i]);
+
+				return bigger.add(b, child);
+			}
+
+			int i = -indexOf(b) - 1;
+
+			System.arraycopy(this.keys, i, this.keys, i + 1, this.size - i);
+			System.arraycopy(this.children, i, this.children, i + 1, this.size - i);
+			this.keys[i] = (byte)b;
+			this.children[i] = child;
+			this.size++;
+
+			return this;
+		}
+
+		Inner remove(int b)
+		{
+			int i = indexOf(b);
+
+			System.arraycopy(this.keys, i + 1, this.keys, i, this.size - i - 1);
+			System.arraycopy(this.children, i + 1, this.children, i, this.size - i - 1);
+			this.children[--this.size] = null;
+
+			if (this.size > 3)
+				return this;
+
+			Node4 smaller = copyHeader(new Node4(this.prefix));
+			System.arraycopy(this.keys, 0, smaller.keys, 0, this.size);
+			System.arraycopy(this.children, 0, smaller.children, 0, this.size);
+			smaller.size = this.size;
+
+			return smaller;
+		}
+
+		void forEachChild(Consumer<Node> action)
+		{
+			for (int i = 0; i < this.size; i++)
+				action.accept(this.children[i]);
+		}
+
+		int onlyByte()
+		{
+			return this.keys[0] & 0xFF;
+		}
+	}
+
+	static final class Node48 extends Inner
+	{
+		final byte[] index = new byte[256]; // Slot + 1 of each byte's child, or 0.
+		final Node[] children = new Node[48];
+
+		Node48(byte[] prefix)
+		{
+			super(prefix);
+		}
+
+		Node find(int b)
+		{
+			int slot = this.index[b];
+			return (slot == 0) ? null : this.children[slot - 1];
+		}
+
+		void set(int b, Node child)
+		{
+			this.children[this.index[b] - 1] = child;
+		}
+
+		Inner add(int b, Node child)
+		{
+			if (this.size == 48)
+			{
+				Node256 bigger = copyHeader(new Node256(this.prefix));
+
+				for (int c = 0; c < 256; c++)
+					if (this.index[c] != 0)
+						bigger.add(c, this.children[this.index[c] - 1]);
+
+				return bigger.add(b, child);
+			}
+
+			int slot = 0;
+
+			while (this.children[slot] != null)
+				slot++;
+
+			this.children[slot] = child;
+			this.index[b] = (byte)(slot + 1);
+			this.size++;
+
+			return this;
+		}
+
+		Inner remove(int b)
+		{
+			this.children[this.index[b] - 1] = null;
+			this.index[b] = 0;
+			this.size--;
+
+			if (this.size > 12)
+				return this;
+
+			Node16 smaller = copyHeader(new Node16(this.prefix));
+
+			for (int c = 0; c < 256; c++)
+				if (this.index[c] != 0)
+					smaller.add(c, this.children[this.index[c] - 1]);
+
+			return smaller;
+		}
+
+		void forEachChild(Consumer<Node> action)
+		{
+			for (int c = 0; c < 256; c++)
+				if (this.index[c] != 0)
+					action.accept(this.children[this.index[c] - 1]);
+		}
+
+		int onlyByte()
+		{
+			int c = 0;
+
+			while (this.index[c] == 0)
+				c++;
+
+			return c;
+		}
+	}
+
+	static final class Node256 extends Inner
+	{
+		final Node[] children = new Node[256];
+
+		Node256(byte[] prefix)
+		{
+			super(prefix);
+		}
+
+		Node find(int b)
+		{
+			return this.children[b];
+		}
+
+		void set(int b, Node child)
+		{
+			this.children[b] = child;
+		}
+
+		Inner add(int b, Node child)
+		{
+			this.children[b] = child;
+			this.size++;
+
+			return this;
+		}
+
+		Inner remove(int b)
+		{
+			this.children[b] = null;
+			this.size--;
+
+			if (this.size > 37)
+				return this;
+
+			Node48 smaller = copyHeader(new Node48(this.prefix));
+
+			for (int c = 0; c < 256; c++)
+				if (this.children[c] != null)
+					smaller.add(c, this.children[c]);
+
+			return smaller;
+		}
+
+		void forEachChild(Consumer<Node> action)
+		{
+			for (int c = 0; c < 256; c++)
+				if (this.children[c] != null)
+					action.accept(this.children[c]);
+		}
+
+		int onlyByte()
+		{
+			int c = 0;
+
+			while (this.children[c] == null)
+				c++;
+
+			return c;
+		}
+	}
+
+	private Node root;
+	private boolean found; // Whether the last delete() found its key.
+
+	public AdaptiveRadixTree()
+	{
+		this.root = null;
+	}
+
+	// Number of bytes, from depth on, that a and b have in common.
+	private static int commonPrefix(byte[] a, byte[] b, int depth)
+	{
+		int n = Math.min(a.length, b.length);
+		int i = depth;
+
+		while (i < n && a[i] == b[i])
+			i++;
+
+		return i - depth;
+	}
+
+	// Number of bytes of prefix that key matches, starting at depth.
+	private static int matchPrefix(byte[] prefix, byte[] key, int depth)
+	{
+		int n = Math.min(prefix.length, key.length - depth);
+		int i = 0;
+
+		while (i < n && prefix[i] == key[depth + i])
+			i++;
+
+		return i;
+	}
+
+	// Files leaf under node by its key byte at depth, or as node's own leaf if
+	// its key ends there.
+	private static void place(Node4 node, Leaf leaf, int depth)
+	{
+		if (leaf.key.length == depth)
+			node.leaf = leaf;
+		else
+			node.add(leaf.key[depth] & 0xFF, leaf);
+	}
+
+	public boolean insert(String str)
+	{
+		if (str == null)
+			return false;
+
+		return insert(str.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public boolean insert(byte[] key)
+	{
+		if (key == null)
+			return false;
+
+		this.root = insert(this.root, key.clone(), 0);
+		return true;
+	}
+
+	// Inserts key into the subtree at node, whose keys all agree with it on
+	// the first depth bytes, and returns whatever should take node's place.
+	private Node insert(Node node, byte[] key, int depth)
+	{
+		if (node == null)
+			return new Leaf(key);
+
+		if (node instanceof Leaf)
+		{
+			Leaf leaf = (Leaf)node;
+
+			if (Arrays.equals(leaf.key, key))
+			{
+				leaf.count++;
+				return leaf;
+			}
+
+			// Two keys now share this spot: they get an inner node, with the
+			// bytes they have in common as its prefix.
+			int p = commonPrefix(leaf.key, key, depth);
+			Node4 parent = new Node4(Arrays.copyOfRange(key, depth, depth + p));
+
+			place(parent, leaf, depth + p);
+			place(parent, new Leaf(key), depth + p);
+
+			return parent;
+		}
+
+		Inner inner = (Inner)node;
+		int p = matchPrefix(inner.prefix, key, depth);
+
+		if (p < inner.prefix.length)
+		{
+			// The key leaves this node's prefix part way along. A new node takes
+			// the matching part, and this one keeps what's left after the byte
+			// it's now filed under.
+			byte[] prefix = inner.prefix;
+			inner.prefix = Arrays.copyOfRange(prefix, p + 1, prefix.length);
+
+			Node4 parent = new Node4(Arrays.copyOf(prefix, p));
+			parent.add(prefix[p] & 0xFF, inner);
+			place(parent, new Leaf(key), depth + p);
+
+			return parent;
+		}
+
+		depth += p;
+
+		if (depth == key.length)
+		{
+			if (inner.leaf == null)
+				inner.leaf = new Leaf(key);
+			else
+				inner.leaf.count++;
+
+			return inner;
+		}
+
+		int b = key[depth] & 0xFF;
+		Node child = inner.find(b);
+
+		if (child == null)
+			return inner.add(b, new Leaf(key));
+
+		Node replacement = insert(child, key, depth + 1);
+
+		if (replacement != child)
+			inner.set(b, replacement);
+
+		return inner;
+	}
+
+	public boolean delete(String str)
+	{
+		if (str == null)
+			return false;
+
+		return delete(str.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public boolean delete(byte[] key)
+	{
+		if (key == null)
+			return false;
+
+		this.found = false;
+		this.root = delete(this.root, key, 0);
+
+		return this.found;
+	}
+
+	// Deletes one occurrence of key from the subtree at node, and returns what
+	// should take node's place (null if nothing is left).
+	private Node delete(Node node, byte[] key, int depth)
+	{
+		if (node == null)
+			return null;
+
+		if (node instanceof Leaf)
+		{
+			Leaf leaf = (Leaf)node;
+
+			if (!Arrays.equals(leaf.key, key))
+				return leaf;
+
+			this.found = true;
+			return (--leaf.count > 0) ? leaf : null;
+		}
+
+		Inner inner = (Inner)node;
+		int p = matchPrefix(inner.prefix, key, depth);
+
+		if (p < inner.prefix.length)
+			return inner;
+
+		depth += p;
+
+		if (depth == key.length)
+		{
+			if (inner.leaf == null)
+				return inner;
+
+			this.found = true;
+
+			if (--inner.leaf.count > 0)
+				return inner;
+
+			inner.leaf = null;
+			return collapse(inner);
+		}
+
+		int b = key[depth] & 0xFF;
+		Node child = inner.find(b);
+
+		if (child == null)
+			return inner;
+
+		Node replacement = delete(child, key, depth + 1);
+
+		if (replacement == child)
+			return inner;
+
+		if (replacement != null)
+		{
+			inner.set(b, replacement);
+			return inner;
+		}
+
+		return collapse(inner.remove(b));
+	}
+
+	// An inner node left with a single entry isn't needed any more: a lone
+	// leaf (which knows its whole key) takes its place, and a lone inner child
+	// absorbs its prefix.
+	private Node collapse(Inner inner)
+	{
+		if (inner.size == 0)
+			return inner.leaf;
+
+		if (inner.size > 1 || inner.leaf != null)
+			return inner;
+
+		int b = inner.onlyByte();
+		Node child = inner.find(b);
+
+		if (child instanceof Inner)
+		{
+			Inner only = (Inner)child;
+			byte[] prefix = Arrays.copyOf(inner.prefix, inner.prefix.length + 1 + only.prefix.length);
+			prefix[inner.prefix.length] = (byte)b;
+			System.arraycopy(only.prefix, 0, prefix, inner.prefix.length + 1, only.prefix.length);
+			only.prefix = prefix;
+		}
+
+		return child;
+	}
+
+	// The leaf for key, or null if it isn't in the tree.
+	private Leaf find(byte[] key)
+	{
+		Node node = this.root;
+		int depth = 0;
+
+		while (node instanceof Inner)
+		{
+			Inner inner = (Inner)node;
+			byte[] prefix = inner.prefix;
+
+			if (key.length - depth < prefix.length)
+				return null;
+
+			for (int i = 0; i < prefix.length; i++)
+				if (prefix[i] != key[depth + i])
+					return null;
+
+			depth += prefix.length;
+
+			if (depth == key.length)
+				return inner.leaf;
+
+			node = inner.find(key[depth++] & 0xFF);
+		}
+
+		Leaf leaf = (Leaf)node;
+		return (leaf != null && Arrays.equals(leaf.key, key)) ? leaf : null;
+	}
+
+	public boolean contains(String str)
+	{
+		return str != null && find(str.getBytes(StandardCharsets.UTF_8)) != null;
+	}
+
+	public boolean contains(byte[] key)
+	{
+		return key != null && find(key) != null;
+	}
+
+	// Count of a specific string.
+	public int countSpecificString(String str)
+	{
+		if (str == null)
+			return 0;
+
+		Leaf leaf = find(str.getBytes(StandardCharsets.UTF_8));
+		return (leaf == null) ? 0 : leaf.count;
+	}
+
+	// Counts the number of strings in the tree, including duplicates.
+	public int countNumStrings()
+	{
+		int[] count = new int[1];
+		forEachLeaf(this.root, leaf -> count[0] += leaf.count);
+		return count[0];
+	}
+
+	// Counts the number of unique strings in the tree.
+	public int countUniqueStrings()
+	{
+		int[] count = new int[1];
+		forEachLeaf(this.root, leaf -> count[0]++);
+		return count[0];
+	}
+
+	// Counts the inner nodes of each size, as { Node4, Node16, Node48, Node256 }.
+	public int[] countNodeTypes()
+	{
+		int[] counts = new int[4];
+		countNodeTypes(this.root, counts);
+		return counts;
+	}
+
+	private void countNodeTypes(Node node, int[] counts)
+	{
+		if (!(node instanceof Inner))
+			return;
+
+		if (node instanceof Node4) counts[0]++;
+		else if (node instanceof Node16) counts[1]++;
+		else if (node instanceof Node48) counts[2]++;
+		else counts[3]++;
+
+		((Inner)node).forEachChild(child -> countNodeTypes(child, counts));
+	}
+
+	// Visits every leaf in byte order, which for UTF-8 is code point order.
+	private void forEachLeaf(Node node, Consumer<Leaf> action)
+	{
+		if (node == null)
+			return;
+
+		if (node instanceof Leaf)
+		{
+			action.accept((Leaf)node);
+			return;
+		}
+
+		Inner inner = (Inner)node;
+
+		if (inner.leaf != null)
+			action.accept(inner.leaf);
+
+		inner.forEachChild(child -> forEachLeaf(child, action));
+	}
+
+	// Prints all the strings in the tree, decoding keys as UTF-8.
+	public void printTrie()
+	{
+		forEachLeaf(this.root, leaf ->
+		{
+			if (leaf.key.length > 0)
+				System.out.println(new String(leaf.key, StandardCharsets.UTF_8) + " (" + leaf.count + ")");
+			else
+				System.out.println("<__EMPTY_STRING__> (" + leaf.count + ")");
+		});
+	}
+
+	private static long usedMemory()
+	{
+		Runtime runtime = Runtime.getRuntime();
+
+		for (int i = 0; i < 3; i++)
+			System.gc();
+
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	public static void main(String [] args)
+	{
+		AdaptiveRadixTree lexicon = new AdaptiveRadixTree();
+
+		String [] words = new String[] { "quid-pro-quo", "quidproquo", "quid pro quo", "apple", "Apple", "app", "",
+			"https://example.com/a?b=c", "https://example.com/", "stra\u00dfe", "strasse", "\u65e5\u672c\u8a9e", "\u65e5\u672c", "na\u00efve", "naive", "apple" };
+
+		for (String word : words)
+			lexicon.insert(word);
+
+		System.out.println("word count: " + lexicon.countNumStrings() + ", unique: " + lexicon.countUniqueStrings());
+		System.out.println("====================");
+		lexicon.printTrie();
+		System.out.println();
+
+		System.out.println("contains \"quidproquo\": " + lexicon.contains("quidproquo") + ", \"quid-pro\": " + lexicon.contains("quid-pro"));
+		System.out.println("number of times \"apple\" is in the tree: " + lexicon.countSpecificString("apple"));
+
+		for (String word : new String[] { "\u65e5\u672c", "apple", "apple", "app", "naive", "missing" })
+			System.out.println("Deleting... \"" + word + "\": " + lexicon.delete(word));
+
+		System.out.println();
+		lexicon.printTrie();
+		System.out.println();
+
+		// The same random lowercase words in Trie and here, then random URLs,
+		// which Trie can't hold at all.
+		int n = 100_000;
+		Random randy = new Random(42);
+		String[] dictionary = new String[n];
+
+		for (int i = 0; i < n; i++)
+		{
+			char[] letters = new char[4 + randy.nextInt(9)];
+
+			for (int j = 0; j < letters.length; j++)
+				letters[j] = (char)('a' + randy.nextInt(26));
+
+			dictionary[i] = new String(letters);
+		}
+
+		long before = usedMemory();
+		Trie trie = new Trie();
+		for (String word : dictionary)
+			trie.insert(word);
+		long trieBytes = usedMemory() - before;
+
+		before = usedMemory();
+		AdaptiveRadixTree art = new AdaptiveRadixTree();
+		for (String word : dictionary)
+			art.insert(word);
+		long artBytes = usedMemory() - before;
+
+		System.out.printf("%d words: Trie %.1f MB | AdaptiveRadixTree %.1f MB, nodes by size %s\n",
+			n, trieBytes / 1e6, artBytes / 1e6, Arrays.toString(art.countNodeTypes()));
+
+		String[] hosts = { "example.com", "example.org", "wikipedia.org", "\u65e5\u672c.jp" };
+		AdaptiveRadixTree urls = new AdaptiveRadixTree();
+		before = usedMemory();
+		for (int i = 0; i < n; i++)
+			urls.insert("https://" + hosts[randy.nextInt(hosts.length)] + "/item/" + randy.nextInt(1_000_000) + "?ref=" + randy.nextInt(100));
+		long urlBytes = usedMemory() - before;
+
+		System.out.printf("%d URLs: %.1f MB (%d unique), nodes by size %s\n",
+			n, urlBytes / 1e6, urls.countUniqueStrings(), Arrays.toString(urls.countNodeTypes()));
+
+		if (trie.countNumStrings() != art.countNumStrings())
+			System.out.println("word counts differ!");
+	}
+}
@@ -0,0 +1,444 @@
+// JP Valdespino
+// October 2026
+
+// AhoCorasick.java
+// ================
+// Finds every occurrence of every word in a Trie within a text, in a single
+// pass over the text: an Aho-Corasick automaton compiled from the Trie.
+//
+// Each state is a Trie node, i.e. a prefix of some word. Its failure link is
+// the state for the longest proper suffix of that prefix that is also a
+// prefix of some word, and its output link is the nearest state along the
+// failure links that ends a word. Following the failure links is folded into
+// the transition table when the automaton is built (a full DFA, states x 26
+// ints), so scanning is one array read per character. Every match found there
+// is reported through a MatchListener, with no allocation per match.
+//
+// Text is read through the Trie's own normalization table, the way the Trie
+// reads its strings: by default case-insensitively, skipping non-letters, so
+// "quid pro quo" in the text matches the word "quidproquo". A char the table
+// REJECTs can't be part of any word, so it ends any match in progress.
+// ByteBuffers are read as Latin-1, as in Trie.find(). The empty string is
+// never reported.
+//
+// matchParallel() splits the text into chunks for the common ForkJoinPool.
+// Each chunk starts scanning (longest word - 1) letters early, so matches
+// that cross into it from the chunk before are still found, and reports only
+// the matches that end inside it.
+
+// +-----------------------------------------------------+
+// | Aho-Corasick                                        |
+// |-----------------------------------------------------|
+// | Time Complexity: | Best Case | Worst Case | Average |
+// |------------------+-----------+------------+---------|
+// | Build:           |   O(m)    |    O(m)    |  O(m)   |
+// | Match:           |   O(n)    |  O(n + z)  | O(n + z)|
+// +-----------------------------------------------------+
+// *Where m is the number of nodes in the Trie (times 26, for the table).
+// *Where n is the length of the text, and z the number of matches.
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class AhoCorasick
+{
+	private static final int NUM_ALPHA = Trie.Node.NUM_ALPHA;
+
+	// The letter c stands for, Trie.SKIP or Trie.REJECT.
+	private int code(char c)
+	{
+		return this.normalization[c];
+	}
+
+	private int code(byte b)
+	{
+		return this.normalization[b & 0xFF];
+	}
+
+	// Reports one occurrence of a word: its characters are text[start, end),
+	// and word(pattern) spells it. With matchParallel() it is called from
+	// several threads at once.
+	@FunctionalInterface
+	public interface MatchListener
+	{
+		void match(long start, long end, int pattern);
+	}
+
+	private final int [] next; // next[s * NUM_ALPHA + c]: the state after s on letter c.
+	private final int [] fail;
+	private final int [] out; // The nearest state at or above s along fail that ends a word, or -1.
+	private final int [] depth; // Letters in the prefix s stands for.
+	private final int [] parent;
+	private final byte [] letter; // The letter from parent[s] to s.
+	private final byte [] normalization; // The Trie's.
+	private final int maxDepth;
+	private final int patterns;
+
+	private AhoCorasick(List<Trie.Node> nodes, byte [] normalization)
+	{
+		int n = nodes.size();
+
+		if ((long)n * NUM_ALPHA > Integer.MAX_VALUE)
+			throw new IllegalArgumentException("Trie too large for an automaton: " + n + " nodes");
+
+		this.next = new int[n * NUM_ALPHA];
+		this.fail = new int[n];
+		this.out = new int[n];
+		this.depth = new int[n];
+		this.parent = new int[n];
+		this.letter = new byte[n];
+		this.normalization = normalization;
+
+		// The nodes are in breadth-first order, so numbering their children in
+		// the same order gives each child its index in nodes.
+		int children = 1;
+
+		for (int s = 0; s < n; s++)
+		{
+			Trie.Node node = nodes.get(s);
+
+			for (int c = 0; c < NUM_ALPHA; c++)
+			{
+				if (node.children[c] == null) continue;
+
+				int t = children++;
+				this.next[s * NUM_ALPHA + c] = t;
+				this.parent[t] = s;
+				this.letter[t] = (byte)c;
+				this.depth[t] = this.depth[s] + 1;
+			}
+		}
+
+		// Breadth first again, so fail[s], which is shallower than s, always has
+		// its row of next[] finished by the time s needs it.
+		int maxDepth = 0, patterns = 0;
+		this.out[0] = -1;
+
+		for (int s = 0; s < n; s++)
+		{
+			if (s > 0)
+			{
+				boolean ends = nodes.get(s).count > 0;
+				this.out[s] = ends ? s : this.out[this.fail[s]];
+
+				if (ends)
+				{
+					patterns++;
+					maxDepth = Math.max(maxDepth, this.depth[s]);
+				}
+			}
+
+			for (int c = 0; c < NUM_ALPHA; c++)
+			{
+				int t = this.next[s * NUM_ALPHA + c];
+				int fallback = (s == 0) ? 0 : this.next[this.fail[s] * NUM_ALPHA + c];
+
+				if (t != 0)
+					this.fail[t] = fallback;
+				else
+					this.next[s * NUM_ALPHA + c] = fallback;
+			}
+		}
+
+		this.maxDepth = maxDepth;
+		this.patterns = patterns;
+	}
+
+	// Compiles the current contents of trie. Later changes to the trie are not
+	// reflected in the automaton.
+	public static AhoCorasick build(Trie trie)
+	{
+		List<Trie.Node> nodes = new ArrayList<>();
+		nodes.add(trie.getRoot());
+
+		for (int i = 0; i < nodes.size(); i++)
+			for (Trie.Node child : nodes.get(i).children)
+				if (child != null)
+					nodes.add(child);
+
+		return new AhoCorasick(nodes, trie.getNormalization());
+	}
+
+	public int getStates()
+	{
+		return this.fail.length;
+	}
+
+	// Number of distinct words the automaton finds.
+	public int getPatterns()
+	{
+		return this.patterns;
+	}
+
+	// Length, in letters, of the longest word.
+	public int getMaxLength()
+	{
+		return this.maxDepth;
+	}
+
+	// The word a MatchListener was given as pattern.
+	public String word(int pattern)
+	{
+		char [] letters = new char[this.depth[pattern]];
+
+		for (int s = pattern, i = letters.length - 1; s != 0; s = this.parent[s], i--)
+			letters[i] = (char)('a' + this.letter[s]);
+
+		return new String(letters);
+	}
+
+	// =========================================================================
+	// Matching
+	// =========================================================================
+
+	// The state of one pass over (part of) a text.
+	private final class Scanner
+	{
+		private final MatchListener listener;
+		private final long [] recent; // Offsets of the last maxDepth letters, as a ring.
+		private int head;
+		private int state;
+
+		Scanner(MatchListener listener)
+		{
+			this.listener = listener;
+			this.recent = new long[Math.max(1, AhoCorasick.this.maxDepth)];
+		}
+
+		// Feeds the character at offset pos (with code code) to the automaton,
+		// reporting the matches that end there, unless pos < reportFrom.
+		private void step(int code, long pos, long reportFrom)
+		{
+			if (code == Trie.SKIP)
+				return;
+
+			if (code == Trie.REJECT)
+			{
+				this.state = 0;
+				return;
+			}
+
+			if (++this.head == this.recent.length)
+				this.head = 0;
+
+			this.recent[this.head] = pos;
+			this.state = AhoCorasick.this.next[this.state * NUM_ALPHA + code];
+
+			if (pos < reportFrom)
+				return;
+
+			for (int t = AhoCorasick.this.out[this.state]; t >= 0; t = AhoCorasick.this.out[AhoCorasick.this.fail[t]])
+			{
+				int first = this.head - AhoCorasick.this.depth[t] + 1;
+
+				if (first < 0)
+					first += this.recent.length;
+
+				this.listener.match(this.recent[first], pos + 1, t);
+			}
+		}
+
+		// text[from, to) sits at offset base of the whole input.
+		void scan(CharSequence text, int from, int to, long base, long reportFrom)
+		{
+			for (int i = from; i < to; i++)
+				step(code(text.charAt(i)), base + i, reportFrom);
+		}
+
+		void scan(ByteBuffer bytes, int from, int to, long reportFrom)
+		{
+			for (int i = from; i < to; i++)
+				step(code(bytes.get(i)), i, reportFrom);
+		}
+	}
+
+	public void match(CharSequence text, MatchListener listener)
+	{
+		new Scanner(listener).scan(text, 0, text.length(), 0, 0);
+	}
+
+	// Reads reader to the end. Offsets count chars from where it started.
+	public void match(Reader reader, MatchListener listener) throws IOException
+	{
+		Scanner scanner = new Scanner(listener);
+		char [] buffer = new char[1 << 13];
+		CharBuffer chars = CharBuffer.wrap(buffer);
+		long base = 0;
+
+		for (int read; (read = reader.read(buffer)) >= 0; base += read)
+			scanner.scan(chars, 0, read, base, 0);
+	}
+
+	// Scans bytes from its position to its limit, without moving either.
+	// Offsets are indexes into bytes.
+	public void match(ByteBuffer bytes, MatchListener listener)
+	{
+		new Scanner(listener).scan(bytes, bytes.position(), bytes.limit(), 0);
+	}
+
+	// =========================================================================
+	// Parallel matching
+	// =========================================================================
+
+	private static final int SEQUENTIAL_THRESHOLD = 1 << 16;
+
+	// Scans one chunk [from, to) of either text or bytes, splitting it in two
+	// first while it is big. Never serialized, like Treap's SetOperationTask.
+	@SuppressWarnings("serial")
+	private class ScanTask extends RecursiveAction
+	{
+		private final CharSequence text;
+		private final ByteBuffer bytes;
+		private final int from, to;
+		private final MatchListener listener;
+
+		ScanTask(CharSequence text, ByteBuffer bytes, int from, int to, MatchListener listener)
+		{
+			this.text = text;
+			this.bytes = bytes;
+			this.from = from;
+			this.to = to;
+			this.listener = listener;
+		}
+
+		protected void compute()
+		{
+			if (this.to - this.from > SEQUENTIAL_THRESHOLD)
+			{
+				int middle = (this.from + this.to) >>> 1;
+				invokeAll(new ScanTask(this.text, this.bytes, this.from, middle, this.listener),
+					new ScanTask(this.text, this.bytes, middle, this.to, this.listener));
+				return;
+			}
+
+			// Back up over enough letters for the longest word that ends at
+			// from; a letter no word contains is as far back as any could start.
+			int start = this.from;
+			int lower = (this.bytes == null) ? 0 : this.bytes.position();
+
+			for (int letters = 0; letters < AhoCorasick.this.maxDepth - 1 && start > lower; )
+			{
+				int code = (this.bytes == null) ? code(this.text.charAt(start - 1)) : code(this.bytes.get(start - 1));
+
+				if (code == Trie.REJECT)
+					break;
+
+				start--;
+
+				if (code != Trie.SKIP)
+					letters++;
+			}
+
+			Scanner scanner = new Scanner(this.listener);
+
+			if (this.bytes == null)
+				scanner.scan(this.text, start, this.to, 0, this.from);
+			else
+				scanner.scan(this.bytes, start, this.to, this.from);
+		}
+	}
+
+	// As match(), but scanning chunks of text on several threads at once.
+	// Matches come in no particular order, and listener must be thread-safe.
+	public void matchParallel(CharSequence text, MatchListener listener)
+	{
+		ForkJoinPool.commonPool().invoke(new ScanTask(text, null, 0, text.length(), listener));
+	}
+
+	public void matchParallel(ByteBuffer bytes, MatchListener listener)
+	{
+		ForkJoinPool.commonPool().invoke(new ScanTask(null, bytes, bytes.position(), bytes.limit(), listener));
+	}
+
+	public static void main(String [] args) throws IOException
+	{
+		Trie trie = new Trie();
+		for (String word : new String[] { "he", "she", "his", "hers", "quid-pro-quo" })
+			trie.insert(word);
+
+		AhoCorasick automaton = AhoCorasick.build(trie);
+		String text = "Ushers said his quid pro quo was hers; SHE held it.";
+
+		System.out.println(automaton.getStates() + " states, " + automaton.getPatterns() + " words");
+		System.out.println(text);
+		automaton.match(text, (start, end, pattern) ->
+			System.out.println("  [" + start + ", " + end + ") \"" + text.substring((int)start, (int)end) + "\" is " + automaton.word(pattern)));
+
+		long [] fromReader = new long[1];
+		automaton.match(new StringReader(text), (start, end, pattern) -> fromReader[0]++);
+		System.out.println("matches read from a Reader: " + fromReader[0]);
+
+		// The automaton reads text through the Trie's table, here one that
+		// folds accented e's into plain ones.
+		byte [] folding = Trie.defaultNormalization();
+		folding['\u00e9'] = folding['\u00e8'] = 'e' - 'a';
+		Trie cafes = new Trie(folding);
+		cafes.insert("cafe");
+		String menu = "Caf\u00e9 au lait, caf\u00e8 latte, cafe noir";
+		long [] folded = new long[1];
+		AhoCorasick.build(cafes).match(menu, (s, e, p) -> folded[0]++);
+		System.out.println(menu + ": " + folded[0] + " matches");
+		System.out.println();
+
+		// Many keywords in a long, random "log".
+		Random randy = new Random(42);
+		Trie keywords = new Trie();
+		for (int i = 0; i < 20_000; i++)
+		{
+			char [] letters = new char[4 + randy.nextInt(8)];
+			for (int j = 0; j < letters.length; j++)
+				letters[j] = (char)('a' + randy.nextInt(26));
+			keywords.insert(new String(letters));
+		}
+
+		long start = System.nanoTime();
+		AhoCorasick big = AhoCorasick.build(keywords);
+		System.out.printf("%d keywords: %d states, built in %d ms\n", big.getPatterns(), big.getStates(), (System.nanoTime() - start) / 1_000_000);
+
+		byte [] log = new byte[64 << 20];
+		for (int i = 0; i < log.length; i++)
+			log[i] = (byte)((randy.nextInt(8) == 0) ? ' ' : 'a' + randy.nextInt(26));
+
+		ByteBuffer buffer = ByteBuffer.wrap(log);
+		String head = new String(log, 0, 1 << 16, StandardCharsets.US_ASCII);
+
+		for (int round = 0; round < 3; round++)
+		{
+			// Trie.contains() on every substring that starts and ends with a
+			// letter: quadratic in the longest keyword, so only on 64 KB.
+			long naive = 0;
+			start = System.nanoTime();
+			for (int i = 0; i < head.length(); i++)
+				for (int j = i + 1; j <= Math.min(head.length(), i + 24); j++)
+					if (head.charAt(i) != ' ' && head.charAt(j - 1) != ' ' && keywords.contains(head.substring(i, j)))
+						naive++;
+			double naiveMBs = head.length() / 1e6 / ((System.nanoTime() - start) / 1e9);
+
+			long [] inHead = new long[1];
+			big.match(head, (s, e, p) -> inHead[0]++);
+
+			start = System.nanoTime();
+			long [] count = new long[1];
+			big.match(buffer, (s, e, p) -> count[0]++);
+			double sequentialMBs = log.length / 1e6 / ((System.nanoTime() - start) / 1e9);
+
+			LongAdder parallel = new LongAdder();
+			start = System.nanoTime();
+			big.matchParallel(buffer, (s, e, p) -> parallel.increment());
+			double parallelMBs = log.length / 1e6 / ((System.nanoTime() - start) / 1e9);
+
+			System.out.printf("64 KB: Trie.contains %.2f MB/s (%d matches, match finds %d) | 64 MB: match %.0f MB/s, matchParallel %.0f MB/s (%d and %d matches)\n",
+				naiveMBs, naive, inHead[0], sequentialMBs, parallelMBs, count[0], parallel.sum());
+		}
+	}
+}
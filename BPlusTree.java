@@ -0,0 +1,512 @@
+// JP Valdespino
+// October 2026
+
+// BPlusTree.java
+// ==============
+// An ordered set stored as a B+ tree. Each node holds up to nodeSize keys in
+// a sorted array and is searched with a binary search, so a lookup touches
+// about log_B(n) nodes instead of the log_2(n) Nodes an AVLTree chases, and
+// each key costs one array slot rather than a Node object with two pointers.
+//
+// Every key lives in a leaf. Internal nodes only hold separators: keys[i] is
+// no greater than anything under children[i + 1] and greater than everything
+// under children[i]. Leaves are chained left to right, so a range scan is a
+// walk along arrays rather than back up and down the tree.
+//
+// Separators aren't updated when the key they were copied from is removed;
+// they still split the key space correctly, which is all lookups need.
+
+// +-----------------------------------------------------+
+// | B+ Tree                                             |
+// |-----------------------------------------------------|
+// | Time Complexity: | Best Case | Worst Case | Average |
+// |------------------+-----------+------------+---------|
+// | Insertion:       | O(log n)  |  O(B log n)|O(log n) |
+// | Deletion:        | O(log n)  |  O(B log n)|O(log n) |
+// | Search:          | O(log n)  |  O(log n)  |O(log n) |
+// +-----------------------------------------------------+
+// *Where n is the number of elements in the Tree and B is the node size.
+//  Insertion and deletion shift up to B keys within a node, and the tree is
+//  log_B(n) nodes tall.
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+public class BPlusTree<AnyType extends Comparable<AnyType>> implements Iterable<AnyType>
+{
+	private static final int DEFAULT_NODE_SIZE = 64;
+
+	static class Node
+	{
+		// One slot more than nodeSize, so a node can overflow briefly before
+		// it's split.
+		final Object[] keys;
+		int count;
+
+		Node(int nodeSize)
+		{
+			this.keys = new Object[nodeSize + 1];
+		}
+	}
+
+	static final class Internal extends Node
+	{
+		final Node[] children;
+
+		Internal(int nodeSize)
+		{
+			super(nodeSize);
+			this.children = new Node[nodeSize + 2];
+		}
+	}
+
+	static final class Leaf extends Node
+	{
+		Leaf next;
+
+		Leaf(int nodeSize)
+		{
+			super(nodeSize);
+		}
+	}
+
+	private final int nodeSize; // Most keys a node may hold.
+	private final int minKeys; // Fewest keys any node but the root may hold.
+
+	private Node root;
+	private int size;
+	private int height;
+
+	// Set by add() when a child splits: the separator to insert in the parent.
+	private Object promoted;
+
+	public BPlusTree()
+	{
+		this(DEFAULT_NODE_SIZE);
+	}
+
+	public BPlusTree(int nodeSize)
+	{
+		if (nodeSize < 3)
+			throw new IllegalArgumentException("node size must be at least 3, got " + nodeSize);
+
+		this.nodeSize = nodeSize;
+		this.minKeys = nodeSize / 2;
+		this.root = new Leaf(nodeSize);
+		this.size = 0;
+		this.height = 0;
+	}
+
+	public int getSize()
+	{
+		return this.size;
+	}
+
+	// The number of levels below the root; a tree that is a single leaf has height 0.
+	public int getHeight()
+	{
+		return this.height;
+	}
+
+	// Same convention as Arrays.binarySearch: the index of data, or
+	// -(insertion point) - 1.
+	private static int search(Node node, Object data)
+	{
+		return Arrays.binarySearch(node.keys, 0, node.count, data);
+	}
+
+	// Which child of an internal node data belongs under.
+	private static int childIndex(Internal node, Object data)
+	{
+		int i = search(node, data);
+		return (i >= 0) ? i + 1 : -i - 1;
+	}
+
+	private static void insertAt(Object[] array, int length, int index, Object value)
+	{
+		System.arraycopy(array, index, array, index + 1, length - index);
+		array[index] = value;
+	}
+
+	// Removes array[index], clearing the slot freed at the end.
+	private static void removeAt(Object[] array, int length, int index)
+	{
+		System.arraycopy(array, index + 1, array, index, length - index - 1);
+		array[length - 1] = null;
+	}
+
+	public boolean contains(AnyType data)
+	{
+		Node node = this.root;
+
+		for (int level = this.height; level > 0; level--)
+		{
+			Internal internal = (Internal)node;
+			node = internal.children[childIndex(internal, data)];
+		}
+
+		return search(node, data) >= 0;
+	}
+
+	// Returns true if the tree changed (i.e. data was not already in the tree).
+	public boolean add(AnyType data)
+	{
+		int oldSize = this.size;
+		Node sibling = add(this.root, data, this.height);
+
+		if (sibling != null)
+		{
+			// The root split, so the tree grows a level.
+			Internal newRoot = new Internal(this.nodeSize);
+			newRoot.keys[0] = this.promoted;
+			newRoot.children[0] = this.root;
+			newRoot.children[1] = sibling;
+			newRoot.count = 1;
+
+			this.root = newRoot;
+			this.height++;
+			this.promoted = null;
+		}
+
+		return this.size != oldSize;
+	}
+
+	// Inserts data under node. If node has to split, returns the new right half
+	// and leaves its separator in promoted; otherwise returns null.
+	private Node add(Node node, AnyType data, int level)
+	{
+		if (level == 0)
+		{
+			int i = search(node, data);
+
+			if (i >= 0)
+				return null; // Disallows the insertion of duplicate values.
+
+			insertAt(node.keys, node.count++, -i - 1, data);
+			this.size++;
+
+			return (node.count > this.nodeSize) ? splitLeaf((Leaf)node) : null;
+		}
+
+		Internal internal = (Internal)node;
+		int i = childIndex(internal, data);
+		Node sibling = add(internal.children[i], data, level - 1);
+
+		if (sibling == null)
+			return null;
+
+		insertAt(internal.keys, internal.count, i, this.promoted);
+		insertAt(internal.children, internal.count + 1, i + 1, sibling);
+		internal.count++;
+
+		return (internal.count > this.nodeSize) ? splitInternal(internal) : null;
+	}
+
+	private Leaf splitLeaf(Leaf leaf)
+	{
+		Leaf right = new Leaf(this.nodeSize);
+		int keep = leaf.count / 2;
+
+		right.count = leaf.count - keep;
+		System.arraycopy(leaf.keys, keep, right.keys, 0, right.count);
+		Arrays.fill(leaf.keys, keep, leaf.count, null);
+		leaf.count = keep;
+
+		right.next = leaf.next;
+		leaf.next = right;
+
+		this.promoted = right.keys[0];
+		return right;
+	}
+
+	// The middle key moves up to the parent instead of into either half.
+	private Internal splitInternal(Internal node)
+	{
+		Internal right = new Internal(this.nodeSize);
+		int mid = node.count / 2;
+
+		this.promoted = node.keys[mid];
+
+		right.count = node.count - mid - 1;
+		System.arraycopy(node.keys, mid + 1, right.keys, 0, right.count);
+		System.arraycopy(node.children, mid + 1, right.children, 0, right.count + 1);
+
+		Arrays.fill(node.keys, mid, node.count, null);
+		Arrays.fill(node.children, mid + 1, node.count + 1, null);
+		node.count = mid;
+
+		return right;
+	}
+
+	// Returns true if the tree changed (i.e. data was found and removed).
+	public boolean remove(AnyType data)
+	{
+		if (!remove(this.root, data, this.height))
+			return false;
+
+		// The root may be left with a single child; that child becomes the root.
+		if (this.height > 0 && this.root.count == 0)
+		{
+			this.root = ((Internal)this.root).children[0];
+			this.height--;
+		}
+
+		return true;
+	}
+
+	private boolean remove(Node node, AnyType data, int level)
+	{
+		if (level == 0)
+		{
+			int i = search(node, data);
+
+			if (i < 0)
+				return false;
+
+			removeAt(node.keys, node.count--, i);
+			this.size--;
+
+			return true;
+		}
+
+		Internal internal = (Internal)node;
+		int i = childIndex(internal, data);
+
+		if (!remove(internal.children[i], data, level - 1))
+			return false;
+
+		if (internal.children[i].count < this.minKeys)
+			fixUnderflow(internal, i, level - 1);
+
+		return true;
+	}
+
+	// children[i] of parent has one key too few. Borrow a key from a sibling
+	// that can spare one, or else merge with a sibling.
+	private void fixUnderflow(Internal parent, int i, int childLevel)
+	{
+		Node child = parent.children[i];
+		Node left = (i > 0) ? parent.children[i - 1] : null;
+		Node right = (i < parent.count) ? parent.children[i + 1] : null;
+
+		if (left != null && left.count > this.minKeys)
+		{
+			if (childLevel == 0)
+			{
+				insertAt(child.keys, child.count, 0, left.keys[left.count - 1]);
+				left.keys[left.count - 1] = null;
+				parent.keys[i - 1] = child.keys[0];
+			}
+			else
+			{
+				// Rotate through the parent: its separator comes down, and
+				// left's last key goes up.
+				Internal from = (Internal)left, to = (Internal)child;
+
+				insertAt(to.keys, to.count, 0, parent.keys[i - 1]);
+				insertAt(to.children, to.count + 1, 0, from.children[from.count]);
+				parent.keys[i - 1] = from.keys[from.count - 1];
+
+				from.keys[from.count - 1] = null;
+				from.children[from.count] = null;
+			}
+
+			left.count--;
+			child.count++;
+		}
+		else if (right != null && right.count > this.minKeys)
+		{
+			if (childLevel == 0)
+			{
+				child.keys[child.count] = right.keys[0];
+				removeAt(right.keys, right.count, 0);
+				parent.keys[i] = right.keys[0];
+			}
+			else
+			{
+				Internal from = (Internal)right, to = (Internal)child;
+
+				to.keys[to.count] = parent.keys[i];
+				to.children[to.count + 1] = from.children[0];
+				parent.keys[i] = from.keys[0];
+
+				removeAt(from.keys, from.count, 0);
+				removeAt(from.children, from.count + 1, 0);
+			}
+
+			right.count--;
+			child.count++;
+		}
+		else if (left != null)
+		{
+			mergeChildren(parent, i - 1, childLevel);
+		}
+		else
+		{
+			mergeChildren(parent, i, childLevel);
+		}
+	}
+
+	// Folds children[i + 1] of parent into children[i], and drops the
+	// separator between them.
+	private void mergeChildren(Internal parent, int i, int childLevel)
+	{
+		Node left = parent.children[i];
+		Node right = parent.children[i + 1];
+
+		if (childLevel == 0)
+		{
+			System.arraycopy(right.keys, 0, left.keys, left.count, right.count);
+			left.count += right.count;
+			((Leaf)left).next = ((Leaf)right).next;
+		}
+		else
+		{
+			Internal to = (Internal)left, from = (Internal)right;
+
+			to.keys[to.count] = parent.keys[i];
+			System.arraycopy(from.keys, 0, to.keys, to.count + 1, from.count);
+			System.arraycopy(from.children, 0, to.children, to.count + 1, from.count + 1);
+			to.count += from.count + 1;
+		}
+
+		removeAt(parent.keys, parent.count, i);
+		removeAt(parent.children, parent.count + 1, i + 1);
+		parent.count--;
+	}
+
+	// The leaf data would live in, and the index in it of the first key >= data.
+	private Leaf leafFor(AnyType data, int[] index)
+	{
+		Node node = this.root;
+
+		for (int level = this.height; level > 0; level--)
+		{
+			Internal internal = (Internal)node;
+			node = internal.children[childIndex(internal, data)];
+		}
+
+		int i = search(node, data);
+		index[0] = (i >= 0) ? i : -i - 1;
+		return (Leaf)node;
+	}
+
+	private Leaf firstLeaf()
+	{
+		Node node = this.root;
+
+		for (int level = this.height; level > 0; level--)
+			node = ((Internal)node).children[0];
+
+		return (Leaf)node;
+	}
+
+	public Iterator<AnyType> iterator()
+	{
+		return new Cursor(firstLeaf(), 0, null);
+	}
+
+	// Iterates over every element >= lo, in order.
+	public Iterator<AnyType> from(AnyType lo)
+	{
+		int[] index = new int[1];
+		Leaf leaf = leafFor(lo, index);
+		return new Cursor(leaf, index[0], null);
+	}
+
+	// Iterates over every element x such that lo <= x <= hi, in order.
+	public Iterator<AnyType> range(AnyType lo, AnyType hi)
+	{
+		int[] index = new int[1];
+		Leaf leaf = leafFor(lo, index);
+		return new Cursor(leaf, index[0], hi);
+	}
+
+	// Walks the leaf chain from leaf.keys[index] until it passes hi (null
+	// meaning unbounded). The tree must not be modified while it runs.
+	private class Cursor implements Iterator<AnyType>
+	{
+		private Leaf leaf;
+		private int index;
+		private final AnyType hi;
+
+		Cursor(Leaf leaf, int index, AnyType hi)
+		{
+			this.leaf = leaf;
+			this.index = index;
+			this.hi = hi;
+			skipExhaustedLeaves();
+		}
+
+		private void skipExhaustedLeaves()
+		{
+			while (this.leaf != null && this.index >= this.leaf.count)
+			{
+				this.leaf = this.leaf.next;
+				this.index = 0;
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		public boolean hasNext()
+		{
+			return this.leaf != null && (this.hi == null || ((AnyType)this.leaf.keys[this.index]).compareTo(this.hi) <= 0);
+		}
+
+		@SuppressWarnings("unchecked")
+		public AnyType next()
+		{
+			if (!hasNext())
+				throw new NoSuchElementException();
+
+			AnyType data = (AnyType)this.leaf.keys[this.index++];
+			skipExhaustedLeaves();
+			return data;
+		}
+	}
+
+	public void inorder()
+	{
+		System.out.print("In-order Traversal:");
+		for (AnyType data : this)
+			System.out.print(" " + data);
+		System.out.println();
+	}
+
+	public static void main(String[] args)
+	{
+		// A tiny node size, so that even ten keys need a few levels.
+		BPlusTree<Integer> t = new BPlusTree<>(3);
+
+		System.out.println("size: " + t.getSize());
+
+		for (int i = 0; i < 10; i++)
+			t.add(i);
+
+		System.out.println("size: " + t.getSize());
+		System.out.println("height: " + t.getHeight());
+		t.inorder();
+
+		t.remove(1);
+		t.remove(2);
+
+		System.out.println("size: " + t.getSize());
+		System.out.println("height: " + t.getHeight());
+		t.inorder();
+
+		System.out.println("contains 9: " + t.contains(9));
+		System.out.println("contains 0: " + t.contains(0));
+		System.out.println("contains 1: " + t.contains(1));
+
+		System.out.print("Values in [4, 8]:");
+		for (Iterator<Integer> it = t.range(4, 8); it.hasNext(); )
+			System.out.print(" " + it.next());
+		System.out.println();
+
+		BPlusTree<Integer> big = new BPlusTree<>();
+		for (int i = 0; i < 1_000_000; i++)
+			big.add(i);
+		System.out.println("1M keys, node size 64, height: " + big.getHeight());
+	}
+}
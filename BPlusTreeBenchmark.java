@@ -0,0 +1,86 @@
+// JP Valdespino
+// October 2026
+
+// BPlusTreeBenchmark.java
+// =======================
+// Compares AVLTree with BPlusTree at a few node sizes: heap used per key
+// (not counting the boxed keys themselves, which both share) and the time
+// per contains(), half hits and half (almost surely) misses.
+// Pass a key count as the first argument to try bigger trees, e.g.
+//   java -Xmx8g BPlusTreeBenchmark 10000000
+
+import java.util.Random;
+import java.util.function.Predicate;
+
+public class BPlusTreeBenchmark
+{
+	private static long usedHeap()
+	{
+		Runtime runtime = Runtime.getRuntime();
+
+		for (int i = 0; i < 3; i++)
+			System.gc();
+
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	public static void main(String[] args)
+	{
+		int n = (args.length > 0) ? Integer.parseInt(args[0]) : 1 << 22;
+		int probes = 1 << 22;
+		Random randy = new Random(7);
+
+		Integer[] keys = new Integer[n];
+		for (int i = 0; i < n; i++)
+			keys[i] = randy.nextInt();
+
+		Integer[] queries = new Integer[probes];
+		for (int i = 0; i < probes; i += 2)
+		{
+			queries[i] = keys[randy.nextInt(n)];
+			queries[i + 1] = randy.nextInt();
+		}
+
+		System.out.println(n + " keys, " + probes + " lookups:");
+
+		long before = usedHeap();
+		AVLTree<Integer> avl = new AVLTree<>();
+		for (Integer k : keys)
+			avl.add(k);
+		long avlBytes = usedHeap() - before;
+
+		int expected = time("AVLTree", avlBytes, n, queries, avl::contains, -1);
+		avl = null;
+
+		for (int nodeSize : new int[] { 16, 64, 256 })
+		{
+			before = usedHeap();
+			BPlusTree<Integer> tree = new BPlusTree<>(nodeSize);
+			for (Integer k : keys)
+				tree.add(k);
+			long bytes = usedHeap() - before;
+
+			time("BPlusTree(" + nodeSize + ")", bytes, n, queries, tree::contains, expected);
+		}
+	}
+
+	private static int time(String name, long bytes, int n, Integer[] queries, Predicate<Integer> contains, int expected)
+	{
+		double best = Double.MAX_VALUE;
+		int hits = 0;
+
+		for (int round = 0; round < 3; round++)
+		{
+			hits = 0;
+			long start = System.nanoTime();
+			for (Integer q : queries)
+				if (contains.test(q)) hits++;
+			best = Math.min(best, (double)(System.nanoTime() - start) / queries.length);
+		}
+
+		System.out.printf("%-16s %5.1f bytes/key | %6.1f ns/lookup%s\n", name, (double)bytes / n, best,
+			(expected < 0 || hits == expected) ? "" : "  (MISMATCH)");
+
+		return hits;
+	}
+}
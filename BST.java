@@ -17,81 +17,187 @@
 // *Where h is the height of the Tree, theoretically O(log n).
 // *Where n is the number of elements in the Tree.
 
-class Node<AnyType extends Comparable<AnyType>>
-{
-	AnyType data;
-	Node<AnyType> left, right;
+import java.util.Comparator;
+import java.util.Iterator;
 
-	Node(AnyType data)
+public class BST<AnyType extends Comparable<AnyType>> extends AbstractNavigableSet<AnyType>
+{
+	static final class Node<AnyType extends Comparable<AnyType>> implements TreeNode<AnyType>
 	{
-		this.data = data;
+		AnyType data;
+		Node<AnyType> left, right;
+
+		Node(AnyType data)
+		{
+			this.data = data;
+		}
+
+		public AnyType data()
+		{
+			return this.data;
+		}
+
+		public Node<AnyType> left()
+		{
+			return this.left;
+		}
+
+		public Node<AnyType> right()
+		{
+			return this.right;
+		}
 	}
-}
 
-public class BST<AnyType extends Comparable<AnyType>>
-{
 	private Node<AnyType> root;
 	private int size;
 
+	private TreeStats stats; // Null unless instrumentation was asked for.
+
 	public BST()
 	{
+		this(null);
+	}
+
+	// Orders the elements with comparator instead of their compareTo().
+	public BST(Comparator<? super AnyType> comparator)
+	{
+		super(comparator);
 		this.root = null;
 		this.size = 0;
 	}
 
+	// Starts (or, given null, stops) reporting this tree's activity to stats.
+	public void setStats(TreeStats stats)
+	{
+		this.stats = stats;
+	}
+
+	public TreeStats getStats()
+	{
+		return this.stats;
+	}
+
 	public void insert(AnyType data)
 	{
-		root = insert(root, data);
-		this.size++;
+		add(data);
 	}
 
-	private Node<AnyType> insert(Node<AnyType> root, AnyType data)
+	// Returns true if the tree changed (i.e. data was not already in the tree).
+	public boolean add(AnyType data)
 	{
-		if (root == null) return new Node<>(data);
+		TreeStats stats = this.stats;
+		long start = (stats == null) ? 0 : System.nanoTime();
 
-		int comparisonValue = data.compareTo(root.data);
+		Node<AnyType> parent = null, node = this.root;
+		int comparisons = 0, depth = 0, comparisonValue = 0;
 
-		if (comparisonValue < 0)
-			root.left = insert(root.left, data);
-		else if (comparisonValue > 0)
-			root.right = insert(root.right, data);
+		while (node != null)
+		{
+			comparisons++;
+			comparisonValue = compare(data, node.data);
+
+			if (comparisonValue == 0)
+			{
+				if (stats != null)
+					stats.operation("BST", "add", start, comparisons, depth);
 
-		return root;
+				return false;
+			}
+
+			parent = node;
+			node = (comparisonValue < 0) ? node.left : node.right;
+			depth++;
+		}
+
+		if (parent == null)
+			this.root = new Node<>(data);
+		else if (comparisonValue < 0)
+			parent.left = new Node<>(data);
+		else
+			parent.right = new Node<>(data);
+
+		this.size++;
+
+		if (stats != null)
+		{
+			stats.allocation();
+			stats.operation("BST", "add", start, comparisons, depth);
+		}
+
+		return true;
 	}
 
 	public void delete(AnyType data)
 	{
-		root = delete(root, data);
+		remove(data);
 	}
 
-	private Node<AnyType> delete(Node<AnyType> root, AnyType data)
+	// Returns true if the tree changed (i.e. data was found and removed).
+	@SuppressWarnings("unchecked")
+	public boolean remove(Object o)
 	{
-		if (root == null) return null;
+		AnyType data = (AnyType)o;
+		TreeStats stats = this.stats;
+		long start = (stats == null) ? 0 : System.nanoTime();
 
-		int comparisonValue = data.compareTo(root.data);
+		Node<AnyType> parent = null, node = this.root;
+		int comparisons = 0, depth = 0;
 
-		if (comparisonValue < 0)
-			root.left = delete(root.left, data);
-		else if (comparisonValue > 0)
-			root.right = delete(root.right, data);
-		else
+		while (node != null)
 		{
-			if (root.left == null && root.right == null)
-				return null;
-			else if (root.left == null)
-				return root.right;
-			else if (root.right == null)
-				return root.left;
-			else
+			comparisons++;
+			int comparisonValue = compare(data, node.data);
+
+			if (comparisonValue == 0)
+				break;
+
+			parent = node;
+			node = (comparisonValue < 0) ? node.left : node.right;
+			depth++;
+		}
+
+		if (node == null)
+		{
+			if (stats != null)
+				stats.operation("BST", "remove", start, comparisons, depth);
+
+			return false;
+		}
+
+		if (node.left != null && node.right != null)
+		{
+			// Move max data from the left subtree up here, and remove that node
+			// instead. It has no right child, so it is easy to unlink.
+			Node<AnyType> target = node;
+
+			parent = node;
+			node = node.left;
+
+			while (node.right != null)
 			{
-				root.data = findMax(root.left);
-				root.left = delete(root.left, root.data);
+				parent = node;
+				node = node.right;
 			}
 
-			this.size--;
+			target.data = node.data;
 		}
 
-		return root;
+		// At most one child is left, so it moves up to take the node's place.
+		Node<AnyType> child = (node.left != null) ? node.left : node.right;
+
+		if (parent == null)
+			this.root = child;
+		else if (parent.left == node)
+			parent.left = child;
+		else
+			parent.right = child;
+
+		this.size--;
+
+		if (stats != null)
+			stats.operation("BST", "remove", start, comparisons, depth);
+
+		return true;
 	}
 
 	private AnyType findMax(Node<AnyType> root)
@@ -102,23 +208,125 @@ public class BST<AnyType extends Comparable<AnyType>>
 		return root.data;
 	}
 
-	public boolean contains(AnyType data)
+	@SuppressWarnings("unchecked")
+	public boolean contains(Object o)
 	{
-		return contains(root, data);
+		AnyType data = (AnyType)o;
+		TreeStats stats = this.stats;
+		long start = (stats == null) ? 0 : System.nanoTime();
+
+		Node<AnyType> node = root;
+		int comparisons = 0, depth = 0;
+
+		while (node != null)
+		{
+			comparisons++;
+			int comparisonValue = compare(data, node.data);
+
+			if (comparisonValue == 0)
+				break;
+
+			node = (comparisonValue < 0) ? node.left : node.right;
+			depth++;
+		}
+
+		if (stats != null)
+			stats.operation("BST", "contains", start, comparisons, depth);
+
+		return node != null;
 	}
 
-	private boolean contains(Node<AnyType> root, AnyType data)
+	public int size()
 	{
-		if (root == null) return false;
+		return this.size;
+	}
 
-		int comparisonValue = data.compareTo(root.data);
+	public void clear()
+	{
+		this.root = null;
+		this.size = 0;
+	}
 
-		if (comparisonValue < 0)
-			return contains(root.left, data);
-		else if (comparisonValue > 0)
-			return contains(root.right, data);
-		else
-			return true;
+	AnyType below(AnyType data, boolean inclusive)
+	{
+		Node<AnyType> node = root;
+		AnyType best = null;
+
+		while (node != null)
+		{
+			int comparisonValue = compare(data, node.data);
+
+			if (comparisonValue == 0 && inclusive)
+				return node.data;
+
+			if (comparisonValue > 0)
+			{
+				best = node.data; // Below data; anything closer is to the right.
+				node = node.right;
+			}
+			else
+			{
+				node = node.left;
+			}
+		}
+
+		return best;
+	}
+
+	AnyType above(AnyType data, boolean inclusive)
+	{
+		Node<AnyType> node = root;
+		AnyType best = null;
+
+		while (node != null)
+		{
+			int comparisonValue = compare(data, node.data);
+
+			if (comparisonValue == 0 && inclusive)
+				return node.data;
+
+			if (comparisonValue < 0)
+			{
+				best = node.data;
+				node = node.left;
+			}
+			else
+			{
+				node = node.right;
+			}
+		}
+
+		return best;
+	}
+
+	AnyType smallest()
+	{
+		Node<AnyType> node = root;
+
+		if (node == null)
+			return null;
+
+		while (node.left != null)
+			node = node.left;
+
+		return node.data;
+	}
+
+	AnyType largest()
+	{
+		return (root == null) ? null : findMax(root);
+	}
+
+	Node<AnyType> root()
+	{
+		return this.root;
+	}
+
+	// Returns an immutable, array-packed copy of the tree for fast read-only
+	// lookups. Later changes to the tree are not reflected in it.
+	public EytzingerSet<AnyType> freeze()
+	{
+		return new EytzingerSet<>(this, this.comparator);
 	}
 
 	public void inorder()
@@ -190,5 +398,25 @@ public class BST<AnyType extends Comparable<AnyType>>
 		myTree.preorder();
 		myTree.postorder();
 
+		// Range scans and streams walk the tree lazily instead of printing it.
+		System.out.print("Values in [25, 75]:");
+		for (Iterator<Integer> it = myTree.range(25, 75); it.hasNext(); )
+			System.out.print(" " + it.next());
+		System.out.println();
+
+		System.out.println("Sum (parallel stream): " + myTree.stream().parallel().mapToInt(Integer::intValue).sum());
+
+		// The same questions a TreeSet answers.
+		System.out.println("Size: " + myTree.size() + ", floor(50): " + myTree.floor(50) + ", higher(50): " + myTree.higher(50));
+		System.out.println("Above 50, largest first: " + myTree.tailSet(50, false).descendingSet());
+
+		// Sorted insertions turn a BST into a list; the stats make that visible.
+		BST<Integer> degenerate = new BST<>();
+		degenerate.setStats(new TreeStats(1, Long.MAX_VALUE));
+		for (int i = 0; i < 1000; i++)
+			degenerate.insert(i);
+		for (int i = 0; i < 1000; i++)
+			degenerate.contains(i);
+		System.out.println("Stats after sorted inserts: " + degenerate.getStats().snapshot());
 	}
 }
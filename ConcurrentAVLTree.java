@@ -0,0 +1,930 @@
+// JP Valdespino
+// October 2026
+
+// ConcurrentAVLTree.java
+// ======================
+// A thread-safe AVL tree, following Bronson et al.'s "A Practical Concurrent
+// Binary Search Tree" (optimistic hand-over-hand validation).
+//
+// - Readers never lock. Every node carries a version number that writers bump
+//   when the node is rotated down (its subtree "shrinks") or unlinked. A reader
+//   reads a child link, then re-checks the parent's version; if it changed, it
+//   backs up one level and tries again.
+// - Writers lock only the nodes whose links they change (the parent for an
+//   insert, parent + node for an unlink, and up to four nodes for a rotation),
+//   always from the top down, so they cannot deadlock.
+// - Removing a node with two children just marks it as a routing node. Routing
+//   nodes are unlinked later, once they have at most one child.
+// - Balance is relaxed while operations are in flight, and is fully restored
+//   once the tree is quiescent.
+
+// +-----------------------------------------------------+
+// | Concurrent AVL Tree                                 |
+// |-----------------------------------------------------|
+// | Time Complexity: | Best Case | Worst Case | Average |
+// |------------------+-----------+------------+---------|
+// | Insertion:       |   O(1)    |  O(log n)* | O(log n)|
+// | Deletion:        |   O(1)    |  O(log n)* | O(log n)|
+// | Search:          |   O(1)    |  O(log n)* | O(log n)|
+// +-----------------------------------------------------+
+// *Without contention. A failed validation costs a retry from one level up.
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+public class ConcurrentAVLTree<AnyType extends Comparable<AnyType>>
+{
+	// Version bits. The rest of the version is a counter bumped after each shrink.
+	private static final long UNLINKED = 0x1L;
+	private static final long SHRINKING = 0x2L;
+	private static final long VERSION_INCR = 0x4L;
+
+	// Results of the attempt* methods.
+	private static final int RETRY = 0;
+	private static final int FOUND = 1; // Also "changed" for add/remove.
+	private static final int NOT_FOUND = 2; // Also "unchanged" for add/remove.
+
+	// Results of nodeCondition(). Anything else is the node's correct height.
+	private static final int UNLINK_REQUIRED = -1;
+	private static final int REBALANCE_REQUIRED = -2;
+	private static final int NOTHING_REQUIRED = -3;
+
+	private static final int SPIN_COUNT = 100;
+
+	static final class Node<AnyType>
+	{
+		final AnyType data;
+		volatile boolean present; // False for routing nodes left behind by remove().
+		volatile int height;
+		volatile long version;
+		volatile Node<AnyType> parent, left, right;
+
+		Node(AnyType data, Node<AnyType> parent)
+		{
+			this.data = data;
+			this.present = true;
+			this.height = 0;
+			this.version = 0;
+			this.parent = parent;
+		}
+
+		Node<AnyType> child(int dir)
+		{
+			return (dir < 0) ? this.left : this.right;
+		}
+	}
+
+	// Sentinel whose right child is the real root. It never moves, so readers
+	// don't have to validate it.
+	private final Node<AnyType> rootHolder = new Node<>(null, null);
+	private final LongAdder size = new LongAdder();
+
+	public ConcurrentAVLTree()
+	{
+	}
+
+	public int getSize()
+	{
+		return (int)this.size.sum();
+	}
+
+	public int getHeight()
+	{
+		return height(this.rootHolder.right);
+	}
+
+	private static int height(Node<?> node)
+	{
+		return (node == null) ? -1 : node.height;
+	}
+
+	private static boolean isChanging(long version)
+	{
+		return (version & (SHRINKING | UNLINKED)) != 0;
+	}
+
+	private static boolean isUnlinked(long version)
+	{
+		return (version & UNLINKED) != 0;
+	}
+
+	// Spins (and then yields) until the node is no longer being rotated. Readers
+	// never block on a lock, even here.
+	private static void waitUntilNotShrinking(Node<?> node)
+	{
+		for (int i = 0; (node.version & SHRINKING) != 0; i++)
+		{
+			if (i < SPIN_COUNT)
+				Thread.onSpinWait();
+			else
+				Thread.yield();
+		}
+	}
+
+	// =========================================================================
+	// Search
+	// =========================================================================
+
+	public boolean contains(AnyType data)
+	{
+		while (true)
+		{
+			Node<AnyType> right = this.rootHolder.right;
+
+			if (right == null)
+				return false;
+
+			int comparisonValue = data.compareTo(right.data);
+
+			if (comparisonValue == 0)
+				return right.present;
+
+			long version = right.version;
+
+			if (isChanging(version))
+			{
+				waitUntilNotShrinking(right);
+			}
+			else if (right == this.rootHolder.right)
+			{
+				int result = attemptGet(data, right, comparisonValue, version);
+
+				if (result != RETRY)
+					return result == FOUND;
+			}
+		}
+	}
+
+	// Searches below node, which was validated at the given version. Returns
+	// RETRY if node changed underneath us, so the caller re-reads its child.
+	private int attemptGet(AnyType data, Node<AnyType> node, int dir, long nodeVersion)
+	{
+		while (true)
+		{
+			Node<AnyType> child = node.child(dir);
+
+			if (node.version != nodeVersion)
+				return RETRY;
+
+			if (child == null)
+				return NOT_FOUND;
+
+			int comparisonValue = data.compareTo(child.data);
+
+			if (comparisonValue == 0)
+				return child.present ? FOUND : NOT_FOUND;
+
+			long childVersion = child.version;
+
+			if (isChanging(childVersion))
+			{
+				waitUntilNotShrinking(child);
+			}
+			else if (child == node.child(dir))
+			{
+				// Hand-over-hand: node must still be valid now that we hold child.
+				if (node.version != nodeVersion)
+					return RETRY;
+
+				int result = attemptGet(data, child, comparisonValue, childVersion);
+
+				if (result != RETRY)
+					return result;
+			}
+		}
+	}
+
+	// =========================================================================
+	// Insertion
+	// =========================================================================
+
+	// Returns true if the tree changed (i.e. data was not already in the tree).
+	public boolean add(AnyType data)
+	{
+		while (true)
+		{
+			Node<AnyType> right = this.rootHolder.right;
+
+			if (right == null)
+			{
+				synchronized (this.rootHolder)
+				{
+					if (this.rootHolder.right == null)
+					{
+						this.rootHolder.right = new Node<>(data, this.rootHolder);
+						this.size.increment();
+						return true;
+					}
+				}
+
+				continue;
+			}
+
+			int comparisonValue = data.compareTo(right.data);
+			int result;
+
+			if (comparisonValue == 0)
+			{
+				result = attemptSetPresent(right);
+			}
+			else
+			{
+				long version = right.version;
+
+				if (isChanging(version))
+				{
+					waitUntilNotShrinking(right);
+					continue;
+				}
+
+				if (right != this.rootHolder.right)
+					continue;
+
+				result = attemptInsert(data, right, comparisonValue, version);
+			}
+
+			if (result != RETRY)
+				return result == FOUND;
+		}
+	}
+
+	private int attemptInsert(AnyType data, Node<AnyType> node, int dir, long nodeVersion)
+	{
+		while (true)
+		{
+			Node<AnyType> child = node.child(dir);
+
+			if (node.version != nodeVersion)
+				return RETRY;
+
+			if (child == null)
+			{
+				boolean linked = false;
+
+				synchronized (node)
+				{
+					if (node.version != nodeVersion)
+						return RETRY;
+
+					// Someone else may have linked a node here since we looked.
+					if (node.child(dir) == null)
+					{
+						if (dir < 0)
+							node.left = new Node<>(data, node);
+						else
+							node.right = new Node<>(data, node);
+
+						this.size.increment();
+						linked = true;
+					}
+				}
+
+				if (linked)
+				{
+					fixHeightAndRebalance(node);
+					return FOUND;
+				}
+
+				continue;
+			}
+
+			int comparisonValue = data.compareTo(child.data);
+
+			if (comparisonValue == 0)
+			{
+				int result = attemptSetPresent(child);
+
+				if (result != RETRY)
+					return result;
+
+				continue;
+			}
+
+			long childVersion = child.version;
+
+			if (isChanging(childVersion))
+			{
+				waitUntilNotShrinking(child);
+			}
+			else if (child == node.child(dir))
+			{
+				if (node.version != nodeVersion)
+					return RETRY;
+
+				int result = attemptInsert(data, child, comparisonValue, childVersion);
+
+				if (result != RETRY)
+					return result;
+			}
+		}
+	}
+
+	// Turns a routing node back into a real one.
+	private int attemptSetPresent(Node<AnyType> node)
+	{
+		synchronized (node)
+		{
+			if (isUnlinked(node.version))
+				return RETRY;
+
+			if (node.present)
+				return NOT_FOUND;
+
+			node.present = true;
+			this.size.increment();
+			return FOUND;
+		}
+	}
+
+	// =========================================================================
+	// Deletion
+	// =========================================================================
+
+	// Returns true if the tree changed (i.e. data was found and removed).
+	public boolean remove(AnyType data)
+	{
+		while (true)
+		{
+			Node<AnyType> right = this.rootHolder.right;
+
+			if (right == null)
+				return false;
+
+			int comparisonValue = data.compareTo(right.data);
+			int result;
+
+			if (comparisonValue == 0)
+			{
+				result = attemptRemoveNode(this.rootHolder, right);
+			}
+			else
+			{
+				long version = right.version;
+
+				if (isChanging(version))
+				{
+					waitUntilNotShrinking(right);
+					continue;
+				}
+
+				if (right != this.rootHolder.right)
+					continue;
+
+				result = attemptRemove(data, right, comparisonValue, version);
+			}
+
+			if (result != RETRY)
+				return result == FOUND;
+		}
+	}
+
+	private int attemptRemove(AnyType data, Node<AnyType> node, int dir, long nodeVersion)
+	{
+		while (true)
+		{
+			Node<AnyType> child = node.child(dir);
+
+			if (node.version != nodeVersion)
+				return RETRY;
+
+			if (child == null)
+				return NOT_FOUND;
+
+			int comparisonValue = data.compareTo(child.data);
+
+			if (comparisonValue == 0)
+			{
+				int result = attemptRemoveNode(node, child);
+
+				if (result != RETRY)
+					return result;
+
+				continue;
+			}
+
+			long childVersion = child.version;
+
+			if (isChanging(childVersion))
+			{
+				waitUntilNotShrinking(child);
+			}
+			else if (child == node.child(dir))
+			{
+				if (node.version != nodeVersion)
+					return RETRY;
+
+				int result = attemptRemove(data, child, comparisonValue, childVersion);
+
+				if (result != RETRY)
+					return result;
+			}
+		}
+	}
+
+	private int attemptRemoveNode(Node<AnyType> parent, Node<AnyType> node)
+	{
+		if (!node.present)
+			return NOT_FOUND;
+
+		if (node.left == null || node.right == null)
+		{
+			// Unlinking changes parent's child link, so lock parent first.
+			synchronized (parent)
+			{
+				if (isUnlinked(parent.version) || node.parent != parent)
+					return RETRY;
+
+				synchronized (node)
+				{
+					if (isUnlinked(node.version))
+						return RETRY;
+
+					if (!node.present)
+						return NOT_FOUND;
+
+					node.present = false;
+					this.size.decrement();
+
+					// If node gained a second child meanwhile, it just stays
+					// behind as a routing node.
+					attemptUnlink_nl(parent, node);
+				}
+			}
+
+			fixHeightAndRebalance(parent);
+			return FOUND;
+		}
+
+		synchronized (node)
+		{
+			if (isUnlinked(node.version))
+				return RETRY;
+
+			if (!node.present)
+				return NOT_FOUND;
+
+			node.present = false;
+			this.size.decrement();
+		}
+
+		// node may have lost a child in the meantime, in which case it can go.
+		fixHeightAndRebalance(node);
+		return FOUND;
+	}
+
+	// Caller holds the locks on parent and node (the _nl suffix).
+	private boolean attemptUnlink_nl(Node<AnyType> parent, Node<AnyType> node)
+	{
+		Node<AnyType> parentLeft = parent.left;
+		Node<AnyType> parentRight = parent.right;
+
+		if (parentLeft != node && parentRight != node)
+			return false;
+
+		Node<AnyType> left = node.left;
+		Node<AnyType> right = node.right;
+
+		if (left != null && right != null)
+			return false;
+
+		Node<AnyType> splice = (left != null) ? left : right;
+
+		if (parentLeft == node)
+			parent.left = splice;
+		else
+			parent.right = splice;
+
+		if (splice != null)
+			splice.parent = parent;
+
+		// Readers parked on node will see this and back up to parent.
+		node.version = UNLINKED;
+		node.present = false;
+
+		return true;
+	}
+
+	// =========================================================================
+	// Rebalancing
+	// =========================================================================
+
+	// Reads node's fields without locking, and reports what needs to happen.
+	private int nodeCondition(Node<AnyType> node)
+	{
+		Node<AnyType> left = node.left;
+		Node<AnyType> right = node.right;
+
+		if ((left == null || right == null) && !node.present)
+			return UNLINK_REQUIRED;
+
+		int heightNode = node.height;
+		int heightLeft = height(left);
+		int heightRight = height(right);
+		int heightRepl = 1 + Math.max(heightLeft, heightRight);
+		int bf = heightLeft - heightRight;
+
+		if (bf < -1 || bf > 1)
+			return REBALANCE_REQUIRED;
+
+		return (heightNode != heightRepl) ? heightRepl : NOTHING_REQUIRED;
+	}
+
+	// Walks up from node to the root, fixing heights, unlinking routing nodes
+	// and rotating along the way. A rotation can leave a node below the path
+	// needing work, and the heights above it stale, so rather than stopping at
+	// the first node that looks fine we keep going; nodes that need nothing
+	// only cost an unlocked read.
+	private void fixHeightAndRebalance(Node<AnyType> node)
+	{
+		while (node != null && node.parent != null)
+		{
+			int condition = nodeCondition(node);
+
+			if (isUnlinked(node.version))
+				return;
+
+			if (condition == NOTHING_REQUIRED)
+			{
+				node = node.parent;
+			}
+			else if (condition != UNLINK_REQUIRED && condition != REBALANCE_REQUIRED)
+			{
+				synchronized (node)
+				{
+					node = fixHeight_nl(node);
+				}
+			}
+			else
+			{
+				Node<AnyType> parent = node.parent;
+
+				synchronized (parent)
+				{
+					if (!isUnlinked(parent.version) && node.parent == parent)
+					{
+						synchronized (node)
+						{
+							node = rebalance_nl(parent, node);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	// Returns the next node to look at: node itself if it needs more than a
+	// height fix, or else its parent.
+	private Node<AnyType> fixHeight_nl(Node<AnyType> node)
+	{
+		int condition = nodeCondition(node);
+
+		switch (condition)
+		{
+			case REBALANCE_REQUIRED:
+			case UNLINK_REQUIRED:
+				return node;
+			case NOTHING_REQUIRED:
+				return node.parent;
+			default:
+				node.height = condition;
+				return node.parent;
+		}
+	}
+
+	private Node<AnyType> rebalance_nl(Node<AnyType> parent, Node<AnyType> node)
+	{
+		Node<AnyType> left = node.left;
+		Node<AnyType> right = node.right;
+
+		if ((left == null || right == null) && !node.present)
+			return attemptUnlink_nl(parent, node) ? parent : node;
+
+		int heightLeft = height(left);
+		int heightRight = height(right);
+		int heightRepl = 1 + Math.max(heightLeft, heightRight);
+		int bf = heightLeft - heightRight;
+
+		if (bf > 1)
+			return rebalanceToRight_nl(parent, node, left, heightRight);
+		else if (bf < -1)
+			return rebalanceToLeft_nl(parent, node, right, heightLeft);
+
+		node.height = heightRepl;
+		return parent;
+	}
+
+	// node is left-heavy. Its left child gets locked too, and the left child's
+	// right child as well if a double rotation is needed.
+	private Node<AnyType> rebalanceToRight_nl(Node<AnyType> parent, Node<AnyType> node, Node<AnyType> left, int heightRight)
+	{
+		synchronized (left)
+		{
+			if (height(left) - heightRight <= 1)
+				return node; // Something changed; look at node again.
+
+			Node<AnyType> leftRight = left.right;
+
+			if (height(left.left) >= height(leftRight))
+			{
+				rotateRight_nl(parent, node);
+				return afterRotation_nl(parent, node, left);
+			}
+
+			synchronized (leftRight)
+			{
+				rotateLeft_nl(node, left);
+				rotateRight_nl(parent, node);
+				return afterDoubleRotation_nl(parent, node, left, leftRight);
+			}
+		}
+	}
+
+	private Node<AnyType> rebalanceToLeft_nl(Node<AnyType> parent, Node<AnyType> node, Node<AnyType> right, int heightLeft)
+	{
+		synchronized (right)
+		{
+			if (height(right) - heightLeft <= 1)
+				return node;
+
+			Node<AnyType> rightLeft = right.left;
+
+			if (height(right.right) >= height(rightLeft))
+			{
+				rotateLeft_nl(parent, node);
+				return afterRotation_nl(parent, node, right);
+			}
+
+			synchronized (rightLeft)
+			{
+				rotateRight_nl(node, right);
+				rotateLeft_nl(parent, node);
+				return afterDoubleRotation_nl(parent, node, right, rightLeft);
+			}
+		}
+	}
+
+	// Picks the next node to fix after a single rotation: node (which moved
+	// down) if it is still out of shape, else the node that moved up, else the
+	// parent. Walking up from node passes through the other two anyway.
+	private Node<AnyType> afterRotation_nl(Node<AnyType> parent, Node<AnyType> node, Node<AnyType> top)
+	{
+		if (nodeCondition(node) != NOTHING_REQUIRED)
+			return node;
+		if (nodeCondition(top) != NOTHING_REQUIRED)
+			return top;
+
+		return parent;
+	}
+
+	// After a double rotation node and child are siblings under top, so the
+	// walk up from one of them never visits the other. Routing nodes among them
+	// are unlinked right here, while we still hold every lock that needs.
+	private Node<AnyType> afterDoubleRotation_nl(Node<AnyType> parent, Node<AnyType> node, Node<AnyType> child, Node<AnyType> top)
+	{
+		if (!child.present && (child.left == null || child.right == null) && attemptUnlink_nl(top, child))
+			top.height = 1 + Math.max(height(top.left), height(top.right));
+
+		if (nodeCondition(node) != NOTHING_REQUIRED)
+			return node;
+		if (!isUnlinked(child.version) && nodeCondition(child) != NOTHING_REQUIRED)
+			return child;
+		if (nodeCondition(top) != NOTHING_REQUIRED)
+			return top;
+
+		return parent;
+	}
+
+	// node's left child moves up to take its place. Caller holds the locks on
+	// parent, node and node.left. node is marked as shrinking while its links
+	// change, since keys that used to be below it no longer are.
+	private void rotateRight_nl(Node<AnyType> parent, Node<AnyType> node)
+	{
+		long version = node.version;
+		Node<AnyType> temp = node.left;
+		Node<AnyType> tempRight = temp.right;
+
+		node.version = version | SHRINKING;
+
+		node.left = tempRight;
+		if (tempRight != null)
+			tempRight.parent = node;
+
+		temp.right = node;
+		node.parent = temp;
+
+		if (parent.left == node)
+			parent.left = temp;
+		else
+			parent.right = temp;
+		temp.parent = parent;
+
+		node.height = 1 + Math.max(height(node.left), height(node.right));
+		temp.height = 1 + Math.max(height(temp.left), height(temp.right));
+
+		node.version = version + VERSION_INCR;
+	}
+
+	private void rotateLeft_nl(Node<AnyType> parent, Node<AnyType> node)
+	{
+		long version = node.version;
+		Node<AnyType> temp = node.right;
+		Node<AnyType> tempLeft = temp.left;
+
+		node.version = version | SHRINKING;
+
+		node.right = tempLeft;
+		if (tempLeft != null)
+			tempLeft.parent = node;
+
+		temp.left = node;
+		node.parent = temp;
+
+		if (parent.left == node)
+			parent.left = temp;
+		else
+			parent.right = temp;
+		temp.parent = parent;
+
+		node.height = 1 + Math.max(height(node.left), height(node.right));
+		temp.height = 1 + Math.max(height(temp.left), height(temp.right));
+
+		node.version = version + VERSION_INCR;
+	}
+
+	// =========================================================================
+	// Traversals (not linearizable while writers are active)
+	// =========================================================================
+
+	public void inorder()
+	{
+		System.out.print("In-order Traversal:");
+		inorder(this.rootHolder.right);
+		System.out.println();
+	}
+
+	private void inorder(Node<AnyType> root)
+	{
+		if (root == null) return;
+
+		inorder(root.left);
+		if (root.present)
+			System.out.print(" " + root.data);
+		inorder(root.right);
+	}
+
+	// =========================================================================
+	// Stress test and throughput benchmark
+	// =========================================================================
+
+	// Every thread owns the keys congruent to its id, so the final contents are
+	// known exactly even though all threads hit the same tree.
+	private static boolean stressTest(int numThreads, int opsPerThread, int keyRange) throws InterruptedException
+	{
+		ConcurrentAVLTree<Integer> tree = new ConcurrentAVLTree<>();
+		boolean[][] expected = new boolean[numThreads][keyRange];
+		Thread[] threads = new Thread[numThreads];
+
+		for (int t = 0; t < numThreads; t++)
+		{
+			final int id = t;
+			threads[t] = new Thread(() -> {
+				Random randy = new Random(id);
+				for (int i = 0; i < opsPerThread; i++)
+				{
+					int k = randy.nextInt(keyRange / numThreads) * numThreads + id;
+					if (randy.nextBoolean())
+						tree.add(k);
+					else
+						tree.remove(k);
+					tree.contains(k + 1); // Reads racing with the other threads' writes.
+				}
+			});
+		}
+
+		// Replay each thread's own sequence to get its expected final keys.
+		for (int t = 0; t < numThreads; t++)
+		{
+			Random randy = new Random(t);
+			for (int i = 0; i < opsPerThread; i++)
+			{
+				int k = randy.nextInt(keyRange / numThreads) * numThreads + t;
+				expected[t][k] = randy.nextBoolean();
+			}
+		}
+
+		for (Thread thread : threads)
+			thread.start();
+		for (Thread thread : threads)
+			thread.join();
+
+		int count = 0;
+
+		for (int k = 0; k < keyRange / numThreads * numThreads; k++)
+		{
+			boolean shouldContain = expected[k % numThreads][k];
+
+			if (tree.contains(k) != shouldContain)
+				return false;
+			if (shouldContain)
+				count++;
+		}
+
+		return count == tree.getSize() && tree.isBalanced(tree.rootHolder.right) >= -1;
+	}
+
+	// Returns the height of the subtree, or -2 if it is not a valid AVL tree.
+	private int isBalanced(Node<AnyType> root)
+	{
+		if (root == null) return -1;
+
+		int l = isBalanced(root.left);
+		int r = isBalanced(root.right);
+
+		if (l == -2 || r == -2 || Math.abs(l - r) > 1 || root.height != 1 + Math.max(l, r))
+			return -2;
+		if (root.left != null && (root.left.data.compareTo(root.data) >= 0 || root.left.parent != root))
+			return -2;
+		if (root.right != null && (root.right.data.compareTo(root.data) <= 0 || root.right.parent != root))
+			return -2;
+
+		return root.height;
+	}
+
+	// Runs a 90% contains / 10% add-remove mix and returns operations per second.
+	private static double throughput(int numThreads, int keyRange, long millis) throws InterruptedException
+	{
+		ConcurrentAVLTree<Integer> tree = new ConcurrentAVLTree<>();
+		for (int k = 0; k < keyRange; k += 2)
+			tree.add(k);
+
+		LongAdder ops = new LongAdder();
+		CountDownLatch start = new CountDownLatch(1);
+		Thread[] threads = new Thread[numThreads];
+		final long[] deadline = new long[1];
+
+		for (int t = 0; t < numThreads; t++)
+		{
+			threads[t] = new Thread(() -> {
+				ThreadLocalRandom randy = ThreadLocalRandom.current();
+				long done = 0;
+				try { start.await(); } catch (InterruptedException e) { return; }
+				while (System.nanoTime() < deadline[0])
+				{
+					for (int i = 0; i < 1000; i++)
+					{
+						Integer k = randy.nextInt(keyRange);
+						int op = randy.nextInt(100);
+						if (op < 90)
+							tree.contains(k);
+						else if (op < 95)
+							tree.add(k);
+						else
+							tree.remove(k);
+					}
+					done += 1000;
+				}
+				ops.add(done);
+			});
+			threads[t].start();
+		}
+
+		deadline[0] = System.nanoTime() + millis * 1_000_000L;
+		start.countDown();
+		for (Thread thread : threads)
+			thread.join();
+
+		return ops.sum() * 1000.0 / millis;
+	}
+
+	public static void main(String[] args) throws InterruptedException
+	{
+		ConcurrentAVLTree<Integer> t = new ConcurrentAVLTree<>();
+
+		for (int i = 0; i < 10; i++)
+			t.add(i);
+
+		System.out.println("size: " + t.getSize());
+		System.out.println("height: " + t.getHeight());
+		t.inorder();
+
+		t.remove(1);
+		t.remove(2);
+
+		System.out.println("size: " + t.getSize());
+		t.inorder();
+		System.out.println("contains 1: " + t.contains(1));
+		System.out.println("contains 7: " + t.contains(7));
+		System.out.println();
+
+		int cores = Runtime.getRuntime().availableProcessors();
+		int stressThreads = Math.max(4, cores);
+		System.out.println("stress test (" + stressThreads + " threads): " + (stressTest(stressThreads, 200_000, 1 << 16) ? "passed" : "FAILED"));
+		System.out.println();
+
+		System.out.println("throughput, 90% contains / 10% add-remove, 1M keys:");
+		for (int threads = 1; threads <= cores; threads *= 2)
+			System.out.printf("%3d thread(s): %,15.0f ops/s\n", threads, throughput(threads, 1 << 20, 2000));
+	}
+}
@@ -0,0 +1,880 @@
+// JP Valdespino
+// October 2026
+
+// ConcurrentTrie.java
+// ===================
+// A lock-free, thread-safe Trie with constant-time snapshots, following
+// Prokopec et al.'s Ctrie ("Concurrent Tries with Efficient Non-Blocking
+// Snapshots"), over the same 26-letter alphabet as Trie.
+//
+// - Every trie node is an INode, which holds a reference to an immutable
+//   CNode: the node's word count plus a bitmap-compressed array of its child
+//   INodes. insert(), delete() and count changes build a new CNode and CAS it
+//   into one INode, so writers on different parts of the trie never contend,
+//   and readers never lock or write.
+// - A node left with no words at or below it is replaced by a TNode
+//   (tombstone), and its parent's CNode is then rebuilt without it. Any writer
+//   that runs into a TNode helps with that cleanup and retries.
+// - Every INode belongs to a generation. snapshot() swaps in a root of a new
+//   generation (with RDCSS, so the swap only happens if the root's contents
+//   are unchanged), and writers copy old-generation INodes into the new one on
+//   their way down before changing them (GCAS fails on an old one). So the old
+//   root still sees exactly the trie as of the snapshot, at O(1) up-front cost.
+// - countNumStrings(), countUniqueStrings(), forEach() and printTrie() run on a
+//   read-only snapshot, so they see one consistent state of the trie.
+
+// +-----------------------------------------------------+
+// | Concurrent Trie                                     |
+// |-----------------------------------------------------|
+// | Time Complexity: | Best Case | Worst Case | Average |
+// |------------------+-----------+------------+---------|
+// | Insertion:       |   O(k)    |   O(k)*    |  O(k)   |
+// | Deletion:        |   O(k)    |   O(k)*    |  O(k)   |
+// | Search:          |   O(k)    |    O(k)    |  O(k)   |
+// | Snapshot:        |   O(1)    |   O(1)*    |  O(1)   |
+// +-----------------------------------------------------+
+// *Where k is the length of the string.
+// *Without contention. A failed CAS costs a retry from the root.
+// *The first write below each node after a snapshot copies that node's INode
+//  and children (at most 26), spreading the snapshot's cost over later writes.
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ObjIntConsumer;
+
+public class ConcurrentTrie
+{
+	private static final int NUM_ALPHA = 26; // 26 letters in the alphabet.
+
+	// Results of the recursive insert() and delete().
+	private static final int RETRY = 0;
+	private static final int FOUND = 1; // Also "changed" for insert/delete.
+	private static final int NOT_FOUND = 2;
+
+	private static final INode [] NO_CHILDREN = new INode[0];
+
+	// Identity is all a generation has.
+	private static final class Gen
+	{
+	}
+
+	private abstract static class MainNode
+	{
+		// While a GCAS is in flight, the main node it replaced; null once it has
+		// committed. A FailedNode here means the GCAS is being rolled back.
+		volatile MainNode prev;
+	}
+
+	private static final class CNode extends MainNode
+	{
+		final int count; // Occurrences of the string that ends here.
+		final int bitmap; // Bit i is set if there is a child for letter i.
+		final INode [] array; // The children, in letter order.
+
+		CNode(int count, int bitmap, INode [] array)
+		{
+			this.count = count;
+			this.bitmap = bitmap;
+			this.array = array;
+		}
+
+		// Position of letter index's child in array.
+		int position(int index)
+		{
+			return Integer.bitCount(this.bitmap & ((1 << index) - 1));
+		}
+
+		boolean hasChild(int index)
+		{
+			return (this.bitmap & (1 << index)) != 0;
+		}
+
+		INode child(int index)
+		{
+			return this.array[position(index)];
+		}
+
+		CNode withCount(int count)
+		{
+			return new CNode(count, this.bitmap, this.array);
+		}
+
+		CNode inserted(int index, INode child)
+		{
+			int pos = position(index);
+			INode [] array = new INode[this.array.length + 1];
+
+			System.arraycopy(this.array, 0, array, 0, pos);
+			array[pos] = child;
+			System.arraycopy(this.array, pos, array, pos + 1, this.array.length - pos);
+
+			return new CNode(this.count, this.bitmap | (1 << index), array);
+		}
+
+		CNode removed(int index)
+		{
+			int pos = position(index);
+			INode [] array = new INode[this.array.length - 1];
+
+			System.arraycopy(this.array, 0, array, 0, pos);
+			System.arraycopy(this.array, pos + 1, array, pos, array.length - pos);
+
+			return new CNode(this.count, this.bitmap & ~(1 << index), array);
+		}
+	}
+
+	// Tombstone: what an INode with no words at or below it is left holding.
+	private static final class TNode extends MainNode
+	{
+	}
+
+	private static final class FailedNode extends MainNode
+	{
+		FailedNode(MainNode prev)
+		{
+			this.prev = prev;
+		}
+	}
+
+	private static final class INode
+	{
+		volatile MainNode main;
+		final Gen gen;
+
+		INode(MainNode main, Gen gen)
+		{
+			this.main = main;
+			this.gen = gen;
+		}
+	}
+
+	// An RDCSS in progress: swap the root from old to replacement, but only if
+	// old's main node is still expected.
+	private static final class Descriptor
+	{
+		final INode old;
+		final MainNode expected;
+		final INode replacement;
+		volatile boolean committed;
+
+		Descriptor(INode old, MainNode expected, INode replacement)
+		{
+			this.old = old;
+			this.expected = expected;
+			this.replacement = replacement;
+		}
+	}
+
+	private static final VarHandle MAIN, PREV, ROOT;
+
+	static
+	{
+		try
+		{
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			MAIN = lookup.findVarHandle(INode.class, "main", MainNode.class);
+			PREV = lookup.findVarHandle(MainNode.class, "prev", MainNode.class);
+			ROOT = lookup.findVarHandle(ConcurrentTrie.class, "root", Object.class);
+		}
+		catch (ReflectiveOperationException e)
+		{
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	private volatile Object root; // An INode, or a Descriptor while a snapshot is being taken.
+	private final boolean readOnly;
+
+	public ConcurrentTrie()
+	{
+		this(new INode(new CNode(0, 0, NO_CHILDREN), new Gen()), false);
+	}
+
+	private ConcurrentTrie(INode root, boolean readOnly)
+	{
+		this.root = root;
+		this.readOnly = readOnly;
+	}
+
+	// Letter indexes of str, treated as Trie treats it: lowercased, with
+	// non-letters skipped.
+	private static byte [] key(String str)
+	{
+		str = str.toLowerCase();
+		byte [] key = new byte[str.length()];
+		int n = 0;
+
+		for (int i = 0; i < str.length(); i++)
+		{
+			char c = str.charAt(i);
+			if (!Character.isLetter(c)) continue;
+
+			if (c < 'a' || c > 'z')
+				throw new IllegalArgumentException("Only the letters a to z are supported: " + str);
+
+			key[n++] = (byte)(c - 'a');
+		}
+
+		return (n == key.length) ? key : Arrays.copyOf(key, n);
+	}
+
+	private void checkWritable()
+	{
+		if (this.readOnly)
+			throw new UnsupportedOperationException("read-only snapshot");
+	}
+
+	// =========================================================================
+	// GCAS: a CAS on an INode's main node that is rolled back if a snapshot
+	// has been taken since the INode's generation began.
+	// =========================================================================
+
+	private MainNode gcasRead(INode in)
+	{
+		MainNode m = in.main;
+		return (m.prev == null) ? m : gcasCommit(in, m);
+	}
+
+	// Finishes (commits or rolls back) the GCAS that installed m, and returns
+	// the INode's main node afterwards.
+	private MainNode gcasCommit(INode in, MainNode m)
+	{
+		while (true)
+		{
+			MainNode p = m.prev;
+
+			if (p == null)
+				return m;
+
+			if (p instanceof FailedNode)
+			{
+				if (MAIN.compareAndSet(in, m, p.prev))
+					return p.prev;
+
+				m = in.main;
+				continue;
+			}
+
+			INode root = readRoot(true);
+
+			if (root.gen == in.gen && !this.readOnly)
+			{
+				if (PREV.compareAndSet(m, p, null))
+					return m;
+			}
+			else
+			{
+				PREV.compareAndSet(m, p, new FailedNode(p));
+				m = in.main;
+			}
+		}
+	}
+
+	private boolean gcas(INode in, MainNode old, MainNode n)
+	{
+		n.prev = old;
+
+		if (MAIN.compareAndSet(in, old, n))
+		{
+			gcasCommit(in, n);
+			return n.prev == null;
+		}
+
+		return false;
+	}
+
+	// =========================================================================
+	// RDCSS on the root, for snapshots.
+	// =========================================================================
+
+	private INode readRoot(boolean abort)
+	{
+		Object r = this.root;
+		return (r instanceof INode) ? (INode)r : rdcssComplete(abort);
+	}
+
+	private INode rdcssComplete(boolean abort)
+	{
+		while (true)
+		{
+			Object r = this.root;
+
+			if (r instanceof INode)
+				return (INode)r;
+
+			Descriptor desc = (Descriptor)r;
+
+			if (!abort && gcasRead(desc.old) == desc.expected)
+			{
+				if (ROOT.compareAndSet(this, desc, desc.replacement))
+				{
+					desc.committed = true;
+					return desc.replacement;
+				}
+			}
+			else if (ROOT.compareAndSet(this, desc, desc.old))
+			{
+				return desc.old;
+			}
+		}
+	}
+
+	private boolean rdcssRoot(INode old, MainNode expected, INode replacement)
+	{
+		Descriptor desc = new Descriptor(old, expected, replacement);
+
+		if (ROOT.compareAndSet(this, old, desc))
+		{
+			rdcssComplete(false);
+			return desc.committed;
+		}
+
+		return false;
+	}
+
+	// =========================================================================
+	// Snapshots
+	// =========================================================================
+
+	private INode copyToGen(INode in, Gen gen)
+	{
+		return new INode(gcasRead(in), gen);
+	}
+
+	// The CNode with each child moved into a new generation.
+	private CNode renewed(CNode cn, Gen gen)
+	{
+		INode [] array = new INode[cn.array.length];
+
+		for (int i = 0; i < array.length; i++)
+			array[i] = copyToGen(cn.array[i], gen);
+
+		return new CNode(cn.count, cn.bitmap, array);
+	}
+
+	// An independent, writable copy of this trie, as of now.
+	public ConcurrentTrie snapshot()
+	{
+		checkWritable();
+
+		while (true)
+		{
+			INode r = readRoot(false);
+			MainNode expected = gcasRead(r);
+
+			if (rdcssRoot(r, expected, copyToGen(r, new Gen())))
+				return new ConcurrentTrie(copyToGen(r, new Gen()), false);
+		}
+	}
+
+	// A copy of this trie, as of now, that can only be read. Cheaper than
+	// snapshot(), since neither trie has to copy nodes to read the other's.
+	public ConcurrentTrie readOnlySnapshot()
+	{
+		if (this.readOnly)
+			return this;
+
+		while (true)
+		{
+			INode r = readRoot(false);
+			MainNode expected = gcasRead(r);
+
+			if (rdcssRoot(r, expected, copyToGen(r, new Gen())))
+				return new ConcurrentTrie(r, true);
+		}
+	}
+
+	// =========================================================================
+	// Insertion
+	// =========================================================================
+
+	// Method does not insert non-alphabetic characters.
+	public boolean insert(String str)
+	{
+		if (str == null)
+			return false;
+
+		checkWritable();
+		byte [] key = key(str);
+
+		while (true)
+		{
+			INode r = readRoot(false);
+
+			if (insert(r, key, 0, null, r.gen) != RETRY)
+				return true; // Returns true if insertion is successful.
+		}
+	}
+
+	private int insert(INode i, byte [] key, int pos, INode parent, Gen startGen)
+	{
+		MainNode m = gcasRead(i);
+
+		if (m instanceof TNode)
+		{
+			clean(parent, pos - 1);
+			return RETRY;
+		}
+
+		CNode cn = (CNode)m;
+
+		if (pos == key.length)
+			return gcas(i, cn, cn.withCount(cn.count + 1)) ? FOUND : RETRY;
+
+		int index = key[pos];
+
+		if (!cn.hasChild(index))
+			return gcas(i, cn, cn.inserted(index, chain(key, pos + 1, startGen))) ? FOUND : RETRY;
+
+		INode child = cn.child(index);
+
+		if (child.gen == startGen)
+			return insert(child, key, pos + 1, i, startGen);
+
+		// The child is from before a snapshot: copy this level into our
+		// generation first, then try again.
+		if (gcas(i, cn, renewed(cn, startGen)))
+			return insert(i, key, pos, parent, startGen);
+
+		return RETRY;
+	}
+
+	// A fresh path of INodes spelling key[from..], ending at a count of one.
+	private static INode chain(byte [] key, int from, Gen gen)
+	{
+		INode node = new INode(new CNode(1, 0, NO_CHILDREN), gen);
+
+		for (int pos = key.length - 1; pos >= from; pos--)
+			node = new INode(new CNode(0, 1 << key[pos], new INode[] { node }), gen);
+
+		return node;
+	}
+
+	// =========================================================================
+	// Deletion
+	// =========================================================================
+
+	public boolean delete(String str)
+	{
+		if (str == null)
+			return false;
+
+		checkWritable();
+		byte [] key = key(str);
+
+		while (true)
+		{
+			INode r = readRoot(false);
+			int result = delete(r, key, 0, null, r.gen);
+
+			if (result != RETRY)
+				return result == FOUND;
+		}
+	}
+
+	private int delete(INode i, byte [] key, int pos, INode parent, Gen startGen)
+	{
+		MainNode m = gcasRead(i);
+
+		if (m instanceof TNode)
+		{
+			clean(parent, pos - 1);
+			return NOT_FOUND; // Tombstones have no words below them.
+		}
+
+		CNode cn = (CNode)m;
+
+		if (pos == key.length)
+		{
+			if (cn.count == 0)
+				return NOT_FOUND;
+
+			return gcas(i, cn, contracted(cn.withCount(cn.count - 1), pos == 0)) ? FOUND : RETRY;
+		}
+
+		int index = key[pos];
+
+		if (!cn.hasChild(index))
+			return NOT_FOUND;
+
+		INode child = cn.child(index);
+
+		if (child.gen != startGen)
+		{
+			if (gcas(i, cn, renewed(cn, startGen)))
+				return delete(i, key, pos, parent, startGen);
+
+			return RETRY;
+		}
+
+		int result = delete(child, key, pos + 1, i, startGen);
+
+		if (result == FOUND && gcasRead(child) instanceof TNode)
+			cleanParent(i, pos, child, index, startGen);
+
+		return result;
+	}
+
+	// A node other than the root with no words at or below it is tombed.
+	private static MainNode contracted(CNode cn, boolean isRoot)
+	{
+		return (!isRoot && cn.count == 0 && cn.bitmap == 0) ? new TNode() : cn;
+	}
+
+	// Drops the tombed child from parent (at depth pos), unless someone
+	// already has.
+	private void cleanParent(INode parent, int pos, INode child, int index, Gen startGen)
+	{
+		while (true)
+		{
+			MainNode m = gcasRead(parent);
+
+			if (!(m instanceof CNode))
+				return;
+
+			CNode cn = (CNode)m;
+
+			if (!cn.hasChild(index) || cn.child(index) != child)
+				return;
+
+			if (gcas(parent, cn, contracted(cn.removed(index), pos == 0)))
+				return;
+
+			// After a snapshot, parent is no longer ours to change; whoever
+			// copies it will run into the tombstone and clean it up.
+			if (readRoot(false).gen != startGen)
+				return;
+		}
+	}
+
+	// Drops every tombed child of i (at depth pos).
+	private void clean(INode i, int pos)
+	{
+		MainNode m = gcasRead(i);
+
+		if (!(m instanceof CNode))
+			return;
+
+		CNode cn = (CNode)m;
+		CNode compressed = cn;
+
+		for (int index = NUM_ALPHA - 1; index >= 0; index--)
+			if (cn.hasChild(index) && gcasRead(cn.child(index)) instanceof TNode)
+				compressed = compressed.removed(index);
+
+		if (compressed != cn)
+			gcas(i, cn, contracted(compressed, pos == 0));
+	}
+
+	// =========================================================================
+	// Search
+	// =========================================================================
+
+	public boolean contains(String str)
+	{
+		return countSpecificString(str) > 0;
+	}
+
+	// Count of a specific string.
+	public int countSpecificString(String str)
+	{
+		if (str == null)
+			return 0;
+
+		byte [] key = key(str);
+
+		// Readers don't copy old-generation INodes like writers do: nothing
+		// below one can have changed since the snapshot, or a writer would
+		// have replaced it in its parent.
+		MainNode m = gcasRead(readRoot(false));
+
+		for (int pos = 0; ; pos++)
+		{
+			if (m instanceof TNode)
+				return 0;
+
+			CNode cn = (CNode)m;
+
+			if (pos == key.length)
+				return cn.count;
+
+			if (!cn.hasChild(key[pos]))
+				return 0;
+
+			m = gcasRead(cn.child(key[pos]));
+		}
+	}
+
+	// =========================================================================
+	// Traversals, all on a read-only snapshot
+	// =========================================================================
+
+	// Calls action with every string in the trie (in alphabetical order) and its
+	// count.
+	public void forEach(ObjIntConsumer<String> action)
+	{
+		ConcurrentTrie snapshot = readOnlySnapshot();
+		snapshot.forEach(snapshot.readRoot(false), new StringBuilder(), action);
+	}
+
+	private void forEach(INode i, StringBuilder str, ObjIntConsumer<String> action)
+	{
+		MainNode m = gcasRead(i);
+
+		if (!(m instanceof CNode))
+			return;
+
+		CNode cn = (CNode)m;
+
+		if (cn.count > 0)
+			action.accept(str.toString(), cn.count);
+
+		for (int index = 0; index < NUM_ALPHA; index++)
+		{
+			if (!cn.hasChild(index)) continue;
+			str.append((char)(index + 'a'));
+			forEach(cn.child(index), str, action);
+			str.setLength(str.length() - 1);
+		}
+	}
+
+	// Counts the number of strings in the trie, including duplicates.
+	public int countNumStrings()
+	{
+		ConcurrentTrie snapshot = readOnlySnapshot();
+		return snapshot.countNumStrings(snapshot.readRoot(false));
+	}
+
+	private int countNumStrings(INode i)
+	{
+		MainNode m = gcasRead(i);
+
+		if (!(m instanceof CNode))
+			return 0;
+
+		CNode cn = (CNode)m;
+		int count = cn.count;
+
+		for (INode child : cn.array)
+			count += countNumStrings(child);
+
+		return count;
+	}
+
+	// Counts the number of unique strings in the trie.
+	// (i.e. Counts duplicate strings as one).
+	public int countUniqueStrings()
+	{
+		ConcurrentTrie snapshot = readOnlySnapshot();
+		return snapshot.countUniqueStrings(snapshot.readRoot(false));
+	}
+
+	private int countUniqueStrings(INode i)
+	{
+		MainNode m = gcasRead(i);
+
+		if (!(m instanceof CNode))
+			return 0;
+
+		CNode cn = (CNode)m;
+		int count = (cn.count > 0) ? 1 : 0;
+
+		for (INode child : cn.array)
+			count += countUniqueStrings(child);
+
+		return count;
+	}
+
+	// Prints all the strings in the trie.
+	public void printTrie()
+	{
+		forEach((str, count) -> {
+			if (str.length() > 0)
+				System.out.println(str + " (" + count + ")");
+			else
+				System.out.println("<__EMPTY_STRING__> (" + count + ")");
+		});
+	}
+
+	// Each thread inserts random words (and deletes some it inserted before)
+	// while a reader checks snapshot consistency: one thread always inserts
+	// "tick" just before "tock", so no consistent view has fewer ticks than tocks
+	// or more than one extra.
+	private static boolean stressTest(int numThreads, int opsPerThread, int vocabulary) throws InterruptedException
+	{
+		ConcurrentTrie trie = new ConcurrentTrie();
+		String [] words = randomWords(new Random(0), vocabulary);
+		int [] expected = new int[vocabulary];
+		Thread [] threads = new Thread[numThreads];
+		AtomicBoolean consistent = new AtomicBoolean(true);
+		AtomicBoolean done = new AtomicBoolean(false);
+
+		for (int t = 0; t < numThreads; t++)
+		{
+			final int id = t;
+			threads[t] = new Thread(() -> {
+				Random randy = new Random(id);
+				int [] mine = new int[vocabulary];
+				for (int i = 0; i < opsPerThread; i++)
+				{
+					int w = randy.nextInt(vocabulary);
+					if (mine[w] > 0 && randy.nextInt(3) == 0)
+					{
+						trie.delete(words[w]);
+						mine[w]--;
+					}
+					else
+					{
+						trie.insert(words[w]);
+						mine[w]++;
+					}
+					if (id == 0)
+					{
+						trie.insert("tick");
+						trie.insert("tock");
+					}
+				}
+			});
+		}
+
+		Thread reader = new Thread(() -> {
+			while (!done.get())
+			{
+				ConcurrentTrie snapshot = trie.readOnlySnapshot();
+				int ticks = snapshot.countSpecificString("tick");
+				int tocks = snapshot.countSpecificString("tock");
+				if (ticks != tocks && ticks != tocks + 1)
+					consistent.set(false);
+			}
+		});
+
+		// Replay each thread's own sequence to get the expected final counts.
+		for (int t = 0; t < numThreads; t++)
+		{
+			Random randy = new Random(t);
+			int [] mine = new int[vocabulary];
+			for (int i = 0; i < opsPerThread; i++)
+			{
+				int w = randy.nextInt(vocabulary);
+				if (mine[w] > 0 && randy.nextInt(3) == 0)
+					mine[w]--;
+				else
+					mine[w]++;
+			}
+			for (int w = 0; w < vocabulary; w++)
+				expected[w] += mine[w];
+		}
+
+		reader.start();
+		for (Thread thread : threads)
+			thread.start();
+		for (Thread thread : threads)
+			thread.join();
+		done.set(true);
+		reader.join();
+
+		int total = 0;
+
+		for (int w = 0; w < vocabulary; w++)
+		{
+			if (trie.countSpecificString(words[w]) != expected[w])
+				return false;
+			total += expected[w];
+		}
+
+		return consistent.get() && trie.countNumStrings() == total + 2 * opsPerThread;
+	}
+
+	// n distinct random words.
+	private static String [] randomWords(Random randy, int n)
+	{
+		Set<String> words = new LinkedHashSet<>();
+
+		while (words.size() < n)
+		{
+			char [] letters = new char[3 + randy.nextInt(8)];
+			for (int j = 0; j < letters.length; j++)
+				letters[j] = (char)('a' + randy.nextInt(NUM_ALPHA));
+			words.add(new String(letters));
+		}
+
+		return words.toArray(new String[0]);
+	}
+
+	// Runs an insert-only workload and returns insertions per second.
+	private static double throughput(int numThreads, String [] words, long millis) throws InterruptedException
+	{
+		ConcurrentTrie trie = new ConcurrentTrie();
+		LongAdder ops = new LongAdder();
+		CountDownLatch start = new CountDownLatch(1);
+		Thread [] threads = new Thread[numThreads];
+		final long [] deadline = new long[1];
+
+		for (int t = 0; t < numThreads; t++)
+		{
+			threads[t] = new Thread(() -> {
+				ThreadLocalRandom randy = ThreadLocalRandom.current();
+				long done = 0;
+				try { start.await(); } catch (InterruptedException e) { return; }
+				while (System.nanoTime() < deadline[0])
+				{
+					for (int i = 0; i < 1000; i++)
+						trie.insert(words[randy.nextInt(words.length)]);
+					done += 1000;
+				}
+				ops.add(done);
+			});
+			threads[t].start();
+		}
+
+		deadline[0] = System.nanoTime() + millis * 1_000_000L;
+		start.countDown();
+		for (Thread thread : threads)
+			thread.join();
+
+		return ops.sum() * 1000.0 / millis;
+	}
+
+	public static void main(String [] args) throws InterruptedException
+	{
+		ConcurrentTrie lexicon = new ConcurrentTrie();
+
+		for (String word : new String[] { "beast", "apple", "app", "", "starlord", "Apple", "apple", "quid-pro-quo", "linux" })
+			lexicon.insert(word);
+
+		System.out.println("word count: " + lexicon.countNumStrings() + ", unique: " + lexicon.countUniqueStrings());
+		lexicon.printTrie();
+		System.out.println();
+
+		ConcurrentTrie before = lexicon.snapshot();
+		lexicon.delete("apple");
+		lexicon.delete("linux");
+		lexicon.insert("zebra");
+		before.insert("before");
+
+		System.out.println("after changes:");
+		lexicon.printTrie();
+		System.out.println();
+		System.out.println("snapshot taken before them (plus its own insert):");
+		before.printTrie();
+		System.out.println();
+
+		int cores = Runtime.getRuntime().availableProcessors();
+		int stressThreads = Math.max(4, cores);
+		System.out.println("stress test (" + stressThreads + " threads): " + (stressTest(stressThreads, 100_000, 1 << 12) ? "passed" : "FAILED"));
+		System.out.println();
+
+		String [] words = randomWords(new Random(1), 1 << 16);
+		System.out.println("insert throughput, 64K distinct words:");
+		for (int threads = 1; threads <= cores; threads *= 2)
+			System.out.printf("%3d thread(s): %,15.0f ops/s\n", threads, throughput(threads, words, 2000));
+	}
+}
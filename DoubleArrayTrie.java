@@ -0,0 +1,547 @@
+// JP Valdespino
+// October 2026
+
+// DoubleArrayTrie.java
+// ====================
+// A read-only copy of a Trie packed into two int arrays, BASE and CHECK
+// (Aoe's double-array trie). Each state of the trie is an index s, and the
+// transition from s on letter code c leads to t = BASE[s] + c, which is only
+// a real transition if CHECK[t] == s. So a lookup is two array reads per
+// character, with no nodes, no pointers and no allocation. The builder picks
+// each BASE so that the children of every state land on free slots.
+//
+// Letters are coded 1 to 26. Code 0 marks the end of a word: if s spells a
+// word, its slot BASE[s] + 0 has CHECK == s, and that slot's BASE holds the
+// word's count, negated. Lookups read their input through the Trie's own
+// normalization table, which is saved with BASE and CHECK, so both answer the
+// same questions the same way.
+//
+// BASE[s] and CHECK[s] are stored next to each other, so each step of a
+// lookup touches a single cache line. write() saves them to a file as is,
+// and open() maps that file and reads it in place as an IntBuffer: opening
+// takes about the same few milliseconds however big the dictionary is, and
+// none of it lives on the Java heap for the GC to walk.
+//
+// File layout (little-endian ints):
+//
+//   0              MAGIC
+//   1              number of slots, n
+//   2, 3           number of unique strings, number of strings
+//   4              1 if a normalization table follows the slots, 0 if the
+//                  Trie used the default one
+//   5 + 2s, 6 + 2s BASE[s], CHECK[s] for each slot s < n
+//   5 + 2n ...     the normalization table, one byte per char
+
+// +-----------------------------------------------------+
+// | Double-Array Trie                                   |
+// |-----------------------------------------------------|
+// | Time Complexity: | Best Case | Worst Case | Average |
+// |------------------+-----------+------------+---------|
+// | Build:           |   O(m)    |   O(m n)   |  O(m)*  |
+// | Open:            |   O(1)    |    O(1)    |  O(1)   |
+// | Search:          |   O(k)    |    O(k)    |  O(k)   |
+// +-----------------------------------------------------+
+// *Where k is the length of the string.
+// *Where m is the number of nodes in the Trie, and n the number of slots.
+// *Placing a state scans for free slots; the scan starts past the densely
+//  packed region and gives up after MAX_TRIES holes, so in practice it only
+//  looks at a handful of slots.
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Random;
+import java.util.Set;
+
+public final class DoubleArrayTrie
+{
+	public static final int MAGIC = 0x32544144; // "DAT2"
+
+	private static final int HEADER = 5;
+	private static final int TABLE = (Character.MAX_VALUE + 1) / 4; // Ints in a normalization table.
+	private static final byte [] DEFAULT_NORMALIZATION = Trie.defaultNormalization();
+	private static final int FREE = -1; // CHECK of an unused slot.
+	private static final int MAX_TRIES = 64; // Free slots tried per state.
+	private static final int ALPHABET = Trie.Node.NUM_ALPHA;
+
+	private final IntBuffer units; // Header, then BASE and CHECK pairs.
+	private final int slots;
+	private final int uniqueStrings, numStrings;
+	private final byte [] normalization; // As in Trie.
+
+	private DoubleArrayTrie(IntBuffer units)
+	{
+		this.units = units;
+		this.slots = units.get(1);
+		this.uniqueStrings = units.get(2);
+		this.numStrings = units.get(3);
+
+		if (units.get(4) == 0)
+		{
+			this.normalization = DEFAULT_NORMALIZATION;
+		}
+		else
+		{
+			// Copied onto the heap: at 64 KB it's read far more often than it is
+			// big, and a byte[] is the fastest thing to read it from.
+			this.normalization = new byte[Character.MAX_VALUE + 1];
+			int from = HEADER + 2 * this.slots;
+
+			for (int i = 0; i < TABLE; i++)
+			{
+				int packed = units.get(from + i);
+
+				for (int j = 0; j < 4; j++)
+					this.normalization[4 * i + j] = (byte)(packed >>> (8 * j));
+			}
+		}
+	}
+
+	private int base(int s)
+	{
+		return this.units.get(HEADER + 2 * s);
+	}
+
+	private int check(int s)
+	{
+		return this.units.get(HEADER + 2 * s + 1);
+	}
+
+	// =========================================================================
+	// Building
+	// =========================================================================
+
+	private static final class Builder
+	{
+		private int[] base = new int[0], check = new int[0];
+		private int used; // One past the highest slot taken so far.
+		private int nextCheck; // Where the search for a free slot starts.
+		private int uniqueStrings, numStrings;
+
+		private void grow(int slots)
+		{
+			if (slots <= this.check.length)
+				return;
+
+			int length = Math.max(slots, 2 * this.check.length);
+			int old = this.check.length;
+
+			this.base = Arrays.copyOf(this.base, length);
+			this.check = Arrays.copyOf(this.check, length);
+			Arrays.fill(this.check, old, length, FREE);
+		}
+
+		private void take(int slot, int parent)
+		{
+			this.check[slot] = parent;
+			this.used = Math.max(this.used, slot + 1);
+		}
+
+		// Finds a base (at least 1, so no transition leads back to the root) that
+		// puts every one of codes[0..n) on a free slot. codes is sorted.
+		private int findBase(int[] codes, int n)
+		{
+			int start = Math.max(this.nextCheck, codes[0] + 1);
+			int firstFree = -1, taken = 0, tries = 0;
+
+			for (int slot = start; ; slot++)
+			{
+				grow(slot + ALPHABET + 1);
+
+				if (this.check[slot] != FREE)
+				{
+					taken++;
+					continue;
+				}
+
+				if (firstFree < 0)
+					firstFree = slot;
+
+				// A state with many children rarely fits in the gaps of a half
+				// full region, so after enough tries it goes past the end instead.
+				if (++tries > MAX_TRIES && slot < this.used)
+				{
+					this.nextCheck = firstFree;
+					grow(this.used + ALPHABET + 1);
+					return Math.max(1, this.used - codes[0]);
+				}
+
+				int base = slot - codes[0];
+				int i = 1;
+
+				while (i < n && this.check[base + codes[i]] == FREE)
+					i++;
+
+				if (i == n)
+				{
+					// Start the next search at the first free slot, unless the slots
+					// scanned were almost all taken; the few holes left there would
+					// only be tried, and fail, over and over again.
+					if (taken >= 0.95 * (slot - start + 1))
+						this.nextCheck = slot;
+					else
+						this.nextCheck = firstFree;
+
+					return base;
+				}
+			}
+		}
+
+		private DoubleArrayTrie build(Trie.Node root, byte [] normalization)
+		{
+			grow(1 + ALPHABET + 1);
+			take(0, 0); // The root: its CHECK is never compared with anything.
+
+			Set<Trie.Node> dead = Collections.newSetFromMap(new IdentityHashMap<>());
+			findDead(root, dead);
+
+			ArrayDeque<Trie.Node> nodes = new ArrayDeque<>();
+			ArrayDeque<Integer> states = new ArrayDeque<>();
+			int[] codes = new int[ALPHABET + 1];
+
+			nodes.add(root);
+			states.add(0);
+
+			// Breadth first, so the states every lookup passes through (the top
+			// few levels) end up packed together near the start.
+			while (!nodes.isEmpty())
+			{
+				Trie.Node node = nodes.poll();
+				int s = states.poll();
+				int n = 0;
+
+				if (node.count > 0)
+					codes[n++] = 0;
+
+				for (int i = 0; i < ALPHABET; i++)
+					if (node.children[i] != null && !dead.contains(node.children[i]))
+						codes[n++] = i + 1;
+
+				if (n == 0)
+					continue;
+
+				int base = findBase(codes, n);
+				this.base[s] = base;
+
+				for (int j = 0; j < n; j++)
+				{
+					int t = base + codes[j];
+					take(t, s);
+
+					if (codes[j] == 0)
+					{
+						this.base[t] = -node.count;
+						this.uniqueStrings++;
+						this.numStrings += node.count;
+					}
+					else
+					{
+						nodes.add(node.children[codes[j] - 1]);
+						states.add(t);
+					}
+				}
+			}
+
+			boolean custom = !Arrays.equals(normalization, DEFAULT_NORMALIZATION);
+			int[] units = new int[HEADER + 2 * this.used + (custom ? TABLE : 0)];
+			units[0] = MAGIC;
+			units[1] = this.used;
+			units[2] = this.uniqueStrings;
+			units[3] = this.numStrings;
+			units[4] = custom ? 1 : 0;
+
+			for (int s = 0; s < this.used; s++)
+			{
+				units[HEADER + 2 * s] = this.base[s];
+				units[HEADER + 2 * s + 1] = this.check[s];
+			}
+
+			// Four entries to an int, first in the low byte, so the file holds
+			// the table in char order.
+			if (custom)
+				for (int c = 0; c <= Character.MAX_VALUE; c++)
+					units[HEADER + 2 * this.used + c / 4] |= (normalization[c] & 0xFF) << (8 * (c % 4));
+
+			return new DoubleArrayTrie(IntBuffer.wrap(units));
+		}
+	}
+
+	// Trie.delete() can leave nodes behind that no word passes through any
+	// more; findDead() collects them so they can be left out. Returns whether
+	// any word passes through node.
+	private static boolean findDead(Trie.Node node, Set<Trie.Node> dead)
+	{
+		boolean live = node.count > 0;
+
+		for (Trie.Node child : node.children)
+			if (child != null && findDead(child, dead))
+				live = true;
+
+		if (!live)
+			dead.add(node);
+
+		return live;
+	}
+
+	// Compiles the current contents of trie. Later changes to the trie are not
+	// reflected in the result.
+	public static DoubleArrayTrie build(Trie trie)
+	{
+		return new Builder().build(trie.getRoot(), trie.getNormalization());
+	}
+
+	// =========================================================================
+	// Files
+	// =========================================================================
+
+	// Writes this trie to file, replacing whatever was there. As in
+	// MappedLongIndex, the trie is written to a temporary file next to file and
+	// moved into place once it's complete, so a failed write leaves file as it
+	// was, and a trie mapped from file can be written back to it.
+	public void write(Path file) throws IOException
+	{
+		long bytes = 4L * this.units.capacity();
+		Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+
+		try
+		{
+			try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING))
+			{
+				MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+				IntBuffer units = buffer.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+
+				// Everything but MAGIC, which goes last so a torn file never opens.
+				units.position(1);
+				units.put(this.units.duplicate().position(1).limit(this.units.capacity()));
+				units.put(0, MAGIC);
+
+				buffer.force();
+			}
+
+			Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		}
+		finally
+		{
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	// Maps a trie written by write(). Throws IOException if the file isn't one.
+	public static DoubleArrayTrie open(Path file) throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+		{
+			long bytes = channel.size();
+
+			if (bytes < 4 * HEADER || bytes % 4 != 0 || bytes > Integer.MAX_VALUE)
+				throw new IOException(file + " is not a DoubleArrayTrie (size " + bytes + ")");
+
+			// As in MappedLongIndex, the mapping outlives the channel and is
+			// released once the trie is garbage collected.
+			IntBuffer units = channel.map(FileChannel.MapMode.READ_ONLY, 0, bytes).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+
+			if (units.get(0) != MAGIC)
+				throw new IOException(file + " is not a DoubleArrayTrie (bad magic number)");
+
+			if (units.get(4) != 0 && units.get(4) != 1)
+				throw new IOException(file + " is not a DoubleArrayTrie (bad normalization flag)");
+
+			if (HEADER + 2L * units.get(1) + (units.get(4) == 0 ? 0 : TABLE) != bytes / 4)
+				throw new IOException(file + " is not a DoubleArrayTrie (slot count doesn't match size)");
+
+			return new DoubleArrayTrie(units);
+		}
+	}
+
+	// =========================================================================
+	// Lookups
+	// =========================================================================
+
+	// The state str leads to, or -1 if it leads nowhere.
+	private int walk(CharSequence str)
+	{
+		int s = 0;
+
+		for (int i = 0; i < str.length(); i++)
+		{
+			int index = this.normalization[str.charAt(i)];
+
+			if (index == Trie.SKIP) continue;
+			if (index == Trie.REJECT) return -1;
+
+			int t = base(s) + index + 1;
+
+			if (t >= this.slots || check(t) != s)
+				return -1;
+
+			s = t;
+		}
+
+		return s;
+	}
+
+	public boolean contains(CharSequence str)
+	{
+		return countSpecificString(str) > 0;
+	}
+
+	// Count of a specific string.
+	public int countSpecificString(CharSequence str)
+	{
+		if (str == null)
+			return 0;
+
+		int s = walk(str);
+
+		if (s < 0)
+			return 0;
+
+		int t = base(s); // The end-of-word transition, code 0.
+
+		return (t > 0 && t < this.slots && check(t) == s) ? -base(t) : 0;
+	}
+
+	// Counts the number of strings in the trie, including duplicates.
+	public int countNumStrings()
+	{
+		return this.numStrings;
+	}
+
+	// Counts the number of unique strings in the trie.
+	public int countUniqueStrings()
+	{
+		return this.uniqueStrings;
+	}
+
+	// Number of BASE/CHECK slots, used or not.
+	public int getSlots()
+	{
+		return this.slots;
+	}
+
+	public static void main(String[] args) throws IOException
+	{
+		Trie lexicon = new Trie();
+
+		for (String word : new String[] { "beast", "apple", "app", "", "starlord", "Apple", "apple", "quid-pro-quo", "linux", "lip gloss" })
+			lexicon.insert(word);
+
+		lexicon.delete("linux"); // Leaves "l" and "i" behind in the Trie.
+
+		DoubleArrayTrie small = DoubleArrayTrie.build(lexicon);
+		System.out.println("slots: " + small.getSlots() + ", strings: " + small.countNumStrings() + ", unique: " + small.countUniqueStrings());
+
+		for (String word : new String[] { "apple", "APP", "ap", "quidproquo", "linux", "lipgloss", "", "na\u00efve" })
+			System.out.println("\"" + word + "\": " + small.countSpecificString(word));
+		System.out.println();
+
+		// A Trie that folds accented letters into plain ones; its compiled
+		// form, and the file written from that, fold them the same way.
+		byte[] folding = Trie.defaultNormalization();
+		folding['\u00e9'] = folding['\u00c9'] = 'e' - 'a';
+		folding['\u00ef'] = folding['\u00cf'] = 'i' - 'a';
+
+		Trie accents = new Trie(folding);
+		accents.insert("na\u00efve");
+		accents.insert("caf\u00e9");
+
+		Path folded = Files.createTempFile("accents", ".dat");
+
+		try
+		{
+			DoubleArrayTrie.build(accents).write(folded);
+			DoubleArrayTrie mapped = DoubleArrayTrie.open(folded);
+
+			for (String word : new String[] { "naive", "NA\u00cfVE", "cafe", "caf\u00e8" })
+				System.out.println("\"" + word + "\": Trie " + accents.countSpecificString(word) + ", mapped " + mapped.countSpecificString(word));
+			System.out.println();
+		}
+		finally
+		{
+			Files.deleteIfExists(folded);
+		}
+
+		// A dictionary of random words, compiled, written out, and mapped back in.
+		int n = 200_000;
+		Random randy = new Random(42);
+		String[] dictionary = new String[n];
+		Trie trie = new Trie();
+
+		for (int i = 0; i < n; i++)
+		{
+			char[] letters = new char[4 + randy.nextInt(9)];
+
+			for (int j = 0; j < letters.length; j++)
+				letters[j] = (char)('a' + randy.nextInt(26));
+
+			dictionary[i] = new String(letters);
+			trie.insert(dictionary[i]);
+		}
+
+		long start = System.nanoTime();
+		DoubleArrayTrie built = DoubleArrayTrie.build(trie);
+		long buildNanos = System.nanoTime() - start;
+
+		Path file = Files.createTempFile("dictionary", ".dat");
+
+		try
+		{
+			start = System.nanoTime();
+			built.write(file);
+			long writeNanos = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			DoubleArrayTrie mapped = DoubleArrayTrie.open(file);
+			long openNanos = System.nanoTime() - start;
+
+			System.out.printf("%d words: %d slots (%.1f MB), built in %d ms, written in %d ms, opened in %.2f ms\n",
+				n, mapped.getSlots(), Files.size(file) / 1e6, buildNanos / 1_000_000, writeNanos / 1_000_000, openNanos / 1e6);
+
+			// Half the queries are words in the dictionary, half are random.
+			String[] queries = new String[1 << 16];
+			for (int i = 0; i < queries.length; i++)
+				queries[i] = ((i & 1) == 0) ? dictionary[randy.nextInt(n)] : dictionary[randy.nextInt(n)].substring(1);
+
+			for (int round = 0; round < 3; round++)
+			{
+				int trieHits = 0, heapHits = 0, mappedHits = 0;
+
+				start = System.nanoTime();
+				for (String query : queries)
+					if (trie.contains(query)) trieHits++;
+				long trieNanos = System.nanoTime() - start;
+
+				start = System.nanoTime();
+				for (String query : queries)
+					if (built.contains(query)) heapHits++;
+				long heapNanos = System.nanoTime() - start;
+
+				start = System.nanoTime();
+				for (String query : queries)
+					if (mapped.contains(query)) mappedHits++;
+				long mappedNanos = System.nanoTime() - start;
+
+				if (trieHits != heapHits || trieHits != mappedHits)
+					throw new IllegalStateException("hits differ: " + trieHits + ", " + heapHits + ", " + mappedHits);
+
+				System.out.printf("%d hits | Trie %.0f ns | DoubleArrayTrie %.0f ns (heap), %.0f ns (mapped)\n", trieHits,
+					(double)trieNanos / queries.length, (double)heapNanos / queries.length, (double)mappedNanos / queries.length);
+			}
+		}
+		finally
+		{
+			Files.deleteIfExists(file);
+		}
+	}
+}
@@ -0,0 +1,75 @@
+// JP Valdespino
+// October 2026
+
+// EytzingerBenchmark.java
+// =======================
+// Times contains() on the pointer-based AVL trees against their frozen
+// Eytzinger snapshots. Half of the probes hit and half (almost surely) miss.
+// Pass a key count as the first argument to try bigger trees, e.g.
+//   java -Xmx8g EytzingerBenchmark 20000000
+
+import java.util.Random;
+
+public class EytzingerBenchmark
+{
+	public static void main(String[] args)
+	{
+		int n = (args.length > 0) ? Integer.parseInt(args[0]) : 1 << 22;
+		int probes = 1 << 22;
+		Random randy = new Random(7);
+
+		AVLTree<Integer> tree = new AVLTree<>();
+		IntAVLTree intTree = new IntAVLTree(n);
+		for (int i = 0; i < n; i++)
+		{
+			int k = randy.nextInt();
+			tree.add(k);
+			intTree.add(k);
+		}
+
+		EytzingerSet<Integer> frozen = tree.freeze();
+		IntEytzingerSet intFrozen = intTree.freeze();
+
+		int[] queries = new int[probes];
+		Integer[] boxedQueries = new Integer[probes];
+		randy = new Random(7);
+		for (int i = 0; i < probes; i += 2)
+		{
+			queries[i] = randy.nextInt();
+			queries[i + 1] = randy.nextInt() ^ 0x5bd1e995;
+		}
+		for (int i = 0; i < probes; i++)
+			boxedQueries[i] = queries[i];
+
+		System.out.println(n + " keys, " + probes + " lookups, ns per lookup:");
+
+		for (int round = 0; round < 3; round++)
+		{
+			long start = System.nanoTime();
+			int hits = 0;
+			for (Integer q : boxedQueries)
+				if (tree.contains(q)) hits++;
+			long avl = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			for (Integer q : boxedQueries)
+				if (frozen.contains(q)) hits--;
+			long eytz = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			for (int q : queries)
+				if (intTree.contains(q)) hits++;
+			long intAvl = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			for (int q : queries)
+				if (intFrozen.contains(q)) hits--;
+			long intEytz = System.nanoTime() - start;
+
+			// Both pairs must agree, so the hits cancel out.
+			System.out.printf("AVLTree %6.1f | EytzingerSet %6.1f | IntAVLTree %6.1f | IntEytzingerSet %6.1f%s\n",
+				(double)avl / probes, (double)eytz / probes, (double)intAvl / probes, (double)intEytz / probes,
+				(hits == 0) ? "" : "  (MISMATCH)");
+		}
+	}
+}
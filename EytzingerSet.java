@@ -0,0 +1,167 @@
+// JP Valdespino
+// October 2026
+
+// EytzingerSet.java
+// =================
+// An immutable, read-only snapshot of a sorted set, packed into one array in
+// Eytzinger (BFS) order: the root sits at index 1 and the children of index i
+// sit at 2i and 2i + 1. A lookup walks down that implicit tree like a binary
+// search, but the first few levels share a handful of cache lines and each
+// step is a single array load, instead of chasing a pointer to a Node that
+// could live anywhere on the heap.
+//
+// ceiling() never exits early on a match, so its only branch is the loop
+// condition; which child to visit is computed, not branched on. When the loop
+// falls off the bottom of the tree, the trailing 1 bits of the index encode
+// the path back up to the answer (Khuong & Morin, "Array Layouts for
+// Comparison-Based Searching"). contains() does stop on a match, since with
+// generic keys every comparison is a trip to some boxed key on the heap, and
+// saving those matters more than saving a branch.
+//
+// Build one with BST.freeze() or AVLTree.freeze(), which pass along the tree's
+// Comparator, if it has one. For int/long keys see
+// IntEytzingerSet and LongEytzingerSet.
+
+// +-----------------------------------------------------+
+// | Eytzinger Set                                       |
+// |-----------------------------------------------------|
+// | Time Complexity: | Best Case | Worst Case | Average |
+// |------------------+-----------+------------+---------|
+// | Construction:    |   O(n)    |    O(n)    |  O(n)   |
+// | Search:          | O(log n)  |  O(log n)  | O(log n)|
+// +-----------------------------------------------------+
+// *Where n is the number of elements in the Set.
+
+import java.util.ArrayList;
+import java.util.Comparator;
+
+public class EytzingerSet<AnyType extends Comparable<AnyType>>
+{
+	private final Object[] keys; // keys[0] is unused.
+	private final int size;
+	private final Comparator<? super AnyType> comparator; // Null for natural ordering.
+
+	// items must iterate in strictly increasing order (as the trees' iterators
+	// do); throws IllegalArgumentException if they don't.
+	public EytzingerSet(Iterable<AnyType> items)
+	{
+		this(items, null);
+	}
+
+	// Orders the elements with comparator instead of their compareTo(); items
+	// must iterate in strictly increasing order by comparator.
+	public EytzingerSet(Iterable<AnyType> items, Comparator<? super AnyType> comparator)
+	{
+		this.comparator = comparator;
+
+		ArrayList<AnyType> sorted = new ArrayList<>();
+
+		for (AnyType item : items)
+			sorted.add(item);
+
+		this.size = sorted.size();
+		this.keys = new Object[this.size + 1];
+
+		fill(sorted, 1, 0);
+	}
+
+	// Writes sorted[next...] into the subtree rooted at index k, in order.
+	// Returns the index of the next element to place.
+	private int fill(ArrayList<AnyType> sorted, int k, int next)
+	{
+		if (k > this.size)
+			return next;
+
+		next = fill(sorted, 2 * k, next);
+
+		// Elements are placed in order, so each is checked against the last.
+		AnyType item = sorted.get(next);
+		if (next > 0 && compare(item, sorted.get(next - 1)) <= 0)
+			throw new IllegalArgumentException("elements must be strictly increasing: " + item + " after " + sorted.get(next - 1));
+
+		this.keys[k] = item;
+		next++;
+		return fill(sorted, 2 * k + 1, next);
+	}
+
+	private int compare(AnyType a, AnyType b)
+	{
+		return (this.comparator == null) ? a.compareTo(b) : this.comparator.compare(a, b);
+	}
+
+	@SuppressWarnings("unchecked")
+	private AnyType key(int i)
+	{
+		return (AnyType)this.keys[i];
+	}
+
+	// Returns the index of the smallest key >= data, or 0 if there isn't one.
+	private int lowerBound(AnyType data)
+	{
+		int i = 1;
+
+		while (i <= this.size)
+			i = 2 * i + ((compare(data, key(i)) > 0) ? 1 : 0);
+
+		// Undo the trailing right turns, plus the final left turn.
+		return i >>> (Integer.numberOfTrailingZeros(~i) + 1);
+	}
+
+	public boolean contains(AnyType data)
+	{
+		int i = 1;
+
+		while (i <= this.size)
+		{
+			int comparisonValue = compare(data, key(i));
+
+			if (comparisonValue == 0)
+				return true;
+
+			i = 2 * i + ((comparisonValue > 0) ? 1 : 0);
+		}
+
+		return false;
+	}
+
+	// Returns the smallest element >= data, or null if there isn't one.
+	public AnyType ceiling(AnyType data)
+	{
+		int i = lowerBound(data);
+		return (i == 0) ? null : key(i);
+	}
+
+	public int size()
+	{
+		return this.size;
+	}
+
+	// Returns the Comparator this set is ordered by, or null for natural ordering.
+	public Comparator<? super AnyType> comparator()
+	{
+		return this.comparator;
+	}
+
+	public static void main(String[] args)
+	{
+		ArrayList<String> words = new ArrayList<>();
+		for (String word : new String[] { "apple", "beast", "fire", "linux", "program", "system" })
+			words.add(word);
+
+		EytzingerSet<String> s = new EytzingerSet<>(words);
+
+		System.out.println("size: " + s.size());
+		System.out.println("contains linux: " + s.contains("linux"));
+		System.out.println("contains lip: " + s.contains("lip"));
+		System.out.println("ceiling lip: " + s.ceiling("lip"));
+		System.out.println("ceiling zebra: " + s.ceiling("zebra"));
+
+		// The same words by length, then alphabetically.
+		Comparator<String> byLength = Comparator.comparing(String::length).thenComparing(Comparator.naturalOrder());
+		words.sort(byLength);
+		EytzingerSet<String> t = new EytzingerSet<>(words, byLength);
+
+		System.out.println("by length, ceiling \"zzzzz\": " + t.ceiling("zzzzz"));
+		System.out.println("by length, contains fire: " + t.contains("fire"));
+	}
+}
@@ -14,6 +14,7 @@ import java.io.IOException;
 import java.util.Queue;
 import java.util.Arrays;
 import java.util.Scanner;
+import java.util.Stack;
 import java.util.ArrayList;
 import java.util.LinkedList;
 
@@ -97,7 +98,7 @@ public class Graph
 		return false;
 	}
 
-	public static boolean containsCycle_forDirectedGraphs()
+	public boolean containsCycle_forDirectedGraphs()
 	{
 		boolean[] visited = new boolean[this.adjList.size()];
 		Stack<Integer> stack = new Stack<>();
@@ -157,7 +158,7 @@ public class Graph
 		g1.displayAdjMatrix();
 		System.out.println();
 
-		System.out.println("contains cycle petersen graph: " + g1.containsCycle());
-		System.out.println("contains cycle tree graph: " + g2.containsCycle());
+		System.out.println("contains cycle petersen graph: " + g1.containsCycle_forUndirectedGraphs());
+		System.out.println("contains cycle tree graph: " + g2.containsCycle_forUndirectedGraphs());
 	}
 }
\ No newline at end of file
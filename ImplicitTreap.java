@@ -0,0 +1,350 @@
+// JP Valdespino
+// October 2026
+
+// ImplicitTreap.java
+// ==================
+// A sequence (a "rope") stored as a Treap with implicit keys. Nodes are not
+// ordered by their data but by their position, and a node's position is never
+// stored anywhere: it is the number of nodes to its left, which we get from
+// the subtree sizes on the way down. Everything is built out of the same two
+// primitives Treap uses for split() and merge():
+//
+// - split(k) cuts the sequence into its first k elements and the rest.
+// - merge(a, b) glues two sequences together, a before b.
+//
+// Reversing a range just flags the root of that range; the flag is pushed down
+// to the children the next time anyone walks through the node.
+
+// +-----------------------------------------------------+
+// | Implicit Treap                                      |
+// |-----------------------------------------------------|
+// | Time Complexity: | Best Case | Worst Case | Average |
+// |------------------+-----------+------------+---------|
+// | Insertion:       |   O(1)    |    O(n)    | O(log n)|
+// | Deletion:        |   O(1)    |    O(n)    | O(log n)|
+// | Access:          |   O(1)    |    O(n)    | O(log n)|
+// | Split/Merge:     |   O(1)    |    O(n)    | O(log n)|
+// | Reverse Range:   |   O(1)    |    O(n)    | O(log n)|
+// +-----------------------------------------------------+
+// *Where n is the number of elements in the sequence. The worst case needs
+//  astronomically bad luck with the random priorities.
+
+import java.util.concurrent.ThreadLocalRandom;
+
+public class ImplicitTreap<AnyType>
+{
+	static final class Node<AnyType>
+	{
+		AnyType data;
+		int priority;
+		int size = 1; // Number of nodes in the subtree rooted here.
+		boolean reversed; // The subtree's order still needs to be flipped.
+		Node<AnyType> left, right;
+
+		Node(AnyType data, int priority)
+		{
+			this.data = data;
+			this.priority = priority;
+		}
+	}
+
+	private Node<AnyType> root;
+
+	// Scratch space for split(), reused so that most operations don't allocate.
+	private Node<AnyType>[] parts;
+
+	@SuppressWarnings("unchecked")
+	public ImplicitTreap()
+	{
+		this.root = null;
+		this.parts = (Node<AnyType>[]) new Node[2];
+	}
+
+	// Same convention as Treap: the smaller number has the higher priority.
+	private static int generatePriority()
+	{
+		return ThreadLocalRandom.current().nextInt();
+	}
+
+	private static int size(Node<?> node)
+	{
+		return (node == null) ? 0 : node.size;
+	}
+
+	private static void update(Node<?> node)
+	{
+		node.size = 1 + size(node.left) + size(node.right);
+	}
+
+	// Applies a pending reversal to node, handing the flag down to its children.
+	private static <AnyType> void push(Node<AnyType> node)
+	{
+		if (!node.reversed)
+			return;
+
+		Node<AnyType> temp = node.left;
+		node.left = node.right;
+		node.right = temp;
+
+		if (node.left != null)
+			node.left.reversed = !node.left.reversed;
+		if (node.right != null)
+			node.right.reversed = !node.right.reversed;
+
+		node.reversed = false;
+	}
+
+	// Glues two sequences together, a before b.
+	private static <AnyType> Node<AnyType> merge(Node<AnyType> a, Node<AnyType> b)
+	{
+		if (a == null) return b;
+		if (b == null) return a;
+
+		if (a.priority < b.priority)
+		{
+			push(a);
+			a.right = merge(a.right, b);
+			update(a);
+			return a;
+		}
+		else
+		{
+			push(b);
+			b.left = merge(a, b.left);
+			update(b);
+			return b;
+		}
+	}
+
+	// Splits node into its first k elements (into out[0]) and the rest (out[1]).
+	private static <AnyType> void split(Node<AnyType> node, int k, Node<AnyType>[] out)
+	{
+		if (node == null)
+		{
+			out[0] = out[1] = null;
+			return;
+		}
+
+		push(node);
+
+		int leftSize = size(node.left);
+
+		if (leftSize < k)
+		{
+			split(node.right, k - leftSize - 1, out);
+			node.right = out[0];
+			update(node);
+			out[0] = node;
+		}
+		else
+		{
+			split(node.left, k, out);
+			node.left = out[1];
+			update(node);
+			out[1] = node;
+		}
+	}
+
+	private void checkIndex(int index, int bound)
+	{
+		if (index < 0 || index > bound)
+			throw new IndexOutOfBoundsException("index " + index + ", size " + size());
+	}
+
+	public int size()
+	{
+		return size(this.root);
+	}
+
+	private Node<AnyType> nodeAt(int index)
+	{
+		checkIndex(index, size() - 1);
+
+		Node<AnyType> node = this.root;
+
+		while (true)
+		{
+			push(node);
+
+			int leftSize = size(node.left);
+
+			if (index < leftSize)
+			{
+				node = node.left;
+			}
+			else if (index > leftSize)
+			{
+				index -= leftSize + 1;
+				node = node.right;
+			}
+			else
+			{
+				return node;
+			}
+		}
+	}
+
+	public AnyType get(int index)
+	{
+		return nodeAt(index).data;
+	}
+
+	// Replaces the element at index, returning the old one.
+	public AnyType set(int index, AnyType data)
+	{
+		Node<AnyType> node = nodeAt(index);
+		AnyType old = node.data;
+		node.data = data;
+		return old;
+	}
+
+	// Appends data to the end of the sequence.
+	public void add(AnyType data)
+	{
+		this.root = merge(this.root, new Node<>(data, generatePriority()));
+	}
+
+	// Inserts data so that it ends up at position index.
+	public void insertAt(int index, AnyType data)
+	{
+		checkIndex(index, size());
+
+		split(this.root, index, this.parts);
+		Node<AnyType> before = this.parts[0];
+		Node<AnyType> after = this.parts[1];
+
+		this.root = merge(merge(before, new Node<>(data, generatePriority())), after);
+	}
+
+	// Removes and returns the element at index.
+	public AnyType removeAt(int index)
+	{
+		checkIndex(index, size() - 1);
+
+		split(this.root, index, this.parts);
+		Node<AnyType> before = this.parts[0];
+
+		split(this.parts[1], 1, this.parts);
+		Node<AnyType> removed = this.parts[0];
+		Node<AnyType> after = this.parts[1];
+
+		this.root = merge(before, after);
+		return removed.data;
+	}
+
+	// Cuts out the elements in [from, to) and returns them as their own sequence.
+	public ImplicitTreap<AnyType> splice(int from, int to)
+	{
+		checkIndex(to, size());
+		checkIndex(from, to);
+
+		split(this.root, from, this.parts);
+		Node<AnyType> before = this.parts[0];
+
+		split(this.parts[1], to - from, this.parts);
+		Node<AnyType> middle = this.parts[0];
+		Node<AnyType> after = this.parts[1];
+
+		this.root = merge(before, after);
+
+		ImplicitTreap<AnyType> cut = new ImplicitTreap<>();
+		cut.root = middle;
+		return cut;
+	}
+
+	// Moves all of other into this sequence, starting at position index. other
+	// is left empty.
+	public void insertAll(int index, ImplicitTreap<AnyType> other)
+	{
+		checkIndex(index, size());
+
+		if (other == this)
+			throw new IllegalArgumentException("cannot insert a sequence into itself");
+
+		split(this.root, index, this.parts);
+		this.root = merge(merge(this.parts[0], other.root), this.parts[1]);
+
+		other.root = null;
+	}
+
+	// Moves all of other onto the end of this sequence, leaving other empty.
+	public void concat(ImplicitTreap<AnyType> other)
+	{
+		insertAll(size(), other);
+	}
+
+	// Cuts this sequence after its first index elements, returning the rest.
+	public ImplicitTreap<AnyType> splitAt(int index)
+	{
+		return splice(index, size());
+	}
+
+	// Reverses the order of the elements in [from, to).
+	public void reverse(int from, int to)
+	{
+		checkIndex(to, size());
+		checkIndex(from, to);
+
+		split(this.root, from, this.parts);
+		Node<AnyType> before = this.parts[0];
+
+		split(this.parts[1], to - from, this.parts);
+		Node<AnyType> middle = this.parts[0];
+		Node<AnyType> after = this.parts[1];
+
+		if (middle != null)
+			middle.reversed = !middle.reversed;
+
+		this.root = merge(merge(before, middle), after);
+	}
+
+	public String toString()
+	{
+		StringBuilder str = new StringBuilder("[");
+		toString(this.root, str);
+
+		if (str.length() > 1)
+			str.setLength(str.length() - 2);
+
+		return str.append("]").toString();
+	}
+
+	private void toString(Node<AnyType> node, StringBuilder str)
+	{
+		if (node == null) return;
+
+		push(node);
+		toString(node.left, str);
+		str.append(node.data).append(", ");
+		toString(node.right, str);
+	}
+
+	public static void main(String[] args)
+	{
+		// A tiny text buffer, one character per element.
+		ImplicitTreap<Character> buffer = new ImplicitTreap<>();
+
+		for (char c : "hello world".toCharArray())
+			buffer.add(c);
+
+		System.out.println("buffer: " + buffer);
+		System.out.println("size: " + buffer.size());
+		System.out.println("get 4: " + buffer.get(4));
+
+		buffer.insertAt(5, ',');
+		System.out.println("insert ',' at 5: " + buffer);
+
+		buffer.removeAt(0);
+		buffer.insertAt(0, 'H');
+		System.out.println("replace 0 with 'H': " + buffer);
+
+		ImplicitTreap<Character> word = buffer.splice(7, 12);
+		System.out.println("splice [7, 12): " + buffer + " + " + word);
+
+		word.reverse(0, word.size());
+		System.out.println("reverse it: " + word);
+
+		buffer.concat(word);
+		System.out.println("concatenate: " + buffer + ", size " + buffer.size());
+	}
+}
@@ -0,0 +1,348 @@
+// JP Valdespino
+// October 2026
+
+// IntervalTree.java
+// =================
+// An AVL tree of closed intervals [lo, hi], ordered by lo (then hi), where
+// every node also keeps the largest hi anywhere in its subtree. That one
+// extra field is enough to answer "which intervals overlap [lo, hi]?"
+// without looking at most of the tree: a subtree whose max is below lo
+// can't hold an overlap, and once an interval starts after hi, so does
+// everything after it in order.
+//
+// It is an AVLTree of intervals: add(), remove() and the balancing are
+// AVLTree's own, and the max field rides along through AVLTree's augment()
+// hook, which the rotations and the walk back up after each change call to
+// recompute it. So it is also a NavigableSet of intervals.
+//
+// Query results come out of a lazy iterator, in order of lo, so nothing is
+// collected up front and a caller that only wants the first few can stop.
+
+// +-----------------------------------------------------+
+// | Interval Tree                                       |
+// |-----------------------------------------------------|
+// | Time Complexity: | Best Case | Worst Case | Average |
+// |------------------+-----------+------------+---------|
+// | Insertion:       |   O(1)    |  O(log n)  | O(log n)|
+// | Deletion:        |   O(1)    |  O(log n)  | O(log n)|
+// | Any Overlap:     |   O(1)    |  O(log n)  | O(log n)|
+// | All Overlaps:    |   O(1)    | O(k log n) | (below) |
+// +-----------------------------------------------------+
+// *Where n is the number of intervals in the Tree.
+// *Where k is the number of intervals reported.
+// *Listing k overlaps takes O(log n + k) when the intervals have similar
+//  lengths, like time windows. In the worst case a node can be visited for
+//  the sake of a descendant that then starts too late, which costs up to
+//  O(log n) extra per interval reported.
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+public class IntervalTree<AnyType extends Comparable<AnyType>> extends AVLTree<IntervalTree.Interval<AnyType>>
+{
+	// A closed interval: both endpoints are part of it. Intervals are ordered
+	// by lo, then hi.
+	public static final class Interval<AnyType extends Comparable<AnyType>> implements Comparable<Interval<AnyType>>
+	{
+		public final AnyType lo, hi;
+
+		public Interval(AnyType lo, AnyType hi)
+		{
+			if (lo.compareTo(hi) > 0)
+				throw new IllegalArgumentException("interval ends before it starts: [" + lo + ", " + hi + "]");
+
+			this.lo = lo;
+			this.hi = hi;
+		}
+
+		public boolean overlaps(AnyType lo, AnyType hi)
+		{
+			return this.lo.compareTo(hi) <= 0 && this.hi.compareTo(lo) >= 0;
+		}
+
+		public boolean contains(AnyType point)
+		{
+			return overlaps(point, point);
+		}
+
+		public int compareTo(Interval<AnyType> that)
+		{
+			int comparisonValue = this.lo.compareTo(that.lo);
+			return (comparisonValue != 0) ? comparisonValue : this.hi.compareTo(that.hi);
+		}
+
+		public boolean equals(Object o)
+		{
+			if (!(o instanceof Interval))
+				return false;
+
+			Interval<?> that = (Interval<?>)o;
+			return this.lo.equals(that.lo) && this.hi.equals(that.hi);
+		}
+
+		public int hashCode()
+		{
+			return 31 * this.lo.hashCode() + this.hi.hashCode();
+		}
+
+		public String toString()
+		{
+			return "[" + this.lo + ", " + this.hi + "]";
+		}
+	}
+
+	static final class MaxNode<AnyType extends Comparable<AnyType>> extends AVLTree.Node<Interval<AnyType>>
+	{
+		AnyType max; // Largest hi in the subtree rooted here.
+
+		MaxNode(Interval<AnyType> interval)
+		{
+			super(interval);
+			this.max = interval.hi;
+		}
+	}
+
+	Node<Interval<AnyType>> newNode(Interval<AnyType> interval)
+	{
+		return new MaxNode<>(interval);
+	}
+
+	// Every node is a MaxNode, since newNode() made it.
+	@SuppressWarnings("unchecked")
+	private static <AnyType extends Comparable<AnyType>> AnyType max(Node<Interval<AnyType>> node)
+	{
+		return ((MaxNode<AnyType>)node).max;
+	}
+
+	// Recomputes node's max from its own interval and its children.
+	@SuppressWarnings("unchecked")
+	boolean augment(Node<Interval<AnyType>> node)
+	{
+		AnyType max = node.data.hi;
+
+		if (node.left != null && max(node.left).compareTo(max) > 0)
+			max = max(node.left);
+		if (node.right != null && max(node.right).compareTo(max) > 0)
+			max = max(node.right);
+
+		MaxNode<AnyType> maxNode = (MaxNode<AnyType>)node;
+		boolean changed = maxNode.max != max;
+		maxNode.max = max;
+
+		return changed;
+	}
+
+	public boolean add(AnyType lo, AnyType hi)
+	{
+		return add(new Interval<>(lo, hi));
+	}
+
+	public boolean remove(AnyType lo, AnyType hi)
+	{
+		return remove(new Interval<>(lo, hi));
+	}
+
+	public boolean contains(AnyType lo, AnyType hi)
+	{
+		return contains(new Interval<>(lo, hi));
+	}
+
+	// Returns some interval that overlaps [lo, hi], or null if none does, in
+	// O(log n): if the left subtree reaches lo at all, then either something in
+	// it overlaps, or nothing to the right can (everything there starts later).
+	public Interval<AnyType> anyOverlapping(AnyType lo, AnyType hi)
+	{
+		Node<Interval<AnyType>> node = root();
+
+		while (node != null)
+		{
+			if (node.data.overlaps(lo, hi))
+				return node.data;
+
+			if (node.left != null && max(node.left).compareTo(lo) >= 0)
+				node = node.left;
+			else
+				node = node.right;
+		}
+
+		return null;
+	}
+
+	// Iterates over every interval that contains point, in order of lo.
+	public Iterator<Interval<AnyType>> stabbing(AnyType point)
+	{
+		return new OverlapCursor(point, point);
+	}
+
+	// Iterates over every interval that overlaps [lo, hi], in order of lo.
+	public Iterator<Interval<AnyType>> overlapping(AnyType lo, AnyType hi)
+	{
+		if (lo.compareTo(hi) > 0)
+			throw new IllegalArgumentException("query ends before it starts: [" + lo + ", " + hi + "]");
+
+		return new OverlapCursor(lo, hi);
+	}
+
+	// An in-order walk that skips every subtree whose max falls short of lo,
+	// and stops for good at the first interval starting after hi. The stack
+	// holds nodes whose interval and right subtree are still to come, as in
+	// the trees' shared cursor.
+	private class OverlapCursor implements Iterator<Interval<AnyType>>
+	{
+		private final AnyType lo, hi;
+		private final ArrayDeque<Node<Interval<AnyType>>> stack;
+		private Node<Interval<AnyType>> next;
+
+		OverlapCursor(AnyType lo, AnyType hi)
+		{
+			this.lo = lo;
+			this.hi = hi;
+			this.stack = new ArrayDeque<>();
+
+			pushLeft(root());
+			advance();
+		}
+
+		private boolean reachesLo(Node<Interval<AnyType>> node)
+		{
+			return max(node).compareTo(this.lo) >= 0;
+		}
+
+		private void pushLeft(Node<Interval<AnyType>> node)
+		{
+			while (node != null && reachesLo(node))
+			{
+				this.stack.push(node);
+				node = node.left;
+			}
+		}
+
+		// Finds the next overlapping interval, leaving it in next (or null).
+		private void advance()
+		{
+			this.next = null;
+
+			while (!this.stack.isEmpty())
+			{
+				Node<Interval<AnyType>> node = this.stack.pop();
+				Interval<AnyType> interval = node.data;
+
+				if (interval.lo.compareTo(this.hi) > 0)
+				{
+					// Everything after this starts even later.
+					this.stack.clear();
+					return;
+				}
+
+				pushLeft(node.right);
+
+				if (interval.hi.compareTo(this.lo) >= 0)
+				{
+					this.next = node;
+					return;
+				}
+			}
+		}
+
+		public boolean hasNext()
+		{
+			return this.next != null;
+		}
+
+		public Interval<AnyType> next()
+		{
+			if (this.next == null)
+				throw new NoSuchElementException();
+
+			Interval<AnyType> interval = this.next.data;
+			advance();
+
+			return interval;
+		}
+	}
+
+	public static void main(String[] args)
+	{
+		IntervalTree<Integer> meetings = new IntervalTree<>();
+
+		meetings.add(9, 10);
+		meetings.add(9, 12);
+		meetings.add(11, 13);
+		meetings.add(14, 16);
+		meetings.add(15, 15);
+		meetings.add(8, 9);
+
+		meetings.inorder();
+		System.out.println("size: " + meetings.getSize() + ", height: " + meetings.getHeight());
+
+		System.out.print("At 9:");
+		for (Iterator<Interval<Integer>> it = meetings.stabbing(9); it.hasNext(); )
+			System.out.print(" " + it.next());
+		System.out.println();
+
+		System.out.print("Overlapping [12, 14]:");
+		for (Iterator<Interval<Integer>> it = meetings.overlapping(12, 14); it.hasNext(); )
+			System.out.print(" " + it.next());
+		System.out.println();
+
+		meetings.remove(9, 12);
+		System.out.println("any at 11 after removing [9, 12]: " + meetings.anyOverlapping(11, 11));
+		System.out.println("any at 17: " + meetings.anyOverlapping(17, 17));
+
+		// IP ranges as longs: which blocks does an address fall in?
+		IntervalTree<Long> blocks = new IntervalTree<>();
+		blocks.add(0x0A000000L, 0x0AFFFFFFL); // 10.0.0.0/8
+		blocks.add(0x0A010000L, 0x0A01FFFFL); // 10.1.0.0/16
+		blocks.add(0xC0A80000L, 0xC0A8FFFFL); // 192.168.0.0/16
+
+		System.out.print("Blocks holding 10.1.2.3:");
+		for (Iterator<Interval<Long>> it = blocks.stabbing(0x0A010203L); it.hasNext(); )
+		{
+			Interval<Long> block = it.next();
+			System.out.printf(" [%08x, %08x]", block.lo, block.hi);
+		}
+		System.out.println();
+
+		// A million time windows of up to a minute within a day, in seconds.
+		// Each stabbing query walks a handful of paths instead of every window.
+		// (The scan also counts the windows that were added twice.)
+		int n = 1_000_000, queries = 1000;
+		Random randy = new Random(42);
+		IntervalTree<Integer> windows = new IntervalTree<>();
+		int[] starts = new int[n], ends = new int[n];
+
+		for (int i = 0; i < n; i++)
+		{
+			starts[i] = randy.nextInt(86_400);
+			ends[i] = starts[i] + randy.nextInt(60);
+			windows.add(starts[i], ends[i]);
+		}
+
+		int[] points = new int[queries];
+		for (int q = 0; q < queries; q++)
+			points[q] = randy.nextInt(86_400);
+
+		long start = System.nanoTime();
+		long found = 0;
+		for (int point : points)
+			for (Iterator<Interval<Integer>> it = windows.stabbing(point); it.hasNext(); it.next())
+				found++;
+		long treeNanos = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		long scanned = 0;
+		for (int point : points)
+		{
+			for (int i = 0; i < n; i++)
+				if (starts[i] <= point && point <= ends[i])
+					scanned++;
+		}
+		long scanNanos = System.nanoTime() - start;
+
+		System.out.printf("%d windows (%d distinct), height %d: %.1f us/query (%.1f hits) vs %.1f us scanning (%.1f hits)\n",
+			n, windows.getSize(), windows.getHeight(), treeNanos / 1e3 / queries, (double)found / queries,
+			scanNanos / 1e3 / queries, (double)scanned / queries);
+	}
+}
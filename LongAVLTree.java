@@ -0,0 +1,367 @@
+// JP Valdespino
+// October 2026
+
+// LongAVLTree.java
+// ================
+// An AVL tree of primitive longs, stored as a struct of arrays instead of one
+// object per node. Node i's key, children and height live at index i of the
+// parallel arrays below, and children are array indices rather than pointers.
+// Index 0 is a sentinel standing in for null, with a height of -1, so height
+// lookups never need a null check. Removed slots go on a free list and are
+// handed out again by the next insertion.
+//
+// Per key this costs 17 bytes (8 key + 4 left + 4 right + 1 height), against
+// roughly 56 bytes for a Node plus a boxed Long in AVLTree<Long>.
+
+// +-----------------------------------------------------+
+// | AVL Tree (long keys)                                |
+// |-----------------------------------------------------|
+// | Time Complexity: | Best Case | Worst Case | Average |
+// |------------------+-----------+------------+---------|
+// | Insertion:       |   O(1)    |  O(log n)  | O(log n)|
+// | Deletion:        |   O(1)    |  O(log n)  | O(log n)|
+// | Search:          |   O(1)    |  O(log n)  | O(log n)|
+// +-----------------------------------------------------+
+// *Where n is the number of elements in the Tree.
+
+import java.util.Arrays;
+
+public class LongAVLTree
+{
+	private static final int NIL = 0;
+	private static final int MAX_DEPTH = 64;
+	private static final int DEFAULT_CAPACITY = 16;
+
+	private long[] keys;
+	private int[] left, right;
+	private byte[] height; // AVL trees never get anywhere near 127 levels tall.
+
+	private int root;
+	private int size;
+	private int next; // First slot that has never been used.
+	private int freeList; // Freed slots, chained through left[].
+
+	// Scratch space for add() and remove(), as in AVLTree.
+	private int[] path;
+	private boolean[] wentLeft;
+
+	public LongAVLTree()
+	{
+		this(DEFAULT_CAPACITY);
+	}
+
+	public LongAVLTree(int initialCapacity)
+	{
+		int capacity = Math.max(2, initialCapacity + 1); // +1 for the sentinel.
+
+		this.keys = new long[capacity];
+		this.left = new int[capacity];
+		this.right = new int[capacity];
+		this.height = new byte[capacity];
+		this.height[NIL] = -1;
+
+		this.root = NIL;
+		this.size = 0;
+		this.next = 1;
+		this.freeList = NIL;
+
+		this.path = new int[MAX_DEPTH];
+		this.wentLeft = new boolean[MAX_DEPTH];
+	}
+
+	public int getSize()
+	{
+		return this.size;
+	}
+
+	public int getHeight()
+	{
+		return this.height[this.root];
+	}
+
+	private int allocate(long key)
+	{
+		int node;
+
+		if (this.freeList != NIL)
+		{
+			node = this.freeList;
+			this.freeList = this.left[node];
+		}
+		else
+		{
+			if (this.next == this.keys.length)
+				grow();
+
+			node = this.next++;
+		}
+
+		this.keys[node] = key;
+		this.left[node] = this.right[node] = NIL;
+		this.height[node] = 0;
+
+		return node;
+	}
+
+	private void release(int node)
+	{
+		this.left[node] = this.freeList;
+		this.right[node] = NIL;
+		this.freeList = node;
+	}
+
+	private void grow()
+	{
+		int capacity = this.keys.length * 2;
+
+		this.keys = Arrays.copyOf(this.keys, capacity);
+		this.left = Arrays.copyOf(this.left, capacity);
+		this.right = Arrays.copyOf(this.right, capacity);
+		this.height = Arrays.copyOf(this.height, capacity);
+	}
+
+	private void updateHeight(int node)
+	{
+		this.height[node] = (byte)(1 + Math.max(this.height[this.left[node]], this.height[this.right[node]]));
+	}
+
+	private int balanceFactor(int node)
+	{
+		return this.height[this.left[node]] - this.height[this.right[node]];
+	}
+
+	private int rotateLeft(int node)
+	{
+		int temp = this.right[node];
+		this.right[node] = this.left[temp];
+		this.left[temp] = node;
+
+		updateHeight(node);
+		updateHeight(temp);
+
+		return temp;
+	}
+
+	private int rotateRight(int node)
+	{
+		int temp = this.left[node];
+		this.left[node] = this.right[temp];
+		this.right[temp] = node;
+
+		updateHeight(node);
+		updateHeight(temp);
+
+		return temp;
+	}
+
+	private int balanceAVLTree(int node)
+	{
+		int bf = balanceFactor(node);
+
+		if (bf == -2)
+		{
+			if (balanceFactor(this.right[node]) > 0)
+				this.right[node] = rotateRight(this.right[node]);
+
+			node = rotateLeft(node);
+		}
+		else if (bf == 2)
+		{
+			if (balanceFactor(this.left[node]) < 0)
+				this.left[node] = rotateLeft(this.left[node]);
+
+			node = rotateRight(node);
+		}
+
+		return node;
+	}
+
+	private void link(int depth, int child)
+	{
+		if (depth == 0)
+			this.root = child;
+		else if (this.wentLeft[depth - 1])
+			this.left[this.path[depth - 1]] = child;
+		else
+			this.right[this.path[depth - 1]] = child;
+	}
+
+	// Same early-exit retrace as AVLTree: stop once a subtree's height is unchanged.
+	private void retrace(int depth)
+	{
+		for (int i = depth - 1; i >= 0; i--)
+		{
+			int node = this.path[i];
+			int oldHeight = this.height[node];
+
+			updateHeight(node);
+
+			int balanced = balanceAVLTree(node);
+
+			if (balanced != node)
+				link(i, balanced);
+
+			if (this.height[balanced] == oldHeight)
+				break;
+		}
+	}
+
+	// Returns true if the tree changed (i.e. key was not already in the tree).
+	public boolean add(long key)
+	{
+		int node = this.root;
+		int depth = 0;
+
+		while (node != NIL)
+		{
+			long nodeKey = this.keys[node];
+
+			if (key == nodeKey)
+				return false; // Disallows the insertion of duplicate values.
+
+			this.path[depth] = node;
+			this.wentLeft[depth++] = key < nodeKey;
+			node = (key < nodeKey) ? this.left[node] : this.right[node];
+		}
+
+		link(depth, allocate(key));
+		this.size++;
+
+		retrace(depth);
+
+		return true;
+	}
+
+	// Returns true if the tree changed (i.e. key was found and removed).
+	public boolean remove(long key)
+	{
+		int node = this.root;
+		int depth = 0;
+
+		while (node != NIL)
+		{
+			long nodeKey = this.keys[node];
+
+			if (key == nodeKey)
+				break;
+
+			this.path[depth] = node;
+			this.wentLeft[depth++] = key < nodeKey;
+			node = (key < nodeKey) ? this.left[node] : this.right[node];
+		}
+
+		if (node == NIL)
+			return false;
+
+		if (this.left[node] != NIL && this.right[node] != NIL)
+		{
+			// Move max key from the left subtree up here, and remove that slot instead.
+			int target = node;
+
+			this.path[depth] = node;
+			this.wentLeft[depth++] = true;
+			node = this.left[node];
+
+			while (this.right[node] != NIL)
+			{
+				this.path[depth] = node;
+				this.wentLeft[depth++] = false;
+				node = this.right[node];
+			}
+
+			this.keys[target] = this.keys[node];
+		}
+
+		link(depth, (this.left[node] != NIL) ? this.left[node] : this.right[node]);
+		release(node);
+		this.size--;
+
+		retrace(depth);
+
+		return true;
+	}
+
+	public boolean contains(long key)
+	{
+		int node = this.root;
+
+		while (node != NIL)
+		{
+			long nodeKey = this.keys[node];
+
+			if (key < nodeKey)
+				node = this.left[node];
+			else if (key > nodeKey)
+				node = this.right[node];
+			else
+				return true;
+		}
+
+		return false;
+	}
+
+	// Returns an immutable, array-packed copy of the tree for fast read-only
+	// lookups. Later changes to the tree are not reflected in it.
+	public LongEytzingerSet freeze()
+	{
+		long[] sorted = new long[this.size];
+		collect(this.root, sorted, 0);
+		return new LongEytzingerSet(sorted);
+	}
+
+	// Writes the subtree's keys into out in sorted order, starting at index i.
+	private int collect(int node, long[] out, int i)
+	{
+		if (node == NIL) return i;
+
+		i = collect(this.left[node], out, i);
+		out[i++] = this.keys[node];
+		return collect(this.right[node], out, i);
+	}
+
+	public void inorder()
+	{
+		System.out.print("In-order Traversal:");
+		inorder(this.root);
+		System.out.println();
+	}
+
+	private void inorder(int node)
+	{
+		if (node == NIL) return;
+
+		inorder(this.left[node]);
+		System.out.print(" " + this.keys[node]);
+		inorder(this.right[node]);
+	}
+
+	public static void main(String[] args)
+	{
+		LongAVLTree t = new LongAVLTree();
+
+		System.out.println("size: " + t.getSize());
+
+		for (int i = 0; i < 10; i++)
+			t.add(i);
+
+		System.out.println("size: " + t.getSize());
+		System.out.println("height: " + t.getHeight());
+		t.inorder();
+
+		t.remove(1);
+		t.remove(2);
+
+		System.out.println("size: " + t.getSize());
+		System.out.println("height: " + t.getHeight());
+		t.inorder();
+
+		// These two reuse the slots freed above instead of growing the arrays.
+		t.add(-1L);
+		t.add(1L << 40);
+		t.inorder();
+
+		System.out.println("contains 9: " + t.contains(9));
+		System.out.println("contains 1: " + t.contains(1));
+		System.out.println("contains -1: " + t.contains(-1));
+	}
+}
@@ -0,0 +1,82 @@
+// JP Valdespino
+// October 2026
+
+// LongEytzingerSet.java
+// =====================
+// EytzingerSet specialized for long keys: one long[] in Eytzinger order, with
+// no boxing and no compareTo() calls. See EytzingerSet.java for the layout.
+// Build one with LongAVLTree.freeze() or from an already sorted array.
+
+// +-----------------------------------------------------+
+// | Eytzinger Set (long keys)                           |
+// |-----------------------------------------------------|
+// | Time Complexity: | Best Case | Worst Case | Average |
+// |------------------+-----------+------------+---------|
+// | Construction:    |   O(n)    |    O(n)    |  O(n)   |
+// | Search:          | O(log n)  |  O(log n)  | O(log n)|
+// +-----------------------------------------------------+
+// *Where n is the number of elements in the Set.
+
+public class LongEytzingerSet
+{
+	private final long[] keys; // keys[0] is unused.
+	private final int size;
+
+	// sorted must be strictly increasing; throws IllegalArgumentException if
+	// it isn't.
+	public LongEytzingerSet(long[] sorted)
+	{
+		this.size = sorted.length;
+		this.keys = new long[this.size + 1];
+
+		fill(sorted, 1, 0);
+	}
+
+	private int fill(long[] sorted, int k, int next)
+	{
+		if (k > this.size)
+			return next;
+
+		next = fill(sorted, 2 * k, next);
+
+		// Elements are placed in order, so each is checked against the last.
+		if (next > 0 && sorted[next] <= sorted[next - 1])
+			throw new IllegalArgumentException("keys must be strictly increasing: " + sorted[next] + " after " + sorted[next - 1]);
+
+		this.keys[k] = sorted[next++];
+		return fill(sorted, 2 * k + 1, next);
+	}
+
+	// Returns the index of the smallest key >= key, or 0 if there isn't one.
+	private int lowerBound(long key)
+	{
+		int i = 1;
+
+		while (i <= this.size)
+			i = 2 * i + ((this.keys[i] < key) ? 1 : 0);
+
+		return i >>> (Integer.numberOfTrailingZeros(~i) + 1);
+	}
+
+	public boolean contains(long key)
+	{
+		int i = lowerBound(key);
+		return i != 0 && this.keys[i] == key;
+	}
+
+	public int size()
+	{
+		return this.size;
+	}
+
+	public static void main(String[] args)
+	{
+		LongEytzingerSet s = new LongEytzingerSet(new long[] { 1, 3, 5, 7, 9, 11, 13, 15, 17, 19 });
+
+		System.out.println("size: " + s.size());
+		System.out.println("contains 7: " + s.contains(7));
+		System.out.println("contains 8: " + s.contains(8));
+		System.out.println("contains 19: " + s.contains(19));
+		System.out.println("contains 0: " + s.contains(0));
+	}
+}
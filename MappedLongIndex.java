@@ -0,0 +1,285 @@
+// JP Valdespino
+// October 2026
+
+// MappedLongIndex.java
+// ====================
+// A sorted set of long keys that lives in a file and is searched in place
+// through FileChannel.map(), with nothing read into the heap. The file is the
+// same Eytzinger layout LongEytzingerSet keeps in memory, written as 8-byte
+// big-endian slots:
+//
+//   slot 0       the magic number MAGIC (doubles as a format version)
+//   slot i >= 1  key i of the implicit tree (children of i at 2i and 2i + 1)
+//
+// so the key count is just the file size / 8 - 1. open() only maps the file,
+// so it takes about as long for 1 GB as for 1 KB; the OS pages the keys in as
+// lookups touch them, and the top levels of the tree, which every lookup
+// shares, quickly settle into the page cache. None of it counts against the
+// Java heap.
+//
+// Write one from an AVLTree<Long> (or any sorted keys) with write(). The
+// keys are streamed straight into the mapped file in Eytzinger order, so
+// writing needs no extra copy of them in memory either.
+
+// +-----------------------------------------------------+
+// | Mapped Long Index                                   |
+// |-----------------------------------------------------|
+// | Time Complexity: | Best Case | Worst Case | Average |
+// |------------------+-----------+------------+---------|
+// | Write:           |   O(n)    |    O(n)    |  O(n)   |
+// | Open:            |   O(1)    |    O(1)    |  O(1)   |
+// | Search:          | O(log n)  |  O(log n)  | O(log n)|
+// +-----------------------------------------------------+
+// *Where n is the number of keys in the index. Open maps one region per GB of
+//  file, which for any file that fits on a disk is effectively constant.
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+public class MappedLongIndex
+{
+	public static final long MAGIC = 0x4C4F4E4749445831L; // "LONGIDX1"
+
+	// A single MappedByteBuffer can't cover more than 2 GB, so the file is
+	// mapped in 1 GB segments of 2^27 slots each.
+	private static final int SEGMENT_SHIFT = 27;
+	private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+	private final MappedByteBuffer[] segments;
+	private final long size;
+
+	private MappedLongIndex(MappedByteBuffer[] segments, long size)
+	{
+		this.segments = segments;
+		this.size = size;
+	}
+
+	private static MappedByteBuffer[] map(FileChannel channel, FileChannel.MapMode mode, long slots) throws IOException
+	{
+		int count = (int)((slots + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+		MappedByteBuffer[] segments = new MappedByteBuffer[count];
+
+		for (int i = 0; i < count; i++)
+		{
+			long first = (long)i << SEGMENT_SHIFT;
+			long length = Math.min(slots - first, 1L << SEGMENT_SHIFT);
+			segments[i] = channel.map(mode, first * 8, length * 8);
+		}
+
+		return segments;
+	}
+
+	private static long get(MappedByteBuffer[] segments, long slot)
+	{
+		return segments[(int)(slot >>> SEGMENT_SHIFT)].getLong((int)(slot & SEGMENT_MASK) << 3);
+	}
+
+	private static void put(MappedByteBuffer[] segments, long slot, long key)
+	{
+		segments[(int)(slot >>> SEGMENT_SHIFT)].putLong((int)(slot & SEGMENT_MASK) << 3, key);
+	}
+
+	// Maps an index written by write(). Throws IOException if the file isn't one.
+	public static MappedLongIndex open(Path file) throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+		{
+			long bytes = channel.size();
+
+			if (bytes < 8 || bytes % 8 != 0)
+				throw new IOException(file + " is not a MappedLongIndex (size " + bytes + ")");
+
+			// The mapping outlives the channel; it's released once the index
+			// is garbage collected.
+			MappedByteBuffer[] segments = map(channel, FileChannel.MapMode.READ_ONLY, bytes / 8);
+
+			if (get(segments, 0) != MAGIC)
+				throw new IOException(file + " is not a MappedLongIndex (bad magic number)");
+
+			return new MappedLongIndex(segments, bytes / 8 - 1);
+		}
+	}
+
+	// Writes the contents of tree to file, replacing whatever was there.
+	public static void write(Path file, AVLTree<Long> tree) throws IOException
+	{
+		write(file, tree.iterator(), tree.getSize());
+	}
+
+	// sorted must be strictly increasing.
+	public static void write(Path file, long[] sorted) throws IOException
+	{
+		write(file, new Iterator<Long>()
+		{
+			private int next = 0;
+
+			public boolean hasNext()
+			{
+				return this.next < sorted.length;
+			}
+
+			public Long next()
+			{
+				if (this.next == sorted.length)
+					throw new NoSuchElementException();
+
+				return sorted[this.next++];
+			}
+		}, sorted.length);
+	}
+
+	// Writes the count keys from sorted, which must be strictly increasing, to
+	// file. Throws IllegalArgumentException if they aren't, or if sorted has
+	// more or fewer than count keys; file is then left as it was.
+	public static void write(Path file, Iterator<Long> sorted, long count) throws IOException
+	{
+		// Build the index next to file and move it into place only once it's
+		// complete, so a failed write never leaves a half-written index behind.
+		Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+
+		try
+		{
+			try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING))
+			{
+				MappedByteBuffer[] segments = map(channel, FileChannel.MapMode.READ_WRITE, count + 1);
+
+				new Filler(segments, sorted, count).fill(1);
+
+				if (sorted.hasNext())
+					throw new IllegalArgumentException("expected " + count + " keys, got more");
+
+				// Last, so that even the temporary file only opens once it's whole.
+				put(segments, 0, MAGIC);
+
+				for (MappedByteBuffer segment : segments)
+					segment.force();
+			}
+
+			Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		}
+		finally
+		{
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	// Places the keys into the Eytzinger slots with an in-order walk of the
+	// implicit tree, so they're consumed in sorted order.
+	private static final class Filler
+	{
+		private final MappedByteBuffer[] segments;
+		private final Iterator<Long> sorted;
+		private final long count;
+		private long previous;
+		private boolean first = true;
+
+		Filler(MappedByteBuffer[] segments, Iterator<Long> sorted, long count)
+		{
+			this.segments = segments;
+			this.sorted = sorted;
+			this.count = count;
+		}
+
+		void fill(long k)
+		{
+			if (k > this.count)
+				return;
+
+			fill(2 * k);
+
+			if (!this.sorted.hasNext())
+				throw new IllegalArgumentException("expected " + this.count + " keys, got fewer");
+
+			long key = this.sorted.next();
+
+			if (!this.first && key <= this.previous)
+				throw new IllegalArgumentException("keys must be strictly increasing: " + key + " after " + this.previous);
+
+			put(this.segments, k, key);
+			this.previous = key;
+			this.first = false;
+
+			fill(2 * k + 1);
+		}
+	}
+
+	// Returns the slot of the smallest key >= key, or 0 if there isn't one.
+	private long lowerBound(long key)
+	{
+		long i = 1;
+
+		while (i <= this.size)
+			i = 2 * i + ((get(this.segments, i) < key) ? 1 : 0);
+
+		return i >>> (Long.numberOfTrailingZeros(~i) + 1);
+	}
+
+	public boolean contains(long key)
+	{
+		long i = lowerBound(key);
+		return i != 0 && get(this.segments, i) == key;
+	}
+
+	public long size()
+	{
+		return this.size;
+	}
+
+	public static void main(String[] args) throws IOException
+	{
+		Path small = Files.createTempFile("avl", ".idx");
+		Path big = Files.createTempFile("big", ".idx");
+
+		try
+		{
+			AVLTree<Long> t = new AVLTree<>();
+			for (long i = 0; i < 20; i += 2)
+				t.add(i);
+
+			MappedLongIndex.write(small, t);
+			MappedLongIndex index = MappedLongIndex.open(small);
+
+			System.out.println("size: " + index.size());
+			System.out.println("contains 8: " + index.contains(8));
+			System.out.println("contains 9: " + index.contains(9));
+			System.out.println("contains 18: " + index.contains(18));
+			System.out.println("contains -1: " + index.contains(-1));
+
+			// 16M keys, a 128 MB file. Pass a key count to try a bigger one.
+			int n = (args.length > 0) ? Integer.parseInt(args[0]) : 1 << 24;
+			long[] keys = new long[n];
+			for (int i = 0; i < n; i++)
+				keys[i] = 3L * i;
+
+			long start = System.nanoTime();
+			MappedLongIndex.write(big, keys);
+			System.out.printf("wrote %d keys (%d MB) in %d ms\n", n, Files.size(big) >> 20, (System.nanoTime() - start) / 1_000_000);
+			keys = null;
+
+			start = System.nanoTime();
+			MappedLongIndex bigIndex = MappedLongIndex.open(big);
+			System.out.printf("opened in %.2f ms\n", (System.nanoTime() - start) / 1e6);
+
+			int probes = 1 << 22, hits = 0;
+			Random randy = new Random(7);
+			start = System.nanoTime();
+			for (int i = 0; i < probes; i++)
+				if (bigIndex.contains(randy.nextInt(n) * 3L + (i & 1))) hits++;
+			System.out.printf("%d lookups, %d hits, %.1f ns per lookup\n", probes, hits, (double)(System.nanoTime() - start) / probes);
+		}
+		finally
+		{
+			Files.deleteIfExists(small);
+			Files.deleteIfExists(big);
+		}
+	}
+}
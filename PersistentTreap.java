@@ -0,0 +1,320 @@
+// JP Valdespino
+// October 2026
+
+// PersistentTreap.java
+// ====================
+// A Treap whose nodes are never modified once built. add() and remove() copy
+// just the nodes on the path they touch (plus the nodes they rotate) and share
+// every other subtree with the previous version, so each change produces a new
+// version in O(log n) time and space while every older version stays intact.
+//
+// PersistentTreap itself is the handle writers update. snapshot() returns the
+// current version in O(1); a Snapshot is immutable, so it can be read from any
+// thread without locks while writers carry on. Writers are serialized on the
+// handle. Readers never are.
+
+// +-----------------------------------------------------+
+// | Persistent Treap                                    |
+// |-----------------------------------------------------|
+// | Time Complexity: | Best Case | Worst Case | Average |
+// |------------------+-----------+------------+---------|
+// | Insertion:       |   O(1)    |    O(n)    |  O(h)   |
+// | Deletion:        |   O(1)    |    O(n)    |  O(h)   |
+// | Search:          |   O(1)    |    O(n)    |  O(h)   |
+// | Snapshot:        |   O(1)    |    O(1)    |  O(1)   |
+// +-----------------------------------------------------+
+// *Where h is the height of the Tree, theoretically O(log n).
+// *Insertion and deletion also allocate O(h) new nodes.
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class PersistentTreap<AnyType extends Comparable<AnyType>>
+{
+	static final class Node<AnyType>
+	{
+		final AnyType data;
+		final int priority;
+		final Node<AnyType> left, right;
+
+		Node(AnyType data, int priority, Node<AnyType> left, Node<AnyType> right)
+		{
+			this.data = data;
+			this.priority = priority;
+			this.left = left;
+			this.right = right;
+		}
+	}
+
+	// One version of the treap. Nothing reachable from a Snapshot ever changes.
+	public static final class Snapshot<AnyType extends Comparable<AnyType>> implements Iterable<AnyType>
+	{
+		private final Node<AnyType> root;
+		private final int size;
+
+		private Snapshot(Node<AnyType> root, int size)
+		{
+			this.root = root;
+			this.size = size;
+		}
+
+		public boolean contains(AnyType data)
+		{
+			Node<AnyType> node = this.root;
+
+			while (node != null)
+			{
+				int comparisonValue = data.compareTo(node.data);
+
+				if (comparisonValue < 0)
+					node = node.left;
+				else if (comparisonValue > 0)
+					node = node.right;
+				else
+					return true;
+			}
+
+			return false;
+		}
+
+		public int size()
+		{
+			return this.size;
+		}
+
+		public int height()
+		{
+			return height(this.root);
+		}
+
+		private int height(Node<AnyType> root)
+		{
+			if (root == null) return -1;
+
+			return Math.max(height(root.left), height(root.right)) + 1;
+		}
+
+		public Iterator<AnyType> iterator()
+		{
+			return new Iterator<AnyType>()
+			{
+				private final ArrayDeque<Node<AnyType>> stack = pushLeft(new ArrayDeque<>(), root);
+
+				private ArrayDeque<Node<AnyType>> pushLeft(ArrayDeque<Node<AnyType>> stack, Node<AnyType> node)
+				{
+					for (; node != null; node = node.left)
+						stack.push(node);
+
+					return stack;
+				}
+
+				public boolean hasNext()
+				{
+					return !this.stack.isEmpty();
+				}
+
+				public AnyType next()
+				{
+					if (this.stack.isEmpty())
+						throw new NoSuchElementException();
+
+					Node<AnyType> node = this.stack.pop();
+					pushLeft(this.stack, node.right);
+					return node.data;
+				}
+			};
+		}
+
+		public void inorder()
+		{
+			System.out.print("In-order Traversal:");
+			for (AnyType data : this)
+				System.out.print(" " + data);
+			System.out.println();
+		}
+	}
+
+	private volatile Snapshot<AnyType> current = new Snapshot<>(null, 0);
+
+	public PersistentTreap()
+	{
+	}
+
+	// Same convention as Treap: the smaller number has the higher priority.
+	private static int generatePriority()
+	{
+		return ThreadLocalRandom.current().nextInt();
+	}
+
+	// Returns the current version in O(1). It will never change, no matter
+	// what writers do to this treap afterwards.
+	public Snapshot<AnyType> snapshot()
+	{
+		return this.current;
+	}
+
+	// Adds data and returns the resulting version.
+	public synchronized Snapshot<AnyType> add(AnyType data)
+	{
+		Snapshot<AnyType> version = this.current;
+		Node<AnyType> root = add(version.root, data, generatePriority());
+
+		if (root != version.root)
+			this.current = version = new Snapshot<>(root, version.size + 1);
+
+		return version;
+	}
+
+	// Returns a new subtree containing data, or root itself if data was
+	// already there.
+	private static <AnyType extends Comparable<AnyType>> Node<AnyType> add(Node<AnyType> root, AnyType data, int priority)
+	{
+		if (root == null)
+			return new Node<>(data, priority, null, null);
+
+		int comparisonValue = data.compareTo(root.data);
+
+		if (comparisonValue < 0)
+		{
+			Node<AnyType> left = add(root.left, data, priority);
+
+			if (left == root.left)
+				return root;
+
+			// Copy of rotateRight(): left moves up, a copy of root moves down.
+			if (left.priority < root.priority)
+				return new Node<>(left.data, left.priority, left.left, new Node<>(root.data, root.priority, left.right, root.right));
+
+			return new Node<>(root.data, root.priority, left, root.right);
+		}
+		else if (comparisonValue > 0)
+		{
+			Node<AnyType> right = add(root.right, data, priority);
+
+			if (right == root.right)
+				return root;
+
+			if (right.priority < root.priority)
+				return new Node<>(right.data, right.priority, new Node<>(root.data, root.priority, root.left, right.left), right.right);
+
+			return new Node<>(root.data, root.priority, root.left, right);
+		}
+
+		return root; // Disallows the insertion of duplicate values.
+	}
+
+	// Removes data and returns the resulting version.
+	public synchronized Snapshot<AnyType> remove(AnyType data)
+	{
+		Snapshot<AnyType> version = this.current;
+		Node<AnyType> root = remove(version.root, data);
+
+		if (root != version.root)
+			this.current = version = new Snapshot<>(root, version.size - 1);
+
+		return version;
+	}
+
+	private static <AnyType extends Comparable<AnyType>> Node<AnyType> remove(Node<AnyType> root, AnyType data)
+	{
+		if (root == null)
+			return null;
+
+		int comparisonValue = data.compareTo(root.data);
+
+		if (comparisonValue < 0)
+		{
+			Node<AnyType> left = remove(root.left, data);
+			return (left == root.left) ? root : new Node<>(root.data, root.priority, left, root.right);
+		}
+		else if (comparisonValue > 0)
+		{
+			Node<AnyType> right = remove(root.right, data);
+			return (right == root.right) ? root : new Node<>(root.data, root.priority, root.left, right);
+		}
+
+		return merge(root.left, root.right);
+	}
+
+	// Joins two treaps where every value in a is less than every value in b,
+	// copying only the nodes along the seam.
+	private static <AnyType> Node<AnyType> merge(Node<AnyType> a, Node<AnyType> b)
+	{
+		if (a == null) return b;
+		if (b == null) return a;
+
+		if (a.priority < b.priority)
+			return new Node<>(a.data, a.priority, a.left, merge(a.right, b));
+		else
+			return new Node<>(b.data, b.priority, merge(a, b.left), b.right);
+	}
+
+	public boolean contains(AnyType data)
+	{
+		return this.current.contains(data);
+	}
+
+	public int size()
+	{
+		return this.current.size();
+	}
+
+	public int height()
+	{
+		return this.current.height();
+	}
+
+	public void inorder()
+	{
+		this.current.inorder();
+	}
+
+	public static void main(String[] args) throws InterruptedException
+	{
+		PersistentTreap<Integer> t = new PersistentTreap<>();
+
+		for (int i = 0; i < 10; i++)
+			t.add(i);
+
+		Snapshot<Integer> before = t.snapshot();
+
+		t.remove(3);
+		t.remove(7);
+		t.add(42);
+
+		System.out.print("snapshot: ");
+		before.inorder();
+		System.out.print("current:  ");
+		t.inorder();
+		System.out.println("snapshot size: " + before.size() + ", current size: " + t.size());
+		System.out.println();
+
+		// A reader sums one snapshot over and over while the writer keeps going.
+		PersistentTreap<Integer> shared = new PersistentTreap<>();
+		for (int i = 1; i <= 1000; i++)
+			shared.add(i);
+
+		Snapshot<Integer> report = shared.snapshot();
+		long[] sums = new long[2];
+
+		Thread reader = new Thread(() -> {
+			for (int round = 0; round < 100; round++)
+			{
+				long sum = 0;
+				for (int value : report)
+					sum += value;
+				sums[round == 0 ? 0 : 1] = sum;
+			}
+		});
+
+		reader.start();
+		for (int i = 1; i <= 1000; i += 2)
+			shared.remove(i);
+		reader.join();
+
+		System.out.println("reader saw sums " + sums[0] + " and " + sums[1] + " (expected 500500)");
+		System.out.println("writer now has " + shared.size() + " values");
+	}
+}
@@ -0,0 +1,469 @@
+// JP Valdespino
+// October 2026
+
+// RadixTrie.java
+// ==============
+// A path-compressed (Patricia) version of Trie, with the same methods and
+// the same treatment of input: strings are lowercased, non-letters are
+// skipped, and each string keeps a count of how many times it was inserted.
+//
+// Trie spends a Node[26] on every character of every word, even though most
+// of its nodes (all the way down the tail of a word) have a single child.
+// Here each edge carries a whole segment of characters instead, and a node
+// only exists where a word ends or two words part ways. That leaves at most
+// two nodes per distinct word, and each node holds exact-sized arrays: the
+// first character of each child's segment (searched without touching the
+// children themselves) and the children, in the same sorted order. Deleting
+// a word removes or merges nodes so that this stays true.
+
+// +-----------------------------------------------------+
+// | Radix Trie                                          |
+// |-----------------------------------------------------|
+// | Time Complexity: | Best Case | Worst Case | Average |
+// |------------------+-----------+------------+---------|
+// | Insertion:       |   O(k)    |  O(k + a)  |  O(k)   |
+// | Deletion:        |   O(k)    |  O(k + a)  |  O(k)   |
+// | Search:          |   O(k)    |    O(k)    |  O(k)   |
+// +-----------------------------------------------------+
+// *Where k is the length of the string.
+// *Where a is the size of the alphabet, for copying a node's child arrays.
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class RadixTrie
+{
+	static final class Node
+	{
+		char[] label; // The segment on the edge into this node.
+		int count; // Number of times the string ending here was inserted.
+		char[] firsts; // firsts[i] == children[i].label[0], in sorted order.
+		Node[] children;
+
+		Node(char[] label, int count)
+		{
+			this.label = label;
+			this.count = count;
+			this.firsts = NO_FIRSTS;
+			this.children = NO_CHILDREN;
+		}
+
+		int find(char c)
+		{
+			char[] firsts = this.firsts;
+
+			for (int i = 0; i < firsts.length; i++)
+				if (firsts[i] == c)
+					return i;
+
+			return -1;
+		}
+
+		void addChild(Node child)
+		{
+			char c = child.label[0];
+			int i = 0;
+
+			while (i < this.firsts.length && this.firsts[i] < c)
+				i++;
+
+			char[] firsts = new char[this.firsts.length + 1];
+			Node[] children = new Node[this.children.length + 1];
+
+			System.arraycopy(this.firsts, 0, firsts, 0, i);
+			System.arraycopy(this.children, 0, children, 0, i);
+			firsts[i] = c;
+			children[i] = child;
+			System.arraycopy(this.firsts, i, firsts, i + 1, this.firsts.length - i);
+			System.arraycopy(this.children, i, children, i + 1, this.children.length - i);
+
+			this.firsts = firsts;
+			this.children = children;
+		}
+
+		void removeChild(int i)
+		{
+			int n = this.children.length - 1;
+
+			if (n == 0)
+			{
+				this.firsts = NO_FIRSTS;
+				this.children = NO_CHILDREN;
+				return;
+			}
+
+			char[] firsts = new char[n];
+			Node[] children = new Node[n];
+
+			System.arraycopy(this.firsts, 0, firsts, 0, i);
+			System.arraycopy(this.children, 0, children, 0, i);
+			System.arraycopy(this.firsts, i + 1, firsts, i, n - i);
+			System.arraycopy(this.children, i + 1, children, i, n - i);
+
+			this.firsts = firsts;
+			this.children = children;
+		}
+	}
+
+	// Shared by every node without children, so leaves cost no arrays at all.
+	private static final char[] NO_FIRSTS = new char[0];
+	private static final Node[] NO_CHILDREN = new Node[0];
+
+	private Node root;
+
+	public RadixTrie()
+	{
+		this.root = new Node(NO_FIRSTS, 0);
+	}
+
+	// Lowercases str and drops everything that isn't a letter, as Trie does.
+	private static char[] normalize(String str)
+	{
+		char[] key = new char[str.length()];
+		int n = 0;
+
+		for (int i = 0; i < key.length; i++)
+		{
+			char c = Character.toLowerCase(str.charAt(i));
+
+			if (Character.isLetter(c))
+				key[n++] = c;
+		}
+
+		return (n == key.length) ? key : Arrays.copyOf(key, n);
+	}
+
+	// Length of the common prefix of label and key[i..].
+	private static int matchLength(char[] label, char[] key, int i)
+	{
+		int n = Math.min(label.length, key.length - i);
+		int m = 0;
+
+		while (m < n && label[m] == key[i + m])
+			m++;
+
+		return m;
+	}
+
+	public boolean insert(String str)
+	{
+		if (this.root == null || str == null)
+			return false;
+
+		char[] key = normalize(str);
+		Node wizard = this.root;
+		int i = 0;
+
+		while (i < key.length)
+		{
+			int index = wizard.find(key[i]);
+
+			if (index < 0)
+			{
+				// Nothing starts this way yet: the rest of the key is one new edge.
+				wizard.addChild(new Node(Arrays.copyOfRange(key, i, key.length), 1));
+				return true;
+			}
+
+			Node child = wizard.children[index];
+			int m = matchLength(child.label, key, i);
+
+			if (m < child.label.length)
+			{
+				// The key leaves the edge part way along, so split it there: a new
+				// node takes the shared part, with the old child (now holding only
+				// the rest of its segment) below it.
+				Node middle = new Node(Arrays.copyOf(child.label, m), 0);
+				child.label = Arrays.copyOfRange(child.label, m, child.label.length);
+				middle.firsts = new char[] { child.label[0] };
+				middle.children = new Node[] { child };
+				wizard.children[index] = middle;
+
+				if (i + m == key.length)
+					middle.count = 1;
+				else
+					middle.addChild(new Node(Arrays.copyOfRange(key, i + m, key.length), 1));
+
+				return true;
+			}
+
+			wizard = child;
+			i += m;
+		}
+
+		wizard.count++;
+
+		return true; // Returns true if insertion is successful.
+	}
+
+	public boolean delete(String str)
+	{
+		if (this.root == null || str == null)
+			return false;
+
+		char[] key = normalize(str);
+
+		if (key.length == 0)
+		{
+			if (this.root.count == 0)
+				return false;
+
+			this.root.count--;
+			return true;
+		}
+
+		return delete(this.root, key, 0);
+	}
+
+	// Deletes key[i..] from below wizard. On the way back up, a child left
+	// with no count and no children is unlinked, and one left with no count
+	// and a single child is merged with that child.
+	private boolean delete(Node wizard, char[] key, int i)
+	{
+		int index = wizard.find(key[i]);
+
+		if (index < 0)
+			return false;
+
+		Node child = wizard.children[index];
+		int m = matchLength(child.label, key, i);
+
+		if (m < child.label.length)
+			return false;
+
+		if (i + m == key.length)
+		{
+			if (child.count == 0)
+				return false;
+
+			child.count--;
+		}
+		else if (!delete(child, key, i + m))
+		{
+			return false;
+		}
+
+		if (child.count > 0)
+			return true;
+
+		if (child.children.length == 0)
+		{
+			wizard.removeChild(index);
+		}
+		else if (child.children.length == 1)
+		{
+			Node only = child.children[0];
+			char[] label = Arrays.copyOf(child.label, child.label.length + only.label.length);
+			System.arraycopy(only.label, 0, label, child.label.length, only.label.length);
+			only.label = label;
+			wizard.children[index] = only; // Same first character, so firsts stays.
+		}
+
+		return true;
+	}
+
+	// The node that str ends at, or null if no inserted string passes through it.
+	private Node find(String str)
+	{
+		char[] key = normalize(str);
+		Node wizard = this.root;
+		int i = 0;
+
+		while (i < key.length)
+		{
+			int index = wizard.find(key[i]);
+
+			if (index < 0)
+				return null;
+
+			Node child = wizard.children[index];
+
+			if (matchLength(child.label, key, i) < child.label.length)
+				return null;
+
+			wizard = child;
+			i += child.label.length;
+		}
+
+		return wizard;
+	}
+
+	public boolean contains(String str)
+	{
+		if (this.root == null || str == null)
+			return false;
+
+		Node wizard = find(str);
+		return wizard != null && wizard.count > 0;
+	}
+
+	// Count of a specific string.
+	public int countSpecificString(String str)
+	{
+		if (str == null)
+			return 0;
+
+		Node wizard = find(str);
+		return (wizard == null) ? 0 : wizard.count;
+	}
+
+	// Counts the number of strings in the Trie, including duplicates.
+	public int countNumStrings()
+	{
+		return countNumStrings(this.root);
+	}
+
+	private int countNumStrings(Node wizard)
+	{
+		int count = wizard.count;
+
+		for (Node child : wizard.children)
+			count += countNumStrings(child);
+
+		return count;
+	}
+
+	// Counts the number of unique strings in the Trie.
+	public int countUniqueStrings()
+	{
+		return countUniqueStrings(this.root);
+	}
+
+	private int countUniqueStrings(Node wizard)
+	{
+		int count = (wizard.count > 0) ? 1 : 0;
+
+		for (Node child : wizard.children)
+			count += countUniqueStrings(child);
+
+		return count;
+	}
+
+	// Counts the nodes, root included.
+	public int countNodes()
+	{
+		return countNodes(this.root);
+	}
+
+	private int countNodes(Node wizard)
+	{
+		int count = 1;
+
+		for (Node child : wizard.children)
+			count += countNodes(child);
+
+		return count;
+	}
+
+	// Prints all the strings in the Trie, in alphabetical order.
+	public void printTrie()
+	{
+		printTrie(this.root, new StringBuilder());
+	}
+
+	private void printTrie(Node wizard, StringBuilder str)
+	{
+		int len = str.length();
+		str.append(wizard.label);
+
+		if (wizard.count > 0)
+			if (str.length() > 0)
+				System.out.println(str + " (" + wizard.count + ")");
+			else
+				System.out.println("<__EMPTY_STRING__> (" + wizard.count + ")");
+
+		for (Node child : wizard.children)
+			printTrie(child, str);
+
+		str.setLength(len); // Undoes state change.
+	}
+
+	private static long usedMemory()
+	{
+		Runtime runtime = Runtime.getRuntime();
+
+		for (int i = 0; i < 3; i++)
+			System.gc();
+
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	public static void main(String [] args)
+	{
+		RadixTrie lexicon = new RadixTrie();
+
+		String [] words = new String[] { "beast", "apple", "app", "", "starlord", "infinity", "sEXY", "PROGRAM",
+		"Apple", "apple", "aPplIcaTioN", "apple", "quid-pro-quo", "app", "linux", "alpha-male", "lip gloss", "quid pro quo" };
+
+		for (String word : words)
+			lexicon.insert(word);
+
+		System.out.printf("Trie word count: %3d, unique: %d, nodes: %d\n", lexicon.countNumStrings(), lexicon.countUniqueStrings(), lexicon.countNodes());
+		System.out.println("====================");
+		lexicon.printTrie();
+		System.out.println();
+
+		System.out.println("contains \"APPLE\": " + lexicon.contains("APPLE") + ", \"appl\": " + lexicon.contains("appl"));
+		System.out.println("number of times \"apple\" is in Trie: " + lexicon.countSpecificString("apple"));
+		System.out.println();
+
+		// Deleting "app" (twice) leaves its node with nothing to mark, so it
+		// merges with its only child ("l"), and deleting "lip gloss" lets the
+		// "li" node merge with "nux".
+		for (String word : new String[] { "app", "app", "lip gloss", "fireball", "application" })
+			System.out.println("Deleting... \"" + word + "\": " + lexicon.delete(word));
+
+		System.out.printf("Trie word count: %3d, unique: %d, nodes: %d\n", lexicon.countNumStrings(), lexicon.countUniqueStrings(), lexicon.countNodes());
+		System.out.println("====================");
+		lexicon.printTrie();
+		System.out.println();
+
+		// The same random words in both tries. Random words share little more
+		// than their first few letters, so most of Trie's nodes are chains.
+		int n = 100_000;
+		Random randy = new Random(42);
+		String[] dictionary = new String[n];
+
+		for (int i = 0; i < n; i++)
+		{
+			char[] letters = new char[4 + randy.nextInt(9)];
+
+			for (int j = 0; j < letters.length; j++)
+				letters[j] = (char)('a' + randy.nextInt(26));
+
+			dictionary[i] = new String(letters);
+		}
+
+		long before = usedMemory();
+		Trie trie = new Trie();
+		for (String word : dictionary)
+			trie.insert(word);
+		long trieBytes = usedMemory() - before;
+
+		before = usedMemory();
+		RadixTrie radix = new RadixTrie();
+		for (String word : dictionary)
+			radix.insert(word);
+		long radixBytes = usedMemory() - before;
+
+		long start = System.nanoTime();
+		int hits = 0;
+		for (int round = 0; round < 10; round++)
+			for (String word : dictionary)
+				if (trie.contains(word)) hits++;
+		long trieNanos = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		for (int round = 0; round < 10; round++)
+			for (String word : dictionary)
+				if (radix.contains(word)) hits++;
+		long radixNanos = System.nanoTime() - start;
+
+		System.out.printf("%d words: Trie %.1f MB, %.0f ns/lookup | RadixTrie %.1f MB (%d nodes), %.0f ns/lookup (%d hits)\n",
+			n, trieBytes / 1e6, trieNanos / (10.0 * n), radixBytes / 1e6, radix.countNodes(), radixNanos / (10.0 * n), hits);
+
+		// Keep both alive until they've been measured.
+		if (trie.countNumStrings() != radix.countNumStrings())
+			System.out.println("word counts differ!");
+	}
+}
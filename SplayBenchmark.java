@@ -0,0 +1,93 @@
+// JP Valdespino
+// October 2026
+
+// SplayBenchmark.java
+// ===================
+// Times contains() on a splay tree (full and semi-splaying) against AVLTree
+// and a Treap, over a uniform trace and a Zipfian one (exponent 1, the hottest
+// keys scattered randomly through the key space). Every probe hits.
+//
+// Pass a key count as the first argument to try bigger trees, e.g.
+//   java -Xmx8g SplayBenchmark 4000000
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class SplayBenchmark
+{
+	public static void main(String[] args)
+	{
+		int n = (args.length > 0) ? Integer.parseInt(args[0]) : 1 << 20;
+		int probes = 1 << 22;
+		Random randy = new Random(7);
+
+		Integer[] keys = new Integer[n];
+		for (int i = 0; i < n; i++)
+			keys[i] = randy.nextInt();
+
+		AVLTree<Integer> avl = new AVLTree<>();
+		Treap<Integer> treap = new Treap<>();
+		SplayTree<Integer> splay = new SplayTree<>();
+		SplayTree<Integer> semi = new SplayTree<>(true);
+		for (Integer k : keys)
+		{
+			avl.add(k);
+			treap.add(k);
+			splay.add(k);
+			semi.add(k);
+		}
+
+		Integer[] uniform = new Integer[probes];
+		for (int i = 0; i < probes; i++)
+			uniform[i] = keys[randy.nextInt(n)];
+
+		// Rank r (0-based) is drawn with probability proportional to 1 / (r + 1).
+		double[] cdf = new double[n];
+		double total = 0;
+		for (int r = 0; r < n; r++)
+			cdf[r] = total += 1.0 / (r + 1);
+
+		Integer[] zipf = new Integer[probes];
+		for (int i = 0; i < probes; i++)
+		{
+			int r = Arrays.binarySearch(cdf, randy.nextDouble() * total);
+			zipf[i] = keys[(r >= 0) ? r : Math.min(-r - 1, n - 1)];
+		}
+
+		System.out.println(n + " keys, " + probes + " lookups, ns per lookup:");
+
+		for (int round = 0; round < 3; round++)
+		{
+			for (Integer[] trace : new Integer[][] { uniform, zipf })
+			{
+				int hits = 0;
+
+				long start = System.nanoTime();
+				for (Integer q : trace)
+					if (avl.contains(q)) hits++;
+				long avlTime = System.nanoTime() - start;
+
+				start = System.nanoTime();
+				for (Integer q : trace)
+					if (treap.contains(q)) hits++;
+				long treapTime = System.nanoTime() - start;
+
+				start = System.nanoTime();
+				for (Integer q : trace)
+					if (splay.contains(q)) hits++;
+				long splayTime = System.nanoTime() - start;
+
+				start = System.nanoTime();
+				for (Integer q : trace)
+					if (semi.contains(q)) hits++;
+				long semiTime = System.nanoTime() - start;
+
+				System.out.printf("%-7s AVLTree %6.1f | Treap %6.1f | SplayTree %6.1f | semi-splay %6.1f%s\n",
+					(trace == uniform) ? "uniform" : "zipf",
+					(double)avlTime / probes, (double)treapTime / probes,
+					(double)splayTime / probes, (double)semiTime / probes,
+					(hits == 4 * probes) ? "" : "  (MISSED A KEY)");
+			}
+		}
+	}
+}
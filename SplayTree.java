@@ -0,0 +1,385 @@
+// JP Valdespino
+// October 2026
+
+// SplayTree.java
+// ==============
+// A self-adjusting binary search tree (Sleator & Tarjan). Every access splays
+// the node it reached up toward the root with a series of rotations, so keys
+// that are looked up often stay near the top and are found again in a handful
+// of comparisons. No balance information is stored at all; the guarantee is
+// amortized: any sequence of m operations costs O(m log n), and a skewed
+// workload costs about as little as its entropy allows.
+//
+// Semi-splaying (same paper) restructures less per access: in the zig-zig
+// case it rotates only the parent up and carries on from there, so the
+// accessed node climbs about half as far as it would with a full splay. The
+// same amortized bounds hold, with fewer rotations and writes per lookup.
+//
+// contains() rearranges the tree, so, unlike the other trees in this archive,
+// even lookups are writes and need outside locking to share across threads.
+
+// +-----------------------------------------------------+
+// | Splay Tree                                          |
+// |-----------------------------------------------------|
+// | Time Complexity: | Best Case | Worst Case | Average |
+// |------------------+-----------+------------+---------|
+// | Insertion:       |   O(1)    |    O(n)    | O(log n)|
+// | Deletion:        |   O(1)    |    O(n)    | O(log n)|
+// | Search:          |   O(1)    |    O(n)    | O(log n)|
+// +-----------------------------------------------------+
+// *Where n is the number of elements in the Tree. The average column is
+//  amortized over any sequence of operations; a single one can cost O(n).
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+public class SplayTree<AnyType extends Comparable<AnyType>> implements Iterable<AnyType>
+{
+	static final class Node<AnyType>
+	{
+		AnyType data;
+		Node<AnyType> left, right;
+
+		Node(AnyType data)
+		{
+			this.data = data;
+		}
+	}
+
+	private Node<AnyType> root;
+	private int size;
+	private final boolean semiSplay;
+
+	// The nodes from the root down to the one being splayed. A splay tree can
+	// be arbitrarily deep, so unlike AVLTree's this grows as needed.
+	@SuppressWarnings("unchecked")
+	private Node<AnyType>[] path = (Node<AnyType>[]) new Node[64];
+
+	public SplayTree()
+	{
+		this(false);
+	}
+
+	public SplayTree(boolean semiSplay)
+	{
+		this.root = null;
+		this.size = 0;
+		this.semiSplay = semiSplay;
+	}
+
+	public int getSize()
+	{
+		return this.size;
+	}
+
+	// Computed level by level, since a recursive walk could overflow the stack
+	// on a tree that has degenerated into a long path.
+	public int getHeight()
+	{
+		if (this.root == null)
+			return -1;
+
+		ArrayDeque<Node<AnyType>> level = new ArrayDeque<>();
+		level.add(this.root);
+		int height = -1;
+
+		while (!level.isEmpty())
+		{
+			height++;
+
+			for (int i = level.size(); i > 0; i--)
+			{
+				Node<AnyType> node = level.poll();
+				if (node.left != null) level.add(node.left);
+				if (node.right != null) level.add(node.right);
+			}
+		}
+
+		return height;
+	}
+
+	private Node<AnyType> rotateRight(Node<AnyType> node)
+	{
+		Node<AnyType> temp = node.left;
+		node.left = temp.right;
+		temp.right = node;
+		return temp;
+	}
+
+	private Node<AnyType> rotateLeft(Node<AnyType> node)
+	{
+		Node<AnyType> temp = node.right;
+		node.right = temp.left;
+		temp.left = node;
+		return temp;
+	}
+
+	private void push(int depth, Node<AnyType> node)
+	{
+		if (depth == this.path.length)
+			this.path = Arrays.copyOf(this.path, 2 * depth);
+
+		this.path[depth] = node;
+	}
+
+	// Puts replacement where path[depth] used to hang.
+	private void link(int depth, Node<AnyType> replacement)
+	{
+		if (depth == 0)
+		{
+			this.root = replacement;
+			return;
+		}
+
+		Node<AnyType> parent = this.path[depth - 1];
+
+		if (parent.left == this.path[depth])
+			parent.left = replacement;
+		else
+			parent.right = replacement;
+	}
+
+	// Splays path[depth] toward the root, then clears the path so it doesn't
+	// keep removed nodes reachable.
+	private void splay(int depth)
+	{
+		int pathLength = depth + 1;
+
+		while (depth >= 2)
+		{
+			Node<AnyType> x = this.path[depth];
+			Node<AnyType> parent = this.path[depth - 1];
+			Node<AnyType> grandparent = this.path[depth - 2];
+
+			boolean xLeft = (parent.left == x);
+			boolean parentLeft = (grandparent.left == parent);
+			Node<AnyType> top;
+
+			if (xLeft == parentLeft)
+			{
+				// Zig-zig. Semi-splaying stops after lifting the parent and
+				// continues from the parent's new spot.
+				top = parentLeft ? rotateRight(grandparent) : rotateLeft(grandparent);
+
+				if (!this.semiSplay)
+					top = parentLeft ? rotateRight(parent) : rotateLeft(parent);
+			}
+			else
+			{
+				// Zig-zag.
+				if (parentLeft)
+				{
+					grandparent.left = rotateLeft(parent);
+					top = rotateRight(grandparent);
+				}
+				else
+				{
+					grandparent.right = rotateRight(parent);
+					top = rotateLeft(grandparent);
+				}
+			}
+
+			link(depth - 2, top);
+			this.path[depth - 2] = top;
+			depth -= 2;
+		}
+
+		if (depth == 1)
+		{
+			Node<AnyType> parent = this.path[0];
+			this.root = (parent.left == this.path[1]) ? rotateRight(parent) : rotateLeft(parent);
+		}
+
+		Arrays.fill(this.path, 0, pathLength, null);
+	}
+
+	// Walks toward data, recording the path. Returns the depth of the node
+	// holding data, or -(depth of the last node visited) - 1 if it isn't there.
+	private int find(AnyType data)
+	{
+		Node<AnyType> node = this.root;
+		int depth = 0;
+
+		while (true)
+		{
+			push(depth, node);
+
+			int comparisonValue = data.compareTo(node.data);
+
+			if (comparisonValue == 0)
+				return depth;
+
+			Node<AnyType> next = (comparisonValue < 0) ? node.left : node.right;
+
+			if (next == null)
+				return -depth - 1;
+
+			node = next;
+			depth++;
+		}
+	}
+
+	// Returns true if the tree changed (i.e. data was not already in the tree).
+	public boolean add(AnyType data)
+	{
+		if (this.root == null)
+		{
+			this.root = new Node<>(data);
+			this.size++;
+			return true;
+		}
+
+		int depth = find(data);
+
+		if (depth >= 0)
+		{
+			splay(depth);
+			return false; // Disallows the insertion of duplicate values.
+		}
+
+		depth = -depth - 1;
+
+		Node<AnyType> parent = this.path[depth];
+		Node<AnyType> node = new Node<>(data);
+
+		if (data.compareTo(parent.data) < 0)
+			parent.left = node;
+		else
+			parent.right = node;
+
+		push(depth + 1, node);
+		splay(depth + 1);
+		this.size++;
+
+		return true;
+	}
+
+	// Returns true if the tree changed (i.e. data was found and removed).
+	public boolean remove(AnyType data)
+	{
+		if (this.root == null)
+			return false;
+
+		int depth = find(data);
+
+		if (depth < 0)
+		{
+			splay(-depth - 1);
+			return false;
+		}
+
+		Node<AnyType> node = this.path[depth];
+
+		if (node.left != null && node.right != null)
+		{
+			// Move max data from the left subtree up here, and remove that node instead.
+			Node<AnyType> target = node;
+
+			node = node.left;
+			push(++depth, node);
+
+			while (node.right != null)
+			{
+				node = node.right;
+				push(++depth, node);
+			}
+
+			target.data = node.data;
+		}
+
+		link(depth, (node.left != null) ? node.left : node.right);
+		this.path[depth] = null;
+		this.size--;
+
+		// The removed node's parent is the last node on the path still in the tree.
+		if (depth > 0)
+			splay(depth - 1);
+
+		return true;
+	}
+
+	public boolean contains(AnyType data)
+	{
+		if (this.root == null)
+			return false;
+
+		int depth = find(data);
+		splay((depth >= 0) ? depth : -depth - 1);
+
+		return depth >= 0;
+	}
+
+	public Iterator<AnyType> iterator()
+	{
+		return new Iterator<AnyType>()
+		{
+			private final ArrayDeque<Node<AnyType>> stack = pushLeft(new ArrayDeque<>(), root);
+
+			private ArrayDeque<Node<AnyType>> pushLeft(ArrayDeque<Node<AnyType>> stack, Node<AnyType> node)
+			{
+				for (; node != null; node = node.left)
+					stack.push(node);
+
+				return stack;
+			}
+
+			public boolean hasNext()
+			{
+				return !this.stack.isEmpty();
+			}
+
+			public AnyType next()
+			{
+				if (this.stack.isEmpty())
+					throw new NoSuchElementException();
+
+				Node<AnyType> node = this.stack.pop();
+				pushLeft(this.stack, node.right);
+				return node.data;
+			}
+		};
+	}
+
+	public void inorder()
+	{
+		System.out.print("In-order Traversal:");
+		for (AnyType data : this)
+			System.out.print(" " + data);
+		System.out.println();
+	}
+
+	public static void main(String[] args)
+	{
+		SplayTree<Integer> t = new SplayTree<>();
+
+		for (int i = 0; i < 10; i++)
+			t.add(i);
+
+		// In-order insertions leave a path: each new key is splayed to the root.
+		System.out.println("size: " + t.getSize());
+		System.out.println("height: " + t.getHeight());
+		t.inorder();
+
+		// Looking up the deepest key splays it up and shortens the path.
+		t.contains(0);
+		System.out.println("height after contains(0): " + t.getHeight());
+
+		t.remove(1);
+		t.remove(2);
+		System.out.println("size: " + t.getSize());
+		t.inorder();
+
+		System.out.println("contains 9: " + t.contains(9));
+		System.out.println("contains 1: " + t.contains(1));
+
+		SplayTree<Integer> semi = new SplayTree<>(true);
+		for (int i = 0; i < 1000; i++)
+			semi.add(i);
+		System.out.println("semi-splay height after 1000 in-order adds: " + semi.getHeight());
+		for (int i = 0; i < 1000; i += 7)
+			semi.contains(i);
+		System.out.println("semi-splay height after some lookups: " + semi.getHeight());
+	}
+}
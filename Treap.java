@@ -13,72 +13,188 @@
 // | Insertion:       |   O(1)    |    O(n)    |  O(h)   |
 // | Deletion:        |   O(1)    |    O(n)    |  O(h)   |
 // | Search:          |   O(1)    |    O(n)    |  O(h)   |
+// | Union/Inter/Diff:|   O(1)    |   O(m+n)   | (below) |
 // +-----------------------------------------------------+
 // *Where h is the height of the Tree, theoretically O(log n).
 // *Where n is the number of elements in the Tree.
+// *Set operations on treaps of sizes m <= n take O(m log(n/m + 1)) expected work.
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class Treap<AnyType extends Comparable<AnyType>> extends AbstractNavigableSet<AnyType>
+{
+	static final class Node<AnyType extends Comparable<AnyType>> implements TreeNode<AnyType>
+	{
+		AnyType data;
+		int priority = 0;
+		int size = 1; // Number of nodes in the subtree rooted here.
+		Node<AnyType> left, right;
 
-import java.util.HashSet;
-import java.util.Random;
+		Node(AnyType data, int priority)
+		{
+			this.data = data;
+			this.priority = priority;
+		}
 
-class Node<AnyType extends Comparable<AnyType>>
-{
-	AnyType data;
-	int priority = 0;
-	Node<AnyType> left, right;
+		public AnyType data()
+		{
+			return this.data;
+		}
+
+		public Node<AnyType> left()
+		{
+			return this.left;
+		}
 
-	Node(AnyType data, int priority)
+		public Node<AnyType> right()
+		{
+			return this.right;
+		}
+
+		public int compareTo(Node<AnyType> that)
+		{
+			if (this.data == null && that.data == null)
+				return 0;
+			if (this.data == null)
+				return -1;
+			if (that.data == null)
+				return 1;
+			return this.data.compareTo(that.data);
+		}
+
+		public String toString()
+		{
+			return "{ D: " + data + ", P: " + priority + " }";
+		}
+	}
+
+	private Node<AnyType> root;
+	private int size;
+
+	// Where priorities come from. With neither set, each thread draws from its
+	// own ThreadLocalRandom. Priorities don't need to be unique: ties leave the
+	// heap order intact and are rare enough not to hurt the balance.
+	private final SplittableRandom random; // Seeded: same inserts, same shape.
+	private final boolean hashed; // Priority is a hash of the value and seed.
+	private final long seed;
+
+	private TreeStats stats; // Null unless instrumentation was asked for.
+	// Only kept while stats isn't null: compare() calls made by the current add()
+	// or remove(), and the depth of the node remove() found (else -1).
+	private int comparisons;
+	private int depth;
+
+	public Treap()
 	{
-		this.data = data;
-		this.priority = priority;
+		this(null, false, 0, null);
 	}
 
-	public int compareTo(Node<AnyType> that)
+	// Orders the values with comparator instead of their compareTo().
+	public Treap(Comparator<? super AnyType> comparator)
 	{
-		if (this.data == null && that.data == null)
-			return 0;
-		if (this.data == null)
-			return -1;
-		if (that.data == null)
-			return 1;
-		return this.data.compareTo(that.data);
+		this(null, false, 0, comparator);
 	}
 
-	public String toString()
+	// Draws priorities from a generator seeded with seed, so the same sequence
+	// of insertions always builds the same tree. Not safe for concurrent adds,
+	// which the rest of the class isn't either.
+	public Treap(long seed)
 	{
-		return "{ D: " + data + ", P: " + priority + " }";
+		this(new SplittableRandom(seed), false, seed, null);
 	}
-}
 
-public class Treap<AnyType extends Comparable<AnyType>>
-{
-	private Node<AnyType> root;
-	private int size;
+	private Treap(SplittableRandom random, boolean hashed, long seed, Comparator<? super AnyType> comparator)
+	{
+		super(comparator);
+		this.random = random;
+		this.hashed = hashed;
+		this.seed = seed;
+	}
+
+	// Returns a treap whose priorities are a keyed hash of each value's
+	// hashCode(). Its shape depends only on which values it holds (not on the
+	// order they arrived in), and no random state is kept at all. Values whose
+	// hashCode() collide share a priority, so a poor hashCode() means a poorly
+	// balanced treap.
+	public static <AnyType extends Comparable<AnyType>> Treap<AnyType> hashed(long seed)
+	{
+		return new Treap<>(null, true, seed, null);
+	}
 
-	private static Random randy = new Random();
-	private HashSet<Integer> prioritySet = new HashSet<>();
-	
-	private int generatePriority()
+	// An empty treap that picks its priorities (and orders its values) the same
+	// way this one does.
+	private Treap<AnyType> emptyCopy()
 	{
-		int priority = randy.nextInt();
+		return new Treap<AnyType>((this.random == null) ? null : this.random.split(), this.hashed, this.seed, this.comparator);
+	}
 
-		while (this.prioritySet.contains(priority))
-			priority = randy.nextInt();
-		
-		prioritySet.add(priority);
-		return priority;
+	private int generatePriority(AnyType data)
+	{
+		if (this.hashed)
+		{
+			// SplitMix64's finalizer; every bit of the input affects every bit out.
+			long z = data.hashCode() + this.seed * 0x9E3779B97F4A7C15L;
+			z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+			z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+			return (int)(z ^ (z >>> 31));
+		}
+
+		if (this.random != null)
+			return this.random.nextInt();
+
+		return ThreadLocalRandom.current().nextInt();
+	}
+
+	// Starts (or, given null, stops) reporting this treap's activity to stats.
+	public void setStats(TreeStats stats)
+	{
+		this.stats = stats;
+	}
+
+	public TreeStats getStats()
+	{
+		return this.stats;
 	}
 
-	public void add(AnyType data) 
+	// Returns true if the treap changed (i.e. data was not already in it).
+	public boolean add(AnyType data)
 	{
-		this.root = add(this.root, data, generatePriority());
+		return add(data, generatePriority(data));
 	}
 
-	public void add(AnyType data, int priority)
+	public boolean add(AnyType data, int priority)
 	{
+		TreeStats stats = this.stats;
+		long start = (stats == null) ? 0 : System.nanoTime();
+		int oldSize = this.size;
+
+		if (stats != null)
+			this.comparisons = 0;
+
 		this.root = add(this.root, data, priority);
+
+		boolean added = this.size != oldSize;
+
+		if (stats != null)
+		{
+			if (added)
+				stats.allocation();
+
+			// A new node ends up below the last node compared, a duplicate at it.
+			stats.operation("Treap", "add", start, this.comparisons, added ? this.comparisons : this.comparisons - 1);
+		}
+
+		return added;
 	}
 
-	private Node<AnyType> add(Node<AnyType> root, AnyType data, Integer priority)
+	private Node<AnyType> add(Node<AnyType> root, AnyType data, int priority)
 	{
 		if (root == null)
 		{
@@ -86,7 +202,10 @@ public class Treap<AnyType extends Comparable<AnyType>>
 			return new Node<AnyType>(data, priority);
 		}
 
-		int comparisonValue = data.compareTo(root.data);
+		if (this.stats != null)
+			this.comparisons++;
+
+		int comparisonValue = compare(data, root.data);
 
 		if (comparisonValue < 0)
 		{
@@ -101,15 +220,33 @@ public class Treap<AnyType extends Comparable<AnyType>>
 				root = rotateLeft(root);
 		}
 
+		update(root);
 		return root;
 	}
 
+	private int size(Node<AnyType> root)
+	{
+		return (root == null) ? 0 : root.size;
+	}
+
+	// Recomputes root's subtree size from its children.
+	private void update(Node<AnyType> root)
+	{
+		root.size = 1 + size(root.left) + size(root.right);
+	}
+
 	private Node<AnyType> rotateRight(Node<AnyType> exParent)
 	{
 		Node<AnyType> nodeToBeParent = exParent.left;
 		exParent.left = nodeToBeParent.right;
 		nodeToBeParent.right = exParent;
 
+		update(exParent);
+		update(nodeToBeParent);
+
+		if (this.stats != null)
+			this.stats.rotation();
+
 		return nodeToBeParent;
 	}
 
@@ -118,28 +255,330 @@ public class Treap<AnyType extends Comparable<AnyType>>
 		Node<AnyType> nodeToBeParent = exParent.right;
 		exParent.right = nodeToBeParent.left;
 		nodeToBeParent.left = exParent;
+
+		update(exParent);
+		update(nodeToBeParent);
+
+		if (this.stats != null)
+			this.stats.rotation();
+
 		return nodeToBeParent;
 	}
 
-	public void remove(AnyType data)
+	// Joins two treaps where every value in a is less than every value in b.
+	// The root with the higher priority (the smaller number) stays on top.
+	private Node<AnyType> merge(Node<AnyType> a, Node<AnyType> b)
 	{
-		if (contains(data))
+		if (a == null) return b;
+		if (b == null) return a;
+
+		if (a.priority < b.priority)
+		{
+			a.right = merge(a.right, b);
+			update(a);
+			return a;
+		}
+		else
 		{
-			this.root = remove(this.root, data);
-			size--;
+			b.left = merge(a, b.left);
+			update(b);
+			return b;
 		}
 	}
 
+	// Splits root into the values < data (into out[0]) and >= data (into out[1]).
+	private void split(Node<AnyType> root, AnyType data, Node<AnyType>[] out)
+	{
+		if (root == null)
+		{
+			out[0] = out[1] = null;
+			return;
+		}
+
+		if (compare(root.data, data) < 0)
+		{
+			split(root.right, data, out);
+			root.right = out[0];
+			update(root);
+			out[0] = root;
+		}
+		else
+		{
+			split(root.left, data, out);
+			root.left = out[1];
+			update(root);
+			out[1] = root;
+		}
+	}
+
+	// Moves every value >= data out of this treap and into the one returned.
+	@SuppressWarnings("unchecked")
+	public Treap<AnyType> split(AnyType data)
+	{
+		Node<AnyType>[] parts = (Node<AnyType>[]) new Node[2];
+		split(this.root, data, parts);
+
+		Treap<AnyType> rest = emptyCopy();
+		rest.root = parts[1];
+		rest.size = size(parts[1]);
+
+		this.root = parts[0];
+		this.size = size(parts[0]);
+
+		return rest;
+	}
+
+	// Moves every value of other (which must all be greater than the values in
+	// this treap) onto the end of this one, leaving other empty.
+	public void merge(Treap<AnyType> other)
+	{
+		checkOrdering(other);
+
+		if (this.root != null && other.root != null && compare(max(this.root), min(other.root)) >= 0)
+			throw new IllegalArgumentException("values of the merged treap must all be greater");
+
+		this.root = merge(this.root, other.root);
+		this.size += other.size;
+
+		other.root = null;
+		other.size = 0;
+	}
+
+	// Splits root into the values < data (out[0]) and > data (out[1]). The node
+	// holding data itself, if any, ends up in out[2], cut loose from both.
+	private void split3(Node<AnyType> root, AnyType data, Node<AnyType>[] out)
+	{
+		if (root == null)
+		{
+			out[0] = out[1] = out[2] = null;
+			return;
+		}
+
+		int comparisonValue = compare(root.data, data);
+
+		if (comparisonValue < 0)
+		{
+			split3(root.right, data, out);
+			root.right = out[0];
+			update(root);
+			out[0] = root;
+		}
+		else if (comparisonValue > 0)
+		{
+			split3(root.left, data, out);
+			root.left = out[1];
+			update(root);
+			out[1] = root;
+		}
+		else
+		{
+			out[0] = root.left;
+			out[1] = root.right;
+			out[2] = root;
+		}
+	}
+
+	// =========================================================================
+	// Set algebra
+	// =========================================================================
+	// Each operation takes the root with the higher priority as the pivot,
+	// splits the other treap around the pivot's value, recurses on the two
+	// halves, and joins the results back under the pivot (or merges them if
+	// the pivot drops out). That costs O(m log(n/m + 1)) work for treaps of
+	// sizes m <= n, and the two halves are independent, so big ones are forked
+	// off to the common ForkJoinPool.
+
+	private static final int SEQUENTIAL_THRESHOLD = 1 << 13;
+
+	private enum SetOperation { UNION, INTERSECTION, DIFFERENCE }
+
+	// Never serialized; ForkJoinTask is only Serializable for its own reasons.
+	@SuppressWarnings("serial")
+	private class SetOperationTask extends RecursiveTask<Node<AnyType>>
+	{
+		private final SetOperation op;
+		private final Node<AnyType> a, b;
+
+		SetOperationTask(SetOperation op, Node<AnyType> a, Node<AnyType> b)
+		{
+			this.op = op;
+			this.a = a;
+			this.b = b;
+		}
+
+		// Each task gets one split3() buffer, which every level of its
+		// recursion reuses.
+		@SuppressWarnings("unchecked")
+		protected Node<AnyType> compute()
+		{
+			return combine(this.op, this.a, this.b, (Node<AnyType>[]) new Node[3]);
+		}
+	}
+
+	private Node<AnyType> combine(SetOperation op, Node<AnyType> a, Node<AnyType> b, Node<AnyType>[] parts)
+	{
+		if (a == null)
+			return (op == SetOperation.UNION) ? b : null;
+		if (b == null)
+			return (op == SetOperation.INTERSECTION) ? null : a;
+
+		// Union and intersection are symmetric, so either root can be the
+		// pivot. Difference always pivots on a, whose values are the ones kept.
+		if (op != SetOperation.DIFFERENCE && b.priority < a.priority)
+		{
+			Node<AnyType> temp = a;
+			a = b;
+			b = temp;
+		}
+
+		boolean parallel = size(a) + size(b) >= SEQUENTIAL_THRESHOLD;
+
+		// Read parts out before recursing, which overwrites them.
+		split3(b, a.data, parts);
+
+		Node<AnyType> lessThan = parts[0], greaterThan = parts[1];
+		boolean inBoth = parts[2] != null;
+		Node<AnyType> left, right;
+
+		if (parallel)
+		{
+			SetOperationTask task = new SetOperationTask(op, a.left, lessThan);
+			task.fork();
+			right = combine(op, a.right, greaterThan, parts);
+			left = task.join();
+		}
+		else
+		{
+			left = combine(op, a.left, lessThan, parts);
+			right = combine(op, a.right, greaterThan, parts);
+		}
+
+		boolean keepPivot = (op == SetOperation.UNION)
+			|| (op == SetOperation.INTERSECTION && inBoth)
+			|| (op == SetOperation.DIFFERENCE && !inBoth);
+
+		if (!keepPivot)
+			return merge(left, right);
+
+		a.left = left;
+		a.right = right;
+		update(a);
+		return a;
+	}
+
+	private void combineWith(SetOperation op, Treap<AnyType> other)
+	{
+		if (other == this)
+		{
+			if (op == SetOperation.DIFFERENCE)
+			{
+				this.root = null;
+				this.size = 0;
+			}
+
+			return;
+		}
+
+		checkOrdering(other);
+
+		this.root = ForkJoinPool.commonPool().invoke(new SetOperationTask(op, this.root, other.root));
+		this.size = size(this.root);
+
+		other.root = null;
+		other.size = 0;
+	}
+
+	private void checkOrdering(Treap<AnyType> other)
+	{
+		if (!Objects.equals(this.comparator, other.comparator))
+			throw new IllegalArgumentException("treaps must be ordered by the same comparator");
+	}
+
+	// Makes this treap the union of itself and other. Nodes are moved, not
+	// copied, so other is left empty.
+	public void union(Treap<AnyType> other)
+	{
+		combineWith(SetOperation.UNION, other);
+	}
+
+	// Keeps only the values that are also in other, which is left empty.
+	public void intersection(Treap<AnyType> other)
+	{
+		combineWith(SetOperation.INTERSECTION, other);
+	}
+
+	// Removes every value that is in other, which is left empty.
+	public void difference(Treap<AnyType> other)
+	{
+		combineWith(SetOperation.DIFFERENCE, other);
+	}
+
+	private AnyType min(Node<AnyType> root)
+	{
+		while (root.left != null)
+			root = root.left;
+
+		return root.data;
+	}
+
+	private AnyType max(Node<AnyType> root)
+	{
+		while (root.right != null)
+			root = root.right;
+
+		return root.data;
+	}
+
+	// Returns true if the treap changed (i.e. data was found and removed).
+	@SuppressWarnings("unchecked")
+	public boolean remove(Object o)
+	{
+		AnyType data = (AnyType)o;
+		TreeStats stats = this.stats;
+		long start = (stats == null) ? 0 : System.nanoTime();
+		int oldSize = this.size;
+
+		if (stats != null)
+		{
+			this.comparisons = 0;
+			this.depth = -1;
+		}
+
+		this.root = remove(this.root, data);
+
+		boolean removed = this.size != oldSize;
+
+		// A missing value's search ends at a null link, below the last node compared.
+		if (stats != null)
+			stats.operation("Treap", "remove", start, this.comparisons, removed ? this.depth : this.comparisons);
+
+		return removed;
+	}
+
 	private Node<AnyType> remove(Node<AnyType> root, AnyType data)
 	{
 		if (root == null)
 			return null;
-		else if (data.compareTo(root.data) < 0)
+
+		if (this.stats != null)
+			this.comparisons++;
+
+		int comparisonValue = compare(data, root.data);
+
+		if (comparisonValue < 0)
 			root.left = remove(root.left, data);
-		else if (data.compareTo(root.data) > 0)
+		else if (comparisonValue > 0)
 			root.right = remove(root.right, data);
 		else
 		{
+			// Only the first match counts; the rest follow the node as it is
+			// rotated down to where it can be unlinked.
+			if (this.stats != null && this.depth < 0)
+				this.depth = this.comparisons - 1;
+
+			if (root.left == null || root.right == null)
+				this.size--;
+
 			if (root.left == null && root.right == null)
 				return null;
 			else if (root.right == null)
@@ -158,29 +597,37 @@ public class Treap<AnyType extends Comparable<AnyType>>
 			}
 		}
 
+		update(root);
 		return root;
 	}
 
 
-	public boolean contains(AnyType data)
+	@SuppressWarnings("unchecked")
+	public boolean contains(Object o)
 	{
-		return contains(this.root, data);
-	}
+		AnyType data = (AnyType)o;
+		TreeStats stats = this.stats;
+		long start = (stats == null) ? 0 : System.nanoTime();
 
-	private boolean contains(Node<AnyType> root, AnyType data)
-	{
+		Node<AnyType> node = this.root;
+		int comparisons = 0, depth = 0;
 
-		if (root == null)
-			return false;
-		
-		int comparisonValue = data.compareTo(root.data);
-		
-		if (comparisonValue < 0)
-			return contains(root.left, data);
-		else if (comparisonValue > 0)
-			return contains(root.right, data);
-		else
-			return true;
+		while (node != null)
+		{
+			comparisons++;
+			int comparisonValue = compare(data, node.data);
+
+			if (comparisonValue == 0)
+				break;
+
+			node = (comparisonValue < 0) ? node.left : node.right;
+			depth++;
+		}
+
+		if (stats != null)
+			stats.operation("Treap", "contains", start, comparisons, depth);
+
+		return node != null;
 	}
 
 	private boolean isEmpty(Node<AnyType> root) 
@@ -193,6 +640,118 @@ public class Treap<AnyType extends Comparable<AnyType>>
 		return this.size;
 	}
 
+	public void clear()
+	{
+		this.root = null;
+		this.size = 0;
+	}
+
+	AnyType below(AnyType data, boolean inclusive)
+	{
+		Node<AnyType> root = this.root;
+		AnyType best = null;
+
+		while (root != null)
+		{
+			int comparisonValue = compare(data, root.data);
+
+			if (comparisonValue == 0 && inclusive)
+				return root.data;
+
+			if (comparisonValue > 0)
+			{
+				best = root.data; // Below data; anything closer is to the right.
+				root = root.right;
+			}
+			else
+			{
+				root = root.left;
+			}
+		}
+
+		return best;
+	}
+
+	AnyType above(AnyType data, boolean inclusive)
+	{
+		Node<AnyType> root = this.root;
+		AnyType best = null;
+
+		while (root != null)
+		{
+			int comparisonValue = compare(data, root.data);
+
+			if (comparisonValue == 0 && inclusive)
+				return root.data;
+
+			if (comparisonValue < 0)
+			{
+				best = root.data;
+				root = root.left;
+			}
+			else
+			{
+				root = root.right;
+			}
+		}
+
+		return best;
+	}
+
+	AnyType smallest()
+	{
+		return (this.root == null) ? null : min(this.root);
+	}
+
+	AnyType largest()
+	{
+		return (this.root == null) ? null : max(this.root);
+	}
+
+	Node<AnyType> root()
+	{
+		return this.root;
+	}
+
+	// Subtree sizes make this O(h), rather than a walk over the range.
+	int count(AnyType lo, boolean loInclusive, AnyType hi, boolean hiInclusive)
+	{
+		int count = (hi == null) ? this.size : countLess(hi, hiInclusive);
+
+		if (lo != null)
+			count -= countLess(lo, !loInclusive);
+
+		return Math.max(count, 0);
+	}
+
+	// Counts values less than data (or less than or equal to it, if inclusive).
+	private int countLess(AnyType data, boolean inclusive)
+	{
+		Node<AnyType> root = this.root;
+		int count = 0;
+
+		while (root != null)
+		{
+			int comparisonValue = compare(data, root.data);
+
+			if (comparisonValue < 0)
+			{
+				root = root.left;
+			}
+			else if (comparisonValue > 0)
+			{
+				count += size(root.left) + 1;
+				root = root.right;
+			}
+			else
+			{
+				return count + size(root.left) + (inclusive ? 1 : 0);
+			}
+		}
+
+		return count;
+	}
+
 	public int height()
 	{
 		return height(this.root);
@@ -276,5 +835,72 @@ public class Treap<AnyType extends Comparable<AnyType>>
 
 		t.preorder();
 		t.postorder();
+
+		System.out.print("Values from 6:");
+		for (Iterator<Integer> it = t.from(6); it.hasNext(); )
+			System.out.print(" " + it.next());
+		System.out.println();
+
+		System.out.println("Sum (parallel stream): " + t.stream().parallel().mapToInt(Integer::intValue).sum());
+
+		Treap<Integer> upper = t.split(5);
+		t.inorder();
+		upper.inorder();
+
+		t.merge(upper);
+		System.out.println("size after merge: " + t.size());
+		t.inorder();
+
+		Treap<Integer> evens = new Treap<>();
+		Treap<Integer> threes = new Treap<>();
+		for (int i = 0; i < 20; i++)
+		{
+			if (i % 2 == 0) evens.add(i);
+			if (i % 3 == 0) threes.add(i);
+		}
+		evens.intersection(threes);
+		evens.inorder();
+
+		// Combining two big treaps, 1M values each, half of them shared.
+		Treap<Integer> a = new Treap<>();
+		Treap<Integer> b = new Treap<>();
+		for (int i = 0; i < 1_000_000; i++)
+		{
+			a.add(2 * i);
+			b.add(2 * i + ((i % 2 == 0) ? 0 : 1));
+		}
+
+		long start = System.nanoTime();
+		a.union(b);
+		System.out.println("union of two 1M treaps: " + a.size() + " values in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+
+		// Same seed and same inserts: same shape. Hashed priorities: same shape
+		// whatever order the values arrive in.
+		Treap<Integer> seeded1 = new Treap<>(42), seeded2 = new Treap<>(42);
+		Treap<Integer> hashed1 = Treap.hashed(42), hashed2 = Treap.hashed(42);
+		for (int i = 0; i < 1000; i++)
+		{
+			seeded1.add(i);
+			seeded2.add(i);
+			hashed1.add(i);
+			hashed2.add(999 - i);
+		}
+		System.out.println("seeded heights: " + seeded1.height() + " " + seeded2.height());
+		System.out.println("hashed heights: " + hashed1.height() + " " + hashed2.height());
+
+		// Views of the treap see (and change) the treap itself.
+		Treap<String> words = new Treap<String>(String.CASE_INSENSITIVE_ORDER);
+		words.addAll(Arrays.asList("pear", "Apple", "fig", "banana", "Cherry", "date"));
+		System.out.println("words: " + words + ", from c to f: " + words.subSet("c", "f"));
+		words.headSet("c").clear();
+		System.out.println("without a-b: " + words + ", descending: " + words.descendingSet());
+
+		Treap<Integer> watched = new Treap<>();
+		watched.setStats(new TreeStats(1, Long.MAX_VALUE));
+		for (int i = 0; i < 1000; i++)
+			watched.add(i);
+		for (int i = 0; i < 1000; i++)
+			watched.contains(i);
+		System.out.println("Stats after sorted inserts: " + watched.getStats().snapshot());
 	}
 }
\ No newline at end of file
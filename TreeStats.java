@@ -0,0 +1,236 @@
+// JP Valdespino
+// October 2026
+
+// TreeStats.java
+// ==============
+// Opt-in instrumentation for AVLTree, Treap and BST. Hand a TreeStats to a
+// tree's setStats() and it starts counting:
+//
+// - comparisons, single rotations, double rotations and node allocations, in
+//   LongAdders, which stripe themselves across cells under contention;
+// - the depth each search reached, for a random 1 in sampleRate operations;
+// - operations slower than a threshold, which are also emitted as JFR events
+//   (TreeStats.SlowOperation) whenever a flight recording has them enabled.
+//
+// A tree without a TreeStats pays one null check per operation (and per
+// rotation, and per level of Treap's recursive add() and remove()), nothing
+// more. One TreeStats can be shared by several trees.
+// snapshot() reads everything at once, for a scraper to poll.
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+public final class TreeStats
+{
+	// Depths of MAX_DEPTH or more all land in the last bucket of the histogram.
+	public static final int MAX_DEPTH = 64;
+
+	private static final int DEFAULT_SAMPLE_RATE = 64;
+	private static final long DEFAULT_SLOW_NANOS = 1_000_000;
+
+	private final LongAdder operations = new LongAdder();
+	private final LongAdder comparisons = new LongAdder();
+	private final LongAdder rotations = new LongAdder();
+	private final LongAdder doubleRotations = new LongAdder();
+	private final LongAdder allocations = new LongAdder();
+	private final LongAdder slowOperations = new LongAdder();
+	private final LongAdder[] depths = new LongAdder[MAX_DEPTH + 1];
+
+	private final int sampleMask;
+	private final long slowNanos;
+
+	@Name("datastructures.SlowTreeOperation")
+	@Label("Slow Tree Operation")
+	@Category("Data Structures")
+	@Description("A tree operation that took longer than its TreeStats threshold")
+	static final class SlowOperation extends Event
+	{
+		@Label("Tree")
+		String tree;
+
+		@Label("Operation")
+		String operation;
+
+		@Label("Elapsed")
+		@Timespan(Timespan.NANOSECONDS)
+		long elapsed;
+
+		@Label("Comparisons")
+		int comparisons;
+
+		@Label("Depth")
+		int depth;
+	}
+
+	public TreeStats()
+	{
+		this(DEFAULT_SAMPLE_RATE, DEFAULT_SLOW_NANOS);
+	}
+
+	// sampleRate must be a power of two: about 1 in sampleRate operations has
+	// its depth recorded. Operations taking slowNanos or longer count as slow.
+	public TreeStats(int sampleRate, long slowNanos)
+	{
+		if (sampleRate <= 0 || Integer.bitCount(sampleRate) != 1)
+			throw new IllegalArgumentException("sample rate must be a power of two, got " + sampleRate);
+
+		this.sampleMask = sampleRate - 1;
+		this.slowNanos = slowNanos;
+
+		for (int i = 0; i <= MAX_DEPTH; i++)
+			this.depths[i] = new LongAdder();
+	}
+
+	void rotation()
+	{
+		this.rotations.increment();
+	}
+
+	void doubleRotation()
+	{
+		this.doubleRotations.increment();
+	}
+
+	void allocation()
+	{
+		this.allocations.increment();
+	}
+
+	// Called by a tree at the end of each instrumented operation, with the
+	// System.nanoTime() it started at and the depth its search reached.
+	void operation(String tree, String operation, long start, int comparisons, int depth)
+	{
+		long elapsed = System.nanoTime() - start;
+
+		this.operations.increment();
+		this.comparisons.add(comparisons);
+
+		if ((ThreadLocalRandom.current().nextInt() & this.sampleMask) == 0)
+			this.depths[Math.min(depth, MAX_DEPTH)].increment();
+
+		if (elapsed >= this.slowNanos)
+		{
+			this.slowOperations.increment();
+
+			SlowOperation event = new SlowOperation();
+
+			if (event.isEnabled())
+			{
+				event.tree = tree;
+				event.operation = operation;
+				event.elapsed = elapsed;
+				event.comparisons = comparisons;
+				event.depth = depth;
+				event.commit();
+			}
+		}
+	}
+
+	// The counters at one moment. Each counter is read on its own, so under
+	// concurrent updates they can be a few operations apart from each other.
+	public static final class Snapshot
+	{
+		public final long operations;
+		public final long comparisons;
+		public final long rotations;
+		public final long doubleRotations;
+		public final long allocations;
+		public final long slowOperations;
+		private final long[] depths;
+
+		private Snapshot(TreeStats stats)
+		{
+			this.operations = stats.operations.sum();
+			this.comparisons = stats.comparisons.sum();
+			this.rotations = stats.rotations.sum();
+			this.doubleRotations = stats.doubleRotations.sum();
+			this.allocations = stats.allocations.sum();
+			this.slowOperations = stats.slowOperations.sum();
+
+			this.depths = new long[MAX_DEPTH + 1];
+			for (int i = 0; i <= MAX_DEPTH; i++)
+				this.depths[i] = stats.depths[i].sum();
+		}
+
+		// depthHistogram()[d] is how many sampled operations searched to depth
+		// d (the root being depth 0). The last bucket holds everything deeper.
+		public long[] depthHistogram()
+		{
+			return this.depths.clone();
+		}
+
+		// The mean sampled depth, or 0 if nothing has been sampled yet.
+		public double meanDepth()
+		{
+			long count = 0, total = 0;
+
+			for (int i = 0; i <= MAX_DEPTH; i++)
+			{
+				count += this.depths[i];
+				total += i * this.depths[i];
+			}
+
+			return (count == 0) ? 0 : (double)total / count;
+		}
+
+		// The deepest sampled search.
+		public int maxDepth()
+		{
+			for (int i = MAX_DEPTH; i >= 0; i--)
+				if (this.depths[i] != 0)
+					return i;
+
+			return 0;
+		}
+
+		public String toString()
+		{
+			return "operations=" + this.operations + " comparisons=" + this.comparisons
+				+ " rotations=" + this.rotations + " doubleRotations=" + this.doubleRotations
+				+ " allocations=" + this.allocations + " slowOperations=" + this.slowOperations
+				+ String.format(" meanDepth=%.2f", meanDepth()) + " maxDepth=" + maxDepth();
+		}
+	}
+
+	public Snapshot snapshot()
+	{
+		return new Snapshot(this);
+	}
+
+	public void reset()
+	{
+		this.operations.reset();
+		this.comparisons.reset();
+		this.rotations.reset();
+		this.doubleRotations.reset();
+		this.allocations.reset();
+		this.slowOperations.reset();
+
+		for (LongAdder depth : this.depths)
+			depth.reset();
+	}
+
+	public static void main(String[] args)
+	{
+		TreeStats stats = new TreeStats(1, 0);
+
+		for (int i = 0; i < 10; i++)
+		{
+			long start = System.nanoTime();
+			stats.allocation();
+			stats.operation("demo", "add", start, i, i);
+		}
+
+		TreeStats.Snapshot snapshot = stats.snapshot();
+		System.out.println(snapshot);
+		System.out.println("depth histogram: " + Arrays.toString(Arrays.copyOf(snapshot.depthHistogram(), 12)));
+	}
+}
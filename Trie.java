@@ -3,7 +3,21 @@
 
 // Trie.java
 // =========
-// This Trie does not support special characters, yet.
+// A Trie of words over the letters a to z.
+//
+// Strings are read through a normalization table that maps every char to the
+// child slot it goes to (a to z), to SKIP, or to REJECT (can't be in the
+// Trie). The default table lowercases, skips non-letters, and rejects other
+// letters, like an accented e, so insert() throws IllegalArgumentException
+// on them; passing a copy with changes to the constructor can, say, fold
+// accented letters into plain ones instead. Lookups take a CharSequence, or
+// bytes read as Latin-1, and don't allocate.
+//
+// A Trie built with new Trie(r) also ranks completions for autocomplete:
+// every node keeps the (up to) r most frequent words below it, most frequent
+// first, so topK(prefix, k) is a walk down the prefix and a copy of k words.
+// insert() only raises a count, so it just moves that word up the lists on
+// its path; delete() rebuilds the lists on its path from the children's.
 // +-----------------------------------------------------+
 // | Trie                                                |
 // |-----------------------------------------------------|
@@ -12,45 +26,148 @@
 // | Insertion:       |   O(k)    |    O(k)    |  O(k)   |
 // | Deletion:        |   O(k)    |    O(k)    |  O(k)   |
 // | Search:          |   O(k)    |    O(k)    |  O(k)   |
+// | Top k:           |   O(p)    |  O(p + k)  | O(p + k)|
 // +-----------------------------------------------------+
-// *Where k is the length of the string.
+// *Where k is the length of the string, or for Top k, the number of words.
+// *Where p is the length of the prefix.
+// *With rankings, insertion takes O(k r) and deletion O(k r log r).
 
-class Node
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+public class Trie
 {
-	public static final int NUM_ALPHA = 26; // 26 letters in the alphabet.
-	int count; // Will signify the number of accurances of the specific string.
-	Node [] children;
+	static final class Node
+	{
+		public static final int NUM_ALPHA = 26; // 26 letters in the alphabet.
+		int count; // Will signify the number of accurances of the specific string.
+		Node [] children;
+		String word; // The string this node ends, once it has been inserted (rankings only).
+		Node [] top = NO_NODES; // Most frequent word nodes at or below this one (rankings only).
+
+		Node()
+		{
+			this.children = new Node[NUM_ALPHA];
+			this.count = 0;
+		}
+	}
+
+	private static final Node [] NO_NODES = new Node[0];
+
+	// Normalization table entries other than child slots.
+	public static final byte SKIP = -1; // The char is ignored.
+	public static final byte REJECT = -2; // A string with the char can't be in the Trie.
 
-	Node()
+	private static final byte [] DEFAULT_NORMALIZATION = new byte[Character.MAX_VALUE + 1];
+
+	static
 	{
-		this.children = new Node[NUM_ALPHA];
-		this.count = 0;
+		for (int c = 0; c <= Character.MAX_VALUE; c++)
+		{
+			char lower = Character.toLowerCase((char)c);
+
+			if (!Character.isLetter(lower))
+				DEFAULT_NORMALIZATION[c] = SKIP;
+			else if (lower >= 'a' && lower <= 'z')
+				DEFAULT_NORMALIZATION[c] = (byte)(lower - 'a');
+			else
+				DEFAULT_NORMALIZATION[c] = REJECT;
+		}
 	}
-}
 
-public class Trie
-{
 	private Node root;
+	private final int rankings; // Length of each node's top list; 0 for none.
+	private final byte [] normalization; // Child slot, SKIP or REJECT for each char.
+
+	// Scratch space for rerank(): the merged top list, and how far into each
+	// child's list the merge has got.
+	private final Node [] merged;
+	private final int [] heads = new int[Node.NUM_ALPHA];
 
 	public Trie()
 	{
+		this(0);
+	}
+
+	// Keeps the top rankings completions of every prefix, for topK().
+	public Trie(int rankings)
+	{
+		this(rankings, DEFAULT_NORMALIZATION);
+	}
+
+	// Reads strings through normalization (see defaultNormalization()).
+	public Trie(byte [] normalization)
+	{
+		this(0, normalization);
+	}
+
+	public Trie(int rankings, byte [] normalization)
+	{
+		if (rankings < 0)
+			throw new IllegalArgumentException("rankings must be non-negative: " + rankings);
+
+		if (normalization != DEFAULT_NORMALIZATION)
+		{
+			if (normalization.length != Character.MAX_VALUE + 1)
+				throw new IllegalArgumentException("normalization needs one entry per char, not " + normalization.length);
+
+			normalization = normalization.clone();
+
+			for (byte slot : normalization)
+				if (slot < REJECT || slot >= Node.NUM_ALPHA)
+					throw new IllegalArgumentException("normalization entry out of range: " + slot);
+		}
+
 		this.root = new Node();
+		this.rankings = rankings;
+		this.normalization = normalization;
+		this.merged = new Node[rankings];
+	}
+
+	// A copy of the default normalization table, to change and pass to the
+	// constructor: lowercase a to z, SKIP for non-letters, REJECT for the rest.
+	public static byte [] defaultNormalization()
+	{
+		return DEFAULT_NORMALIZATION.clone();
 	}
 
-	// Method does not insert non-alphabetic characters.
-	public boolean insert(String str)
+	// For DoubleArrayTrie and AhoCorasick, which compile a Trie's nodes into
+	// arrays.
+	Node getRoot()
+	{
+		return this.root;
+	}
+
+	// The table itself, not a copy, so the compiled forms can read their input
+	// the same way. They must not change it.
+	byte [] getNormalization()
+	{
+		return this.normalization;
+	}
+
+	// Characters the normalization table SKIPs are left out of the word. If any
+	// character is one it REJECTs (with the default table, a letter outside a
+	// to z), throws IllegalArgumentException and leaves the Trie unchanged.
+	public boolean insert(CharSequence str)
 	{
 		if (this.root == null || str == null)
 			return false;
 
-		str = str.toLowerCase();
 		int strlen = str.length();
+
+		for (int i = 0; i < strlen; i++)
+			if (this.normalization[str.charAt(i)] == REJECT)
+				throw new IllegalArgumentException("\"" + str + "\" has a character the Trie can't hold");
+
 		Node wizard = this.root; // Temporary node variable.
 		
 		for (int i = 0; i < strlen; i++)
 		{
-			if (!Character.isLetter(str.charAt(i))) continue;
-			int index = str.charAt(i) - 'a'; // Determines index of next node.
+			int index = this.normalization[str.charAt(i)]; // Determines index of next node.
+			if (index == SKIP) continue;
 			
 			if (wizard.children[index] == null)
 				wizard.children[index] = new Node();
@@ -60,10 +177,158 @@ public class Trie
 
 		wizard.count++;
 
+		if (this.rankings > 0)
+			promote(str, wizard);
+
 		return true; // Returns true if insertion is successful.
 	}
 
-	public boolean delete(String str)
+	// Inserts bytes[offset, offset + length), read as Latin-1 (so ASCII text
+	// reads as itself).
+	public boolean insert(byte [] bytes, int offset, int length)
+	{
+		if (this.root == null || bytes == null)
+			return false;
+
+		Objects.checkFromIndexSize(offset, length, bytes.length);
+
+		for (int i = offset; i < offset + length; i++)
+			if (this.normalization[bytes[i] & 0xFF] == REJECT)
+				throw new IllegalArgumentException("bytes have a character the Trie can't hold");
+
+		Node wizard = this.root; // Temporary node variable.
+
+		for (int i = offset; i < offset + length; i++)
+		{
+			int index = this.normalization[bytes[i] & 0xFF];
+			if (index == SKIP) continue;
+
+			if (wizard.children[index] == null)
+				wizard.children[index] = new Node();
+
+			wizard = wizard.children[index];
+		}
+
+		wizard.count++;
+
+		if (this.rankings > 0)
+			promote(new String(bytes, offset, length, StandardCharsets.ISO_8859_1), wizard);
+
+		return true;
+	}
+
+	// Orders word nodes by count, most frequent first, then alphabetically.
+	private static boolean ranksAbove(Node a, Node b)
+	{
+		return (a.count != b.count) ? a.count > b.count : a.word.compareTo(b.word) < 0;
+	}
+
+	// The count of word (whose node is end) just went up, which can only move
+	// it up in the top lists along its path, so each list is fixed in place.
+	private void promote(CharSequence str, Node end)
+	{
+		if (end.word == null)
+		{
+			StringBuilder letters = new StringBuilder();
+			for (int i = 0; i < str.length(); i++)
+				if (this.normalization[str.charAt(i)] != SKIP)
+					letters.append((char)('a' + this.normalization[str.charAt(i)]));
+			end.word = letters.toString();
+		}
+
+		Node wizard = this.root;
+		promote(wizard, end);
+
+		for (int i = 0; i < str.length(); i++)
+		{
+			int index = this.normalization[str.charAt(i)];
+			if (index == SKIP) continue;
+			wizard = wizard.children[index];
+			promote(wizard, end);
+		}
+	}
+
+	private void promote(Node wizard, Node end)
+	{
+		Node [] top = wizard.top;
+		int i = 0;
+
+		while (i < top.length && top[i] != end)
+			i++;
+
+		if (i == top.length) // Not in the list yet.
+		{
+			if (top.length < this.rankings)
+				top = wizard.top = Arrays.copyOf(top, top.length + 1);
+			else if (!ranksAbove(end, top[top.length - 1]))
+				return;
+
+			i = top.length - 1;
+			top[i] = end;
+		}
+
+		for (; i > 0 && ranksAbove(end, top[i - 1]); i--)
+		{
+			top[i] = top[i - 1];
+			top[i - 1] = end;
+		}
+	}
+
+	// Rebuilds the top list of wizard from its own count and its children's
+	// lists, which must already be up to date. Those lists are already sorted,
+	// so this merges them, taking the best of their heads (and wizard itself)
+	// once per slot: O(r) steps over the alphabet, into buffers the Trie owns,
+	// rather than sorting every candidate into a new array at each node.
+	private void rerank(Node wizard)
+	{
+		Node [] merged = this.merged;
+		int [] heads = this.heads;
+		boolean self = wizard.count > 0; // wizard still to be placed.
+		int n = 0;
+
+		Arrays.fill(heads, 0);
+
+		while (n < this.rankings)
+		{
+			Node best = self ? wizard : null;
+			int from = -1; // Child whose head is best, or -1 for wizard.
+
+			for (int j = 0; j < Node.NUM_ALPHA; j++)
+			{
+				Node child = wizard.children[j];
+
+				if (child != null && heads[j] < child.top.length)
+				{
+					Node head = child.top[heads[j]];
+
+					if (best == null || ranksAbove(head, best))
+					{
+						best = head;
+						from = j;
+					}
+				}
+			}
+
+			if (best == null) // Every list is used up.
+				break;
+
+			if (from == -1)
+				self = false;
+			else
+				heads[from]++;
+
+			merged[n++] = best;
+		}
+
+		// A list that keeps its length (the usual case on delete) is refilled in
+		// place.
+		if (n != wizard.top.length)
+			wizard.top = (n == 0) ? NO_NODES : new Node[n];
+
+		System.arraycopy(merged, 0, wizard.top, 0, n);
+	}
+
+	public boolean delete(CharSequence str)
 	{
 		if (str == null)
 			return false;
@@ -71,18 +336,29 @@ public class Trie
 		if (!contains(str))
 			return false;
 
-		this.root = delete(this.root, str.toLowerCase(), str.length(), 0);
+		this.root = delete(this.root, str, 0);
+
+		// Deleting "" from an otherwise empty Trie would leave it without a root.
+		if (this.root == null)
+			this.root = new Node();
+
 		return true;
 	}
 
-	private Node delete(Node wizard, String str, int strlen, int i)
+	private Node delete(Node wizard, CharSequence str, int i)
 	{
 		if (wizard == null)
 			return null;
 
-		if (i == strlen)
+		while (i < str.length() && this.normalization[str.charAt(i)] == SKIP)
+			i++;
+
+		if (i == str.length())
 		{
 			wizard.count--;
+
+			if (this.rankings > 0)
+				rerank(wizard);
 			
 			if (wizard.count > 0)
 				return wizard;
@@ -94,55 +370,174 @@ public class Trie
 			// If node does not have non-null children then we delete the node.
 			return null;
 		}
-		
-		while (!Character.isLetter(str.charAt(i)))
-			i++;
 
-		int index = str.charAt(i) - 'a';
+		int index = this.normalization[str.charAt(i)];
+
+		wizard.children[index] = delete(wizard.children[index], str, i+1);
+
+		if (this.rankings > 0)
+			rerank(wizard);
 
-		wizard.children[index] = delete(wizard.children[index], str, strlen, i+1);
 		return wizard;
 	}
 
-	public boolean contains(String str)
+	// The node str leads to, or null if it leads nowhere.
+	private Node find(CharSequence str)
 	{
-		if (this.root == null || str == null)
-			return false;
+		Node wizard = this.root; // Temporary node variable.
 
-		str = str.toLowerCase();
+		for (int i = 0; i < str.length() && wizard != null; i++)
+		{
+			int index = this.normalization[str.charAt(i)];
+			if (index == SKIP) continue;
+			if (index == REJECT) return null;
+
+			wizard = wizard.children[index];
+		}
+
+		return wizard;
+	}
+
+	private Node find(byte [] bytes, int offset, int length)
+	{
+		Objects.checkFromIndexSize(offset, length, bytes.length);
 		Node wizard = this.root; // Temporary node variable.
 
-		for (int i = 0; i < str.length(); i++)
+		for (int i = offset; i < offset + length && wizard != null; i++)
 		{
-			if (!Character.isLetter(str.charAt(i))) continue;
-			int index = str.charAt(i) - 'a';
-			
-			if (wizard.children[index] == null) return false;
+			int index = this.normalization[bytes[i] & 0xFF];
+			if (index == SKIP) continue;
+			if (index == REJECT) return null;
+
 			wizard = wizard.children[index];
 		}
 
-		return (wizard.count > 0) ? true : false;
+		return wizard;
+	}
+
+	public boolean contains(CharSequence str)
+	{
+		return countSpecificString(str) > 0;
+	}
+
+	// Whether bytes[offset, offset + length), read as Latin-1, is in the Trie.
+	public boolean contains(byte [] bytes, int offset, int length)
+	{
+		return countSpecificString(bytes, offset, length) > 0;
 	}
 
 	// Count of a specific string.
-	public int countSpecificString(String str)
+	public int countSpecificString(CharSequence str)
 	{
-		if (str == null)
+		if (this.root == null || str == null)
 			return 0;
 
-		str = str.toLowerCase();
-		Node wizard = this.root; // Temporary node variable.
+		Node wizard = find(str);
+		return (wizard == null) ? 0 : wizard.count;
+	}
 
-		for (int i = 0; i < str.length(); i++)
+	public int countSpecificString(byte [] bytes, int offset, int length)
+	{
+		if (this.root == null || bytes == null)
+			return 0;
+
+		Node wizard = find(bytes, offset, length);
+		return (wizard == null) ? 0 : wizard.count;
+	}
+
+	// Whether every one of keys is in the Trie.
+	public boolean containsAll(CharSequence [] keys)
+	{
+		for (CharSequence key : keys)
+			if (!contains(key))
+				return false;
+
+		return true;
+	}
+
+	private static final int BATCH = 8;
+
+	// Sets counts[i] to the count of keys[i], for every key.
+	//
+	// Each step down a Trie is usually a cache miss, and one key's steps
+	// can't overlap. So the keys are walked BATCH at a time, a letter of each
+	// in turn: the misses of different keys don't depend on each other, and
+	// the CPU can wait on several at once.
+	public void countAll(CharSequence [] keys, int [] counts)
+	{
+		if (counts.length < keys.length)
+			throw new IllegalArgumentException("counts has room for " + counts.length + " of " + keys.length + " keys");
+
+		Node [] wizards = new Node[BATCH];
+		int [] positions = new int[BATCH];
+
+		for (int from = 0; from < keys.length; from += BATCH)
 		{
-			if (!(Character.isLetter(str.charAt(i)))) continue;
-			int index = str.charAt(i) - 'a';
-			
-			if (wizard.children[index] == null) return 0;
-			wizard = wizard.children[index];
+			int n = Math.min(BATCH, keys.length - from);
+
+			for (int j = 0; j < n; j++)
+			{
+				wizards[j] = (keys[from + j] == null) ? null : this.root;
+				positions[j] = 0;
+				counts[from + j] = 0;
+			}
+
+			for (int walking = n; walking > 0; )
+			{
+				walking = 0;
+
+				for (int j = 0; j < n; j++)
+				{
+					Node wizard = wizards[j];
+					if (wizard == null) continue;
+
+					CharSequence key = keys[from + j];
+					int i = positions[j];
+
+					while (i < key.length() && this.normalization[key.charAt(i)] == SKIP)
+						i++;
+
+					if (i == key.length())
+					{
+						counts[from + j] = wizard.count;
+						wizards[j] = null;
+						continue;
+					}
+
+					int index = this.normalization[key.charAt(i)];
+					wizard = (index == REJECT) ? null : wizard.children[index];
+					wizards[j] = wizard;
+					positions[j] = i + 1;
+
+					if (wizard != null)
+						walking++;
+				}
+			}
 		}
+	}
+
+	// The (up to) k most frequent strings that start with prefix, most frequent
+	// first; ties are broken alphabetically. k can be at most the number of
+	// rankings the Trie was built with.
+	public List<String> topK(CharSequence prefix, int k)
+	{
+		if (k < 0 || k > this.rankings)
+			throw new IllegalArgumentException("k must be between 0 and " + this.rankings + ": " + k);
+
+		List<String> words = new ArrayList<>();
+
+		if (this.root == null || prefix == null)
+			return words;
 
-		return wizard.count;
+		Node wizard = find(prefix);
+
+		if (wizard == null)
+			return words;
+
+		for (int i = 0; i < k && i < wizard.top.length; i++)
+			words.add(wizard.top[i].word);
+
+		return words;
 	}
 
 	// Counts the number of strings in the Trie, including duplicates.
@@ -274,5 +669,42 @@ public class Trie
 
 		System.out.println("number of times \"apple\" is in Trie: " + lexicon.countSpecificString("apple"));
 		System.out.println();
+
+		// Autocomplete over a frequency dictionary, kept ranked as it changes.
+		Trie typeahead = new Trie(3);
+		String [] queries = new String[] { "car", "cart", "carbon", "care", "cart", "cat", "care", "cart", "dog", "carbon", "care" };
+
+		for (String query : queries)
+			typeahead.insert(query);
+
+		System.out.println("top 3 for \"ca\": " + typeahead.topK("ca", 3));
+		System.out.println("top 2 for \"car\": " + typeahead.topK("car", 2));
+		System.out.println("top 3 for \"d\": " + typeahead.topK("d", 3));
+
+		typeahead.delete("cart");
+		typeahead.delete("cart");
+		System.out.println("after deleting \"cart\" twice, top 3 for \"ca\": " + typeahead.topK("ca", 3));
+		System.out.println();
+
+		// Lookups without Strings, and a table that folds accented letters in.
+		byte [] table = Trie.defaultNormalization();
+		table['\u00e9'] = table['\u00c9'] = 'e' - 'a';
+
+		Trie folded = new Trie(table);
+		folded.insert("caf\u00e9");
+		folded.insert(new StringBuilder("Cafe"));
+		folded.insert("facade");
+
+		byte [] ascii = "--CAFE--".getBytes(StandardCharsets.US_ASCII);
+		System.out.println("count of \"caf\u00e9\": " + folded.countSpecificString("CAF\u00c9"));
+		System.out.println("contains bytes \"--CAFE--\": " + folded.contains(ascii, 0, ascii.length));
+		System.out.println("contains \"na\u00efve\": " + folded.contains("na\u00efve"));
+
+		CharSequence [] keys = { "cafe", "facade", "tea", "caf\u00e9" };
+		int [] counts = new int[keys.length];
+		folded.countAll(keys, counts);
+		System.out.println("countAll " + Arrays.toString(keys) + ": " + Arrays.toString(counts));
+		System.out.println("containsAll: " + folded.containsAll(keys));
+		System.out.println();
 	}
 }
\ No newline at end of file
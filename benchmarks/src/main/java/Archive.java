@@ -0,0 +1,108 @@
+// JP Valdespino
+// October 2026
+
+// Archive.java
+// ============
+// Wraps the archive's data structures in the interfaces from
+// benchmarks.Structures. It has to live in the default package, like the
+// structures themselves, since nothing in a named package can name them.
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.NavigableSet;
+
+import benchmarks.Structures;
+
+public class Archive
+{
+	public static Structures.OrderedSet orderedSet(String name)
+	{
+		NavigableSet<Integer> tree;
+
+		switch (name)
+		{
+			case "BST": tree = new BST<>(); break;
+			case "AVLTree": tree = new AVLTree<>(); break;
+			case "Treap": tree = new Treap<>(); break;
+
+			default:
+				throw new IllegalArgumentException("no ordered set called " + name);
+		}
+
+		return new Structures.OrderedSet()
+		{
+			public void add(Integer key) { tree.add(key); }
+			public void remove(Integer key) { tree.remove(key); }
+			public boolean contains(Integer key) { return tree.contains(key); }
+		};
+	}
+
+	public static Structures.StringSet stringSet(String name)
+	{
+		switch (name)
+		{
+			case "Trie":
+			{
+				Trie trie = new Trie();
+
+				return new Structures.StringSet()
+				{
+					public void add(String word) { trie.insert(word); }
+					public void remove(String word) { trie.delete(word); }
+					public boolean contains(String word) { return trie.contains(word); }
+				};
+			}
+
+			case "BloomFilter_v1":
+			{
+				BloomFilter_v1 filter = new BloomFilter_v1();
+
+				return new Structures.StringSet()
+				{
+					public void add(String word) { filter.add(word); }
+					public void remove(String word) { filter.remove(word); }
+					public boolean contains(String word) { return filter.contains(word); }
+				};
+			}
+
+			case "BloomFilter_v2":
+			{
+				BloomFilter_v2 filter = new BloomFilter_v2();
+
+				return new Structures.StringSet()
+				{
+					public void add(String word) { filter.add(word); }
+					public void remove(String word) { filter.remove(word); }
+					public boolean contains(String word) { return filter.contains(word); }
+				};
+			}
+
+			default:
+				throw new IllegalArgumentException("no string set called " + name);
+		}
+	}
+
+	public static Structures.UnionFind unionFind(int n)
+	{
+		DisjointSet sets = new DisjointSet(n);
+
+		return new Structures.UnionFind()
+		{
+			public int find(int v) { return sets.find(v); }
+			public boolean union(int v1, int v2) { return sets.union(v1, v2); }
+		};
+	}
+
+	public static Structures.LoadedGraph graph(String filename)
+	{
+		try
+		{
+			Graph graph = new Graph(filename);
+			return graph::containsCycle_forUndirectedGraphs;
+		}
+		catch (IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -0,0 +1,99 @@
+// JP Valdespino
+// October 2026
+
+// AVLTreeBenchmark.java
+// =====================
+// The current, iterative AVLTree against the recursive one it replaced
+// (RecursiveAVLTree). Each tree starts out holding the even keys in
+// [0, 2 * size), inserted in random order. contains() looks up keys drawn
+// from the whole range, so about half of them miss. addRemove() adds an odd
+// key and removes it again, which keeps the tree the same size.
+
+package benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AVLTreeBenchmark
+{
+	// Keys are replayed from a precomputed ring of this many.
+	private static final int OPERATIONS = 1 << 16;
+
+	@Param({ "recursive", "iterative" })
+	public String version;
+
+	@Param({ "1000", "1000000" })
+	public int size;
+
+	private Structures.OrderedSet tree;
+	private Integer[] lookups, odds;
+	private int next;
+
+	@Setup(Level.Trial)
+	public void setUp()
+	{
+		Random randy = new Random(42);
+
+		if (this.version.equals("recursive"))
+		{
+			RecursiveAVLTree<Integer> recursive = new RecursiveAVLTree<>();
+
+			this.tree = new Structures.OrderedSet()
+			{
+				public void add(Integer key) { recursive.add(key); }
+				public void remove(Integer key) { recursive.remove(key); }
+				public boolean contains(Integer key) { return recursive.contains(key); }
+			};
+		}
+		else
+		{
+			this.tree = Structures.orderedSet("AVLTree");
+		}
+
+		for (int i : KeyDistribution.permutation(this.size, randy))
+			this.tree.add(2 * i);
+
+		this.lookups = new Integer[OPERATIONS];
+		this.odds = new Integer[OPERATIONS];
+
+		for (int i = 0; i < OPERATIONS; i++)
+		{
+			this.lookups[i] = randy.nextInt(2 * this.size); // Boxed here, so the benchmark doesn't measure boxing.
+			this.odds[i] = 2 * randy.nextInt(this.size) + 1;
+		}
+	}
+
+	@Benchmark
+	public boolean contains()
+	{
+		return this.tree.contains(this.lookups[this.next++ & (OPERATIONS - 1)]);
+	}
+
+	@Benchmark
+	public void addRemove()
+	{
+		Integer key = this.odds[this.next++ & (OPERATIONS - 1)];
+
+		this.tree.add(key);
+		this.tree.remove(key);
+	}
+}
@@ -0,0 +1,84 @@
+// JP Valdespino
+// October 2026
+
+// BloomFilterV2Benchmark.java
+// ===========================
+// BloomFilter_v2 keeps each of its seven tables in a BigInteger of about a
+// billion bits, and BigInteger.setBit() returns a modified copy, so every
+// add() copies close to 1 GB. Lookups are timed like the other benchmarks,
+// on a small filter; adds are timed one at a time (single shot), with
+// "-prof gc" showing where the time goes.
+
+package benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class BloomFilterV2Benchmark
+{
+	private static final int OPERATIONS = 1 << 12;
+
+	@Param({ "16" })
+	public int size;
+
+	@Param({ "UNIFORM", "ZIPFIAN" })
+	public KeyDistribution distribution;
+
+	private Structures.StringSet filter;
+	private String[] words;
+	private int next;
+
+	@Setup(Level.Trial)
+	public void setUp()
+	{
+		Random randy = new Random(42);
+
+		String[] vocabulary = new String[2 * this.size];
+		for (int i = 0; i < vocabulary.length; i++)
+			vocabulary[i] = StringSetBenchmark.randomWord(randy);
+
+		this.filter = Structures.stringSet("BloomFilter_v2");
+		for (int i = 0; i < vocabulary.length; i += 2)
+			this.filter.add(vocabulary[i]);
+
+		int[] picks = this.distribution.sample(vocabulary.length, OPERATIONS, randy);
+		this.words = new String[OPERATIONS];
+		for (int i = 0; i < OPERATIONS; i++)
+			this.words[i] = vocabulary[picks[i]];
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.AverageTime)
+	@OutputTimeUnit(TimeUnit.NANOSECONDS)
+	@Warmup(iterations = 3, time = 1)
+	@Measurement(iterations = 5, time = 1)
+	public boolean contains()
+	{
+		return this.filter.contains(this.words[this.next++ & (OPERATIONS - 1)]);
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	@Warmup(iterations = 1, batchSize = 1)
+	@Measurement(iterations = 5, batchSize = 1)
+	public void add()
+	{
+		this.filter.add(this.words[this.next++ & (OPERATIONS - 1)]);
+	}
+}
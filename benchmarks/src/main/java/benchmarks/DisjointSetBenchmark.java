@@ -0,0 +1,82 @@
+// JP Valdespino
+// October 2026
+
+// DisjointSetBenchmark.java
+// =========================
+// A mix of union() and find() on a DisjointSet of size elements, which
+// starts every measurement iteration as size singletons. Both endpoints of a
+// union, and the element of a find, are drawn from the given distribution.
+
+package benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DisjointSetBenchmark
+{
+	private static final int OPERATIONS = 1 << 16;
+
+	@Param({ "1000", "1000000" })
+	public int size;
+
+	@Param({ "UNIFORM", "SEQUENTIAL", "ZIPFIAN" })
+	public KeyDistribution distribution;
+
+	// The rest are finds.
+	@Param({ "10", "50" })
+	public int unionPercent;
+
+	private Structures.UnionFind sets;
+	private int[] first, second;
+	private boolean[] unions;
+	private int next;
+
+	@Setup(Level.Trial)
+	public void setUpOperations()
+	{
+		Random randy = new Random(42);
+
+		this.first = this.distribution.sample(this.size, OPERATIONS, randy);
+		this.second = this.distribution.sample(this.size, OPERATIONS, randy);
+		this.unions = new boolean[OPERATIONS];
+
+		for (int i = 0; i < OPERATIONS; i++)
+			this.unions[i] = randy.nextInt(100) < this.unionPercent;
+	}
+
+	@Setup(Level.Iteration)
+	public void setUpSets()
+	{
+		this.sets = Structures.unionFind(this.size);
+	}
+
+	@Benchmark
+	public int operation()
+	{
+		int i = this.next++ & (OPERATIONS - 1);
+
+		if (this.unions[i])
+			return this.sets.union(this.first[i], this.second[i]) ? 1 : 0;
+
+		return this.sets.find(this.first[i]);
+	}
+}
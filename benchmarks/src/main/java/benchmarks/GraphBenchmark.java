@@ -0,0 +1,122 @@
+// JP Valdespino
+// October 2026
+
+// GraphBenchmark.java
+// ===================
+// Loading a Graph from its input file (which fills both the adjacency matrix
+// and the adjacency lists), and checking it for a cycle. The graph is a
+// random tree on the given number of vertices, plus, when cyclic, as many
+// again random extra edges. A tree makes the cycle check visit every vertex;
+// with extra edges it usually stops early.
+
+package benchmarks;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GraphBenchmark
+{
+	@Param({ "100", "2000" })
+	public int vertices;
+
+	@Param({ "false", "true" })
+	public boolean cyclic;
+
+	private Path file;
+	private Structures.LoadedGraph graph;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException
+	{
+		Random randy = new Random(42);
+
+		List<List<Integer>> neighbors = new ArrayList<>();
+		for (int i = 0; i < this.vertices; i++)
+			neighbors.add(new ArrayList<>());
+
+		// Each vertex after the first hangs off a random earlier one.
+		for (int v = 1; v < this.vertices; v++)
+		{
+			int u = randy.nextInt(v);
+			neighbors.get(u).add(v);
+			neighbors.get(v).add(u);
+		}
+
+		if (this.cyclic)
+		{
+			for (int i = 0; i < this.vertices; i++)
+			{
+				int u = randy.nextInt(this.vertices);
+				int v = randy.nextInt(this.vertices);
+
+				if (u != v && !neighbors.get(u).contains(v))
+				{
+					neighbors.get(u).add(v);
+					neighbors.get(v).add(u);
+				}
+			}
+		}
+
+		// Graph's format: the vertex count, then for each vertex its edge
+		// count followed by (neighbor, weight) pairs.
+		this.file = Files.createTempFile("graph", ".in");
+		try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(this.file)))
+		{
+			out.println(this.vertices);
+
+			for (List<Integer> list : neighbors)
+			{
+				out.print(list.size());
+				for (int v : list)
+					out.print(" " + v + " " + (1 + randy.nextInt(100)));
+				out.println();
+			}
+		}
+
+		this.graph = Structures.graph(this.file.toString());
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException
+	{
+		Files.deleteIfExists(this.file);
+	}
+
+	@Benchmark
+	public Structures.LoadedGraph load()
+	{
+		return Structures.graph(this.file.toString());
+	}
+
+	@Benchmark
+	public boolean containsCycle()
+	{
+		return this.graph.containsCycle();
+	}
+}
@@ -0,0 +1,75 @@
+// JP Valdespino
+// October 2026
+
+// KeyDistribution.java
+// ====================
+// Which keys a benchmark's operations touch, as indices into [0, n).
+
+package benchmarks;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public enum KeyDistribution
+{
+	// Every index equally likely.
+	UNIFORM,
+
+	// 0, 1, 2, ... wrapping around at n, starting from a random index.
+	SEQUENTIAL,
+
+	// Zipf with exponent 1: the r-th most popular index is drawn with
+	// probability proportional to 1 / r. Popularity is assigned by a random
+	// permutation, so the hot indices are scattered rather than clustered.
+	ZIPFIAN;
+
+	public int[] sample(int n, int count, Random randy)
+	{
+		int[] indices = new int[count];
+
+		switch (this)
+		{
+			case UNIFORM:
+				for (int i = 0; i < count; i++)
+					indices[i] = randy.nextInt(n);
+				break;
+
+			case SEQUENTIAL:
+				int start = randy.nextInt(n);
+				for (int i = 0; i < count; i++)
+					indices[i] = (int)((start + (long)i) % n);
+				break;
+
+			case ZIPFIAN:
+				double[] cdf = new double[n];
+				double total = 0;
+				for (int r = 0; r < n; r++)
+					cdf[r] = total += 1.0 / (r + 1);
+
+				int[] byRank = permutation(n, randy);
+				for (int i = 0; i < count; i++)
+				{
+					int r = Arrays.binarySearch(cdf, randy.nextDouble() * total);
+					indices[i] = byRank[(r >= 0) ? r : Math.min(-r - 1, n - 1)];
+				}
+				break;
+		}
+
+		return indices;
+	}
+
+	// A random ordering of 0 .. n - 1.
+	public static int[] permutation(int n, Random randy)
+	{
+		int[] order = new int[n];
+
+		for (int i = 0; i < n; i++)
+		{
+			int j = randy.nextInt(i + 1);
+			order[i] = order[j];
+			order[j] = i;
+		}
+
+		return order;
+	}
+}
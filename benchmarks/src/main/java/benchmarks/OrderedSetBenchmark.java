@@ -0,0 +1,94 @@
+// JP Valdespino
+// October 2026
+
+// OrderedSetBenchmark.java
+// ========================
+// A read/write mix on BST, AVLTree and Treap. Each tree starts out holding
+// the even keys in [0, 2 * size), inserted in random order (in sorted order a
+// BST would turn into a list, taking O(n^2) to build and O(n) per lookup).
+// Operations then pick keys from the whole range, so about half the lookups miss. Writes alternate
+// between add and remove, which keeps the size roughly steady.
+
+package benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderedSetBenchmark
+{
+	// Operations are replayed from a precomputed ring of this many.
+	private static final int OPERATIONS = 1 << 16;
+
+	@Param({ "BST", "AVLTree", "Treap" })
+	public String structure;
+
+	@Param({ "1000", "1000000" })
+	public int size;
+
+	@Param({ "UNIFORM", "SEQUENTIAL", "ZIPFIAN" })
+	public KeyDistribution distribution;
+
+	@Param({ "100", "90", "50" })
+	public int readPercent;
+
+	private Structures.OrderedSet set;
+	private Integer[] keys;
+	private boolean[] reads;
+	private int next;
+
+	@Setup(Level.Trial)
+	public void setUp()
+	{
+		Random randy = new Random(42);
+
+		this.set = Structures.orderedSet(this.structure);
+		for (int i : KeyDistribution.permutation(this.size, randy))
+			this.set.add(2 * i);
+
+		int[] picks = this.distribution.sample(2 * this.size, OPERATIONS, randy);
+		this.keys = new Integer[OPERATIONS];
+		this.reads = new boolean[OPERATIONS];
+
+		for (int i = 0; i < OPERATIONS; i++)
+		{
+			this.keys[i] = picks[i]; // Boxed here, so the benchmark doesn't measure boxing.
+			this.reads[i] = randy.nextInt(100) < this.readPercent;
+		}
+	}
+
+	@Benchmark
+	public boolean operation()
+	{
+		int i = this.next++ & (OPERATIONS - 1);
+		Integer key = this.keys[i];
+
+		if (this.reads[i])
+			return this.set.contains(key);
+
+		if ((i & 1) == 0)
+			this.set.add(key);
+		else
+			this.set.remove(key);
+
+		return false;
+	}
+}
@@ -0,0 +1,173 @@
+// JP Valdespino
+// October 2026
+
+// RecursiveAVLTree.java
+// =====================
+// The archive's AVLTree as it was before add() and remove() became iterative:
+// each operation recurses to the bottom of the tree and rebalances on the way
+// back up. Kept here, unchanged apart from the size bookkeeping, as the
+// reference AVLTreeBenchmark measures the current AVLTree against.
+
+package benchmarks;
+
+final class RecursiveAVLTree<AnyType extends Comparable<AnyType>>
+{
+	private static final class Node<AnyType>
+	{
+		AnyType data;
+		Node<AnyType> left, right;
+		int height;
+
+		Node(AnyType data)
+		{
+			this.data = data;
+		}
+	}
+
+	private Node<AnyType> root;
+
+	private int getHeight(Node<AnyType> root)
+	{
+		return (root == null) ? -1 : root.height;
+	}
+
+	private int balanceFactor(Node<AnyType> root)
+	{
+		return getHeight(root.left) - getHeight(root.right);
+	}
+
+	private Node<AnyType> rotateLeft(Node<AnyType> root)
+	{
+		Node<AnyType> temp = root.right;
+		root.right = temp.left;
+		temp.left = root;
+
+		root.height = 1 + Math.max(getHeight(root.left), getHeight(root.right));
+		temp.height = 1 + Math.max(getHeight(temp.left), getHeight(temp.right));
+
+		return temp;
+	}
+
+	private Node<AnyType> rotateRight(Node<AnyType> root)
+	{
+		Node<AnyType> temp = root.left;
+		root.left = temp.right;
+		temp.right = root;
+
+		root.height = 1 + Math.max(getHeight(root.left), getHeight(root.right));
+		temp.height = 1 + Math.max(getHeight(temp.left), getHeight(temp.right));
+
+		return temp;
+	}
+
+	private Node<AnyType> balanceAVLTree(Node<AnyType> root)
+	{
+		int bf = balanceFactor(root);
+
+		if (bf == -2)
+		{
+			if (balanceFactor(root.right) > 0)
+				root.right = rotateRight(root.right);
+
+			root = rotateLeft(root);
+		}
+		else if (bf == 2)
+		{
+			if (balanceFactor(root.left) < 0)
+				root.left = rotateLeft(root.left);
+
+			root = rotateRight(root);
+		}
+
+		return root;
+	}
+
+	public void add(AnyType data)
+	{
+		this.root = add(this.root, data);
+	}
+
+	private Node<AnyType> add(Node<AnyType> root, AnyType data)
+	{
+		if (root == null) return new Node<>(data);
+
+		int comparisonValue = data.compareTo(root.data);
+
+		if (comparisonValue < 0)
+			root.left = add(root.left, data);
+		else if (comparisonValue > 0)
+			root.right = add(root.right, data);
+		else
+			return root; // Disallows the insertion of duplicate values.
+
+		root.height = 1 + Math.max(getHeight(root.left), getHeight(root.right));
+
+		return balanceAVLTree(root);
+	}
+
+	public void remove(AnyType data)
+	{
+		this.root = remove(this.root, data);
+	}
+
+	private Node<AnyType> remove(Node<AnyType> root, AnyType data)
+	{
+		if (root == null) return null;
+
+		int comparisonValue = data.compareTo(root.data);
+
+		if (comparisonValue == 0)
+		{
+			if (root.left == null && root.right == null)
+				return null;
+			else if (root.left == null)
+				return root.right;
+			else if (root.right == null)
+				return root.left;
+			else
+			{
+				root.data = findMax(root.left);
+				root.left = remove(root.left, root.data);
+			}
+		}
+		else if (comparisonValue < 0)
+		{
+			root.left = remove(root.left, data);
+		}
+		else
+		{
+			root.right = remove(root.right, data);
+		}
+
+		root.height = 1 + Math.max(getHeight(root.left), getHeight(root.right));
+
+		return balanceAVLTree(root);
+	}
+
+	private AnyType findMax(Node<AnyType> root)
+	{
+		if (root.right == null)
+			return root.data;
+		else
+			return findMax(root.right);
+	}
+
+	public boolean contains(AnyType data)
+	{
+		return contains(this.root, data);
+	}
+
+	private boolean contains(Node<AnyType> root, AnyType data)
+	{
+		if (root == null) return false;
+
+		int comparisonValue = data.compareTo(root.data);
+
+		if (comparisonValue < 0)
+			return contains(root.left, data);
+		else if (comparisonValue > 0)
+			return contains(root.right, data);
+		else
+			return true;
+	}
+}
@@ -0,0 +1,110 @@
+// JP Valdespino
+// October 2026
+
+// StringSetBenchmark.java
+// =======================
+// A read/write mix on Trie and BloomFilter_v1, over random lowercase words
+// of 4 to 12 letters. Each structure starts out holding every other word of
+// a vocabulary of 2 * size, so about half the lookups are for words that were
+// never added. Writes alternate between add and remove (a no-op for the Bloom
+// filter, which can't remove).
+//
+// BloomFilter_v2 has its own benchmark: each of its adds copies seven ~120 MB
+// BigIntegers, far too slow to fill to these sizes.
+
+package benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringSetBenchmark
+{
+	private static final int OPERATIONS = 1 << 16;
+
+	@Param({ "Trie", "BloomFilter_v1" })
+	public String structure;
+
+	@Param({ "1000", "100000" })
+	public int size;
+
+	@Param({ "UNIFORM", "SEQUENTIAL", "ZIPFIAN" })
+	public KeyDistribution distribution;
+
+	@Param({ "100", "90", "50" })
+	public int readPercent;
+
+	private Structures.StringSet set;
+	private String[] words;
+	private boolean[] reads;
+	private int next;
+
+	static String randomWord(Random randy)
+	{
+		char[] letters = new char[4 + randy.nextInt(9)];
+
+		for (int i = 0; i < letters.length; i++)
+			letters[i] = (char)('a' + randy.nextInt(26));
+
+		return new String(letters);
+	}
+
+	@Setup(Level.Trial)
+	public void setUp()
+	{
+		Random randy = new Random(42);
+
+		String[] vocabulary = new String[2 * this.size];
+		for (int i = 0; i < vocabulary.length; i++)
+			vocabulary[i] = randomWord(randy);
+
+		this.set = Structures.stringSet(this.structure);
+		for (int i = 0; i < vocabulary.length; i += 2)
+			this.set.add(vocabulary[i]);
+
+		int[] picks = this.distribution.sample(vocabulary.length, OPERATIONS, randy);
+		this.words = new String[OPERATIONS];
+		this.reads = new boolean[OPERATIONS];
+
+		for (int i = 0; i < OPERATIONS; i++)
+		{
+			this.words[i] = vocabulary[picks[i]];
+			this.reads[i] = randy.nextInt(100) < this.readPercent;
+		}
+	}
+
+	@Benchmark
+	public boolean operation()
+	{
+		int i = this.next++ & (OPERATIONS - 1);
+		String word = this.words[i];
+
+		if (this.reads[i])
+			return this.set.contains(word);
+
+		if ((i & 1) == 0)
+			this.set.add(word);
+		else
+			this.set.remove(word);
+
+		return false;
+	}
+}
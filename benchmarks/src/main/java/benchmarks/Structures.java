@@ -0,0 +1,90 @@
+// JP Valdespino
+// October 2026
+
+// Structures.java
+// ===============
+// The archive's classes all live in the default package, which JMH refuses
+// to benchmark from and which code in a named package can't refer to. So
+// the benchmarks only see the interfaces below, and the default-package
+// Archive class (next to this package) wraps each data structure in one of
+// them. Archive is looked up by name once per trial; after that every call is
+// a plain interface call, which the JIT inlines like any other.
+
+package benchmarks;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+public final class Structures
+{
+	// BST, AVLTree and Treap.
+	public interface OrderedSet
+	{
+		void add(Integer key);
+		void remove(Integer key);
+		boolean contains(Integer key);
+	}
+
+	// Trie and the Bloom filters. The Bloom filters can't remove anything,
+	// so for them remove() does nothing.
+	public interface StringSet
+	{
+		void add(String word);
+		void remove(String word);
+		boolean contains(String word);
+	}
+
+	// DisjointSet.
+	public interface UnionFind
+	{
+		int find(int v);
+		boolean union(int v1, int v2);
+	}
+
+	// Graph, already loaded from its file.
+	public interface LoadedGraph
+	{
+		boolean containsCycle();
+	}
+
+	private Structures()
+	{
+	}
+
+	private static Object call(String factory, Class<?> parameterType, Object argument)
+	{
+		try
+		{
+			Method method = Class.forName("Archive").getMethod(factory, parameterType);
+			return method.invoke(null, argument);
+		}
+		catch (InvocationTargetException e)
+		{
+			throw new IllegalStateException("Archive." + factory + "(" + argument + ") failed", e.getCause());
+		}
+		catch (ReflectiveOperationException e)
+		{
+			throw new IllegalStateException("the archive jar is not on the classpath", e);
+		}
+	}
+
+	public static OrderedSet orderedSet(String name)
+	{
+		return (OrderedSet)call("orderedSet", String.class, name);
+	}
+
+	public static StringSet stringSet(String name)
+	{
+		return (StringSet)call("stringSet", String.class, name);
+	}
+
+	public static UnionFind unionFind(int n)
+	{
+		return (UnionFind)call("unionFind", int.class, n);
+	}
+
+	public static LoadedGraph graph(String filename)
+	{
+		return (LoadedGraph)call("graph", String.class, filename);
+	}
+}